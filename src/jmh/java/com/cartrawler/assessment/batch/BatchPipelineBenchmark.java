@@ -0,0 +1,43 @@
+package com.cartrawler.assessment.batch;
+
+import com.cartrawler.assessment.data.CarResultsState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The columnar pipeline; compare with {@code PipelineStageBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class BatchPipelineBenchmark {
+
+    private CarResultBatch batch;
+    private int[] processed;
+
+    @Setup
+    public void setUp(CarResultsState state) {
+        batch = CarResultBatch.of(state.cars);
+        processed = BatchPipeline.process(batch);
+    }
+
+    @Benchmark
+    public CarResultBatch build(CarResultsState state) {
+        return CarResultBatch.of(state.cars);
+    }
+
+    @Benchmark
+    public int[] dedup() {
+        return BatchPipeline.dedup(batch);
+    }
+
+    @Benchmark
+    public int[] process() {
+        return BatchPipeline.process(batch);
+    }
+
+    @Benchmark
+    public int[] medianFilter() {
+        return BatchPipeline.filterFullAboveMedianPrice(batch, processed);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cartrawler.assessment.cache;
+
+import com.cartrawler.assessment.data.CarResultsState;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+
+/**
+ * A cache hit (fingerprint plus lookup) against recomputing both outputs,
+ * with concurrent readers.
+ */
+@Threads(4)
+public class ResultCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class WarmCache {
+        ResultCache cache;
+
+        @Setup
+        public void warm(CarResultsState state) {
+            cache = ResultCache.builder().expireAfterWrite(Duration.ofHours(1)).build();
+            cache.get(state.cars);
+        }
+    }
+
+    @Benchmark
+    public OfferFingerprint fingerprint(CarResultsState state) {
+        return OfferFingerprint.of(state.cars);
+    }
+
+    @Benchmark
+    public CachedResult hit(WarmCache warm, CarResultsState state) {
+        return warm.cache.get(state.cars);
+    }
+
+    @Benchmark
+    public Object recompute(CarResultsState state) {
+        SegmentedCars segmented = BucketedPipeline.run(state.cars);
+        return segmented.filterFullAboveMedianPrice();
+    }
+}
@@ -0,0 +1,75 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.car.CarResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+
+/**
+ * Builds synthetic offer lists for benchmarks from the vehicle shapes in
+ * {@link CarDataProvider}. Output is deterministic for a given seed.
+ */
+public final class CarResultGenerator {
+
+    private static final String[] CORPORATE_SUPPLIERS = {
+            "AVIS", "BUDGET", "ENTERPRISE", "FIREFLY", "HERTZ", "SIXT", "THRIFTY"};
+    private static final String[] NON_CORPORATE_SUPPLIERS = {
+            "NIZA", "CENTAURO", "FLIZZR", "GOLDCAR", "RECORD", "MARBESOL"};
+
+    private final List<CarResult> shapes = CarDataProvider.loadAllCars();
+    private double duplicateRatio;
+    private double corporateRatio = 0.5;
+    private double fullFullRatio = 0.5;
+    private long seed = 42;
+
+    /** Share of rows that repeat the dedup key of an earlier row (0..1). */
+    public CarResultGenerator duplicateRatio(double duplicateRatio) {
+        this.duplicateRatio = duplicateRatio;
+        return this;
+    }
+
+    /** Share of rows offered by a corporate supplier (0..1). */
+    public CarResultGenerator corporateRatio(double corporateRatio) {
+        this.corporateRatio = corporateRatio;
+        return this;
+    }
+
+    /** Share of rows with a FULLFULL fuel policy (0..1). */
+    public CarResultGenerator fullFullRatio(double fullFullRatio) {
+        this.fullFullRatio = fullFullRatio;
+        return this;
+    }
+
+    public CarResultGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public List<CarResult> generate(int size) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<CarResult> cars = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && random.nextDouble() < duplicateRatio) {
+                CarResult original = cars.get(random.nextInt(i));
+                cars.add(new CarResult(original.getDescription(), original.getSupplierName(),
+                        original.getSippCode(), price(original, random), original.getFuelPolicy()));
+                continue;
+            }
+            CarResult shape = shapes.get(random.nextInt(shapes.size()));
+            String supplier = random.nextDouble() < corporateRatio
+                    ? CORPORATE_SUPPLIERS[random.nextInt(CORPORATE_SUPPLIERS.length)]
+                    : NON_CORPORATE_SUPPLIERS[random.nextInt(NON_CORPORATE_SUPPLIERS.length)];
+            cars.add(new CarResult(shape.getDescription() + " " + i, supplier, shape.getSippCode(),
+                    price(shape, random), random.nextDouble() < fullFullRatio ? FULLFULL : FULLEMPTY));
+        }
+        return cars;
+    }
+
+    private static double price(CarResult shape, SplittableRandom random) {
+        return Math.round(shape.getRentalCost() * (0.5 + random.nextDouble()) * 100) / 100d;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.car.CarResult;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Shared benchmark input. Override the mix from the command line, e.g.
+ * {@code -p size=1000000 -p duplicateRatio=0.3}.
+ */
+@State(Scope.Benchmark)
+public class CarResultsState {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"0.0", "0.2"})
+    public double duplicateRatio;
+
+    @Param({"0.5"})
+    public double corporateRatio;
+
+    @Param({"0.5"})
+    public double fullFullRatio;
+
+    public List<CarResult> cars;
+
+    @Setup
+    public void setUp() {
+        cars = new CarResultGenerator()
+                .duplicateRatio(duplicateRatio)
+                .corporateRatio(corporateRatio)
+                .fullFullRatio(fullFullRatio)
+                .generate(size);
+    }
+}
@@ -0,0 +1,46 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.batch.CarResultBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Loading a snapshot from a binary offer file: opening it (header and
+ * dictionaries only) and copying it into a columnar batch.
+ */
+public class OfferFileBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class OfferFileState {
+        Path file;
+
+        @Setup(Level.Trial)
+        public void write(CarResultsState state) throws IOException {
+            file = Files.createTempFile("offers", ".ctof");
+            OfferFileWriter.write(file, state.cars);
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public OfferFile open(OfferFileState state) throws IOException {
+        return OfferFile.open(state.file);
+    }
+
+    @Benchmark
+    public CarResultBatch toBatch(OfferFileState state) throws IOException {
+        return OfferFile.open(state.file).toBatch();
+    }
+}
@@ -0,0 +1,103 @@
+package com.cartrawler.assessment.dedup;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Contention of concurrent dedup: the offers are split into one slice per
+ * fetcher thread and every fetcher inserts its slice at the same time, with
+ * the offer's position as its sequence number. The striped
+ * {@link ConcurrentDedupIndex} is compared against a
+ * {@link ConcurrentHashMap} keeping the minimum sequence per car, from 1 to
+ * 64 fetchers; {@code -p stripes=1} shows the cost of a single lock.
+ */
+public class ConcurrentDedupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Fetchers {
+        @Param({"1", "2", "4", "8", "16", "32", "64"})
+        public int threads;
+
+        @Param({"64"})
+        public int stripes;
+
+        ExecutorService executor;
+        List<List<CarResult>> slices;
+
+        @Setup(Level.Trial)
+        public void start(CarResultsState state) {
+            executor = Executors.newFixedThreadPool(threads);
+            slices = new ArrayList<>(threads);
+            int size = state.cars.size();
+            for (int i = 0; i < threads; i++) {
+                slices.add(state.cars.subList(size * i / threads, size * (i + 1) / threads));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            executor.shutdownNow();
+        }
+
+        long firstSequence(int slice) {
+            long first = 0;
+            for (int i = 0; i < slice; i++) {
+                first += slices.get(i).size();
+            }
+            return first;
+        }
+    }
+
+    @Benchmark
+    public int stripedIndex(Fetchers fetchers) throws Exception {
+        ConcurrentDedupIndex index = new ConcurrentDedupIndex(fetchers.stripes);
+        List<Callable<Integer>> tasks = new ArrayList<>(fetchers.threads);
+        for (int i = 0; i < fetchers.threads; i++) {
+            List<CarResult> slice = fetchers.slices.get(i);
+            long first = fetchers.firstSequence(i);
+            tasks.add(() -> index.insertAll(slice, first));
+        }
+        await(fetchers.executor.invokeAll(tasks));
+        return index.size();
+    }
+
+    @Benchmark
+    public int concurrentHashMap(Fetchers fetchers) throws Exception {
+        ConcurrentHashMap<CarResult, Long> index = new ConcurrentHashMap<>();
+        List<Callable<Integer>> tasks = new ArrayList<>(fetchers.threads);
+        for (int i = 0; i < fetchers.threads; i++) {
+            List<CarResult> slice = fetchers.slices.get(i);
+            long first = fetchers.firstSequence(i);
+            tasks.add(() -> {
+                for (int j = 0; j < slice.size(); j++) {
+                    index.merge(slice.get(j), first + j, Math::min);
+                }
+                return slice.size();
+            });
+        }
+        await(fetchers.executor.invokeAll(tasks));
+        return index.size();
+    }
+
+    private static void await(List<Future<Integer>> futures) throws ExecutionException, InterruptedException {
+        for (Future<Integer> future : futures) {
+            future.get();
+        }
+    }
+}
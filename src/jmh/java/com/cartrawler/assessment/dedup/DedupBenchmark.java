@@ -0,0 +1,25 @@
+package com.cartrawler.assessment.dedup;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The original {@code LinkedHashSet} copy against {@link Deduplicator}.
+ */
+public class DedupBenchmark {
+
+    @Benchmark
+    public List<CarResult> linkedHashSet(CarResultsState state) {
+        return new ArrayList<>(new LinkedHashSet<>(state.cars));
+    }
+
+    @Benchmark
+    public List<CarResult> deduplicator(CarResultsState state) {
+        return Deduplicator.removeDuplicates(state.cars);
+    }
+}
@@ -0,0 +1,71 @@
+package com.cartrawler.assessment.offheap;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+
+/**
+ * Reading a kept result set from the heap list against the off-heap
+ * snapshot: a full scan and the FULLFULL median filter. The {@code gc}
+ * profiler shows what each path allocates.
+ */
+public class OfferSnapshotBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SnapshotState {
+        SegmentedCars processed;
+        OffHeapArena arena;
+        OfferSnapshot snapshot;
+
+        @Setup(Level.Trial)
+        public void store(CarResultsState state) {
+            processed = BucketedPipeline.run(state.cars);
+            arena = OffHeapArena.create();
+            snapshot = arena.store(processed.getCars());
+        }
+
+        @TearDown(Level.Trial)
+        public void free() {
+            arena.close();
+        }
+    }
+
+    @Benchmark
+    public double heapScan(SnapshotState state) {
+        double total = 0;
+        for (CarResult car : state.processed.getCars()) {
+            total += car.getRentalCost();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double offHeapScan(SnapshotState state) {
+        double total = 0;
+        try (OfferCursor cursor = state.snapshot.cursor()) {
+            while (cursor.next()) {
+                total += cursor.rentalCost();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public List<CarResult> heapFilter(SnapshotState state) {
+        return state.processed.filterFullAboveMedianPrice();
+    }
+
+    @Benchmark
+    public int[] offHeapFilter(SnapshotState state) {
+        return state.snapshot.filterFullAboveMedianPrice();
+    }
+}
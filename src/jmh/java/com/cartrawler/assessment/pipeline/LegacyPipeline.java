@@ -0,0 +1,69 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.enums.Category;
+import com.cartrawler.assessment.enums.Supplier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The original multi-scan implementation of {@code AssessmentRunner.process},
+ * kept as the benchmark baseline. The supplier and SIPP lookups are the
+ * original ones too, inlined, since {@link Supplier#isCorporate(String)} and
+ * {@link Category#fromSipp(String)} have since been optimised.
+ */
+final class LegacyPipeline {
+    private static final List<Category> CATEGORIES = List.of(Category.values());
+
+    private LegacyPipeline() {
+    }
+
+    static List<CarResult> process(List<CarResult> cars) {
+        List<CarResult> uniqueCars = new ArrayList<>(new LinkedHashSet<>(cars));
+
+        List<CarResult> corporate = uniqueCars.stream()
+                .filter(car -> isCorporate(car.getSupplierName()))
+                .toList();
+        List<CarResult> nonCorporate = uniqueCars.stream()
+                .filter(car -> !isCorporate(car.getSupplierName()))
+                .toList();
+
+        Stream<CarResult> sortedCorporate = CATEGORIES.stream()
+                .flatMap(cat -> corporate.stream()
+                        .filter(car -> fromSipp(car.getSippCode()) == cat)
+                        .sorted(Comparator.comparingDouble(CarResult::getRentalCost)));
+
+        Stream<CarResult> sortedNonCorporate = CATEGORIES.stream()
+                .flatMap(cat -> nonCorporate.stream()
+                        .filter(car -> fromSipp(car.getSippCode()) == cat)
+                        .sorted(Comparator.comparingDouble(CarResult::getRentalCost)));
+
+        return Stream.concat(sortedCorporate, sortedNonCorporate)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isCorporate(String supplierName) {
+        if (supplierName == null) {
+            return false;
+        }
+        try {
+            return Supplier.valueOf(supplierName.toUpperCase()).isCorporate();
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private static Category fromSipp(String sipp) {
+        if (sipp == null || sipp.isBlank()) return Category.OTHER;
+        char c = Character.toUpperCase(sipp.charAt(0));
+        for (Category cat : Category.values()) {
+            if (cat.sippPrefix() != null && cat.sippPrefix() == c) return cat;
+        }
+        return Category.OTHER;
+    }
+}
@@ -0,0 +1,73 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import com.cartrawler.assessment.util.CarsUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-stage cost of the pipeline: dedup, partition into buckets, bucket
+ * sort, the FULLFULL median filter and the whole {@code process} call.
+ */
+@State(Scope.Benchmark)
+public class PipelineStageBenchmark {
+
+    private static final Comparator<CarResult> BY_COST = Comparator.comparingDouble(CarResult::getRentalCost);
+
+    private List<CarResult> unique;
+    private List<List<CarResult>> buckets;
+    private SegmentedCars segmented;
+    private List<CarResult> processed;
+
+    @Setup
+    public void setUp(CarResultsState state) {
+        unique = CarsUtils.removeDuplicates(state.cars);
+        buckets = BucketedPipeline.bucket(unique);
+        segmented = BucketedPipeline.run(state.cars);
+        processed = segmented.getCars();
+    }
+
+    @Benchmark
+    public List<CarResult> dedup(CarResultsState state) {
+        return CarsUtils.removeDuplicates(state.cars);
+    }
+
+    @Benchmark
+    public List<List<CarResult>> partition() {
+        return BucketedPipeline.bucket(unique);
+    }
+
+    /** Includes copying each bucket so that every invocation sorts unsorted input. */
+    @Benchmark
+    public CarResult[][] sort() {
+        CarResult[][] sorted = new CarResult[buckets.size()][];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = buckets.get(i).toArray(new CarResult[0]);
+            Arrays.sort(sorted[i], BY_COST);
+        }
+        return sorted;
+    }
+
+    @Benchmark
+    public List<CarResult> medianFilter() {
+        return CarsUtils.filterFullAboveMedianPrice(processed);
+    }
+
+    /** The filter as a post-stage of {@link BucketedPipeline#run(List)}. */
+    @Benchmark
+    public List<CarResult> segmentedMedianFilter() {
+        return segmented.filterFullAboveMedianPrice();
+    }
+
+    @Benchmark
+    public List<CarResult> process(CarResultsState state) {
+        return BucketedPipeline.process(state.cars);
+    }
+}
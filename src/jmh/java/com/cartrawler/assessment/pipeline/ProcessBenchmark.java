@@ -0,0 +1,29 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+/**
+ * Compares the single-pass {@link BucketedPipeline} and its fork-join
+ * variant with the original multi-scan implementation.
+ */
+public class ProcessBenchmark {
+
+    @Benchmark
+    public List<CarResult> legacy(CarResultsState state) {
+        return LegacyPipeline.process(state.cars);
+    }
+
+    @Benchmark
+    public List<CarResult> bucketed(CarResultsState state) {
+        return BucketedPipeline.process(state.cars);
+    }
+
+    @Benchmark
+    public List<CarResult> parallel(CarResultsState state) {
+        return ParallelPipeline.process(state.cars);
+    }
+}
@@ -0,0 +1,37 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+/**
+ * First page of 50 offers: full processing versus selection through
+ * {@link ResultQuery}.
+ */
+public class ResultQueryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Benchmark
+    public List<CarResult> fullSort(CarResultsState state) {
+        List<CarResult> processed = BucketedPipeline.process(state.cars);
+        return processed.subList(0, Math.min(PAGE_SIZE, processed.size()));
+    }
+
+    @Benchmark
+    public List<CarResult> firstPage(CarResultsState state) {
+        return ResultQuery.of(state.cars).page(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<CarResult> topKPerBucket(CarResultsState state) {
+        return ResultQuery.of(state.cars).topK(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<CarResult> cursorFirstPage(CarResultsState state) {
+        return ResultQuery.of(state.cars).cursor().next(PAGE_SIZE);
+    }
+}
@@ -0,0 +1,52 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import com.cartrawler.assessment.dedup.Deduplicator;
+import com.cartrawler.assessment.sipp.SippDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Packed sort keys with one radix sort against comparator-based sorting,
+ * for the default ordering and for a custom one.
+ */
+public class SortSpecBenchmark {
+
+    private static final SortSpec TRANSMISSION_FIRST = SortSpec.by(SortField.SEGMENT)
+            .then(SortField.TRANSMISSION)
+            .then(SortField.CATEGORY)
+            .then(SortField.RENTAL_COST);
+
+    private static final Comparator<CarResult> TRANSMISSION_FIRST_CHAIN = Comparator
+            .comparingInt(BucketedPipeline::segmentOf)
+            .thenComparing(car -> SippDecoder.transmission(car.getSippAttributes()),
+                    Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CarResult::getCategory)
+            .thenComparingDouble(CarResult::getRentalCost);
+
+    @Benchmark
+    public List<CarResult> bucketedDefault(CarResultsState state) {
+        return BucketedPipeline.process(state.cars);
+    }
+
+    @Benchmark
+    public List<CarResult> radixDefault(CarResultsState state) {
+        return SortedPipeline.process(state.cars, SortSpec.DEFAULT);
+    }
+
+    @Benchmark
+    public List<CarResult> comparatorCustom(CarResultsState state) {
+        List<CarResult> cars = new ArrayList<>(Deduplicator.removeDuplicates(state.cars));
+        cars.sort(TRANSMISSION_FIRST_CHAIN);
+        return cars;
+    }
+
+    @Benchmark
+    public List<CarResult> radixCustom(CarResultsState state) {
+        return SortedPipeline.process(state.cars, TRANSMISSION_FIRST);
+    }
+}
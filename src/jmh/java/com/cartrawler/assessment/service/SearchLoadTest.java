@@ -0,0 +1,146 @@
+package com.cartrawler.assessment.service;
+
+import com.cartrawler.assessment.cache.ResultCache;
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultGenerator;
+import com.cartrawler.assessment.view.MemorySink;
+import com.cartrawler.assessment.view.OfferRenderer;
+import com.cartrawler.assessment.view.OutputFormat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for the {@link SearchServer}: starts a server on an
+ * ephemeral port, fires {@code requests} searches from virtual threads with
+ * at most {@code concurrency} in flight, and reports latency percentiles
+ * and throughput.
+ * <p>
+ * Searches are drawn round-robin from {@code distinct} generated offer
+ * sets of {@code offers} cars each, so the cache sees a realistic mix of
+ * repeats; use {@code distinct} equal to {@code requests} to measure the
+ * pipeline alone.
+ * <pre>
+ * ./gradlew loadTest --args="requests=20000 concurrency=1000 offers=300 distinct=200"
+ * </pre>
+ */
+public final class SearchLoadTest {
+
+    private SearchLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = intArg(args, "requests", 20_000);
+        int concurrency = intArg(args, "concurrency", 1_000);
+        int offers = intArg(args, "offers", 300);
+        int distinct = intArg(args, "distinct", 200);
+
+        String[] bodies = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            bodies[i] = jsonLines(new CarResultGenerator().seed(i).duplicateRatio(0.1).generate(offers));
+        }
+
+        AssessmentService service = new AssessmentService(ResultCache.builder().build());
+        try (SearchServer server = new SearchServer(service, new InetSocketAddress("localhost", 0), concurrency);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(clients).build()) {
+            server.start();
+            URI uri = URI.create("http://localhost:" + server.address().getPort() + SearchServer.SEARCH_PATH);
+
+            // warm up the JIT and the connection pool before measuring
+            run(client, uri, bodies, Math.min(requests, 2_000), concurrency, clients);
+            Result result = run(client, uri, bodies, requests, concurrency, clients);
+            result.print(requests, concurrency, offers, distinct);
+        }
+    }
+
+    private static Result run(HttpClient client, URI uri, String[] bodies, int requests, int concurrency,
+                              ExecutorService clients) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int request = i;
+            clients.execute(() -> {
+                try {
+                    HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/x-ndjson")
+                            .POST(HttpRequest.BodyPublishers.ofString(bodies[request % bodies.length]))
+                            .build();
+                    long sent = System.nanoTime();
+                    HttpResponse<String> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                    latencies[request] = System.nanoTime() - sent;
+                    if (response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                } catch (IOException | InterruptedException e) {
+                    latencies[request] = -1;
+                    failures.incrementAndGet();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(concurrency);
+        long elapsed = System.nanoTime() - start;
+        return new Result(latencies, failures.get(), elapsed);
+    }
+
+    private static String jsonLines(List<CarResult> cars) throws IOException {
+        MemorySink out = new MemorySink(cars.size() * 128);
+        try (OfferRenderer renderer = new OfferRenderer(out, OutputFormat.JSON_LINES)) {
+            renderer.render(cars);
+        }
+        return out.toString();
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return Integer.parseInt(arg.substring(name.length() + 1));
+            }
+        }
+        return defaultValue;
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private final int failures;
+        private final long elapsedNanos;
+
+        private Result(long[] latencies, int failures, long elapsedNanos) {
+            this.latencies = latencies;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private void print(int requests, int concurrency, int offers, int distinct) {
+            long[] sorted = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+            System.out.printf("%d requests, %d concurrent, %d offers each, %d distinct searches%n",
+                    requests, concurrency, offers, distinct);
+            System.out.printf("throughput %.0f req/s, failures %d%n", requests / (elapsedNanos / 1e9), failures);
+            if (sorted.length > 0) {
+                System.out.printf("latency ms: p50 %.2f  p90 %.2f  p99 %.2f  max %.2f%n",
+                        percentile(sorted, 0.50), percentile(sorted, 0.90),
+                        percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+            }
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.cartrawler.assessment.source;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Streaming parse throughput of the CSV and JSON-lines sources in batches
+ * of 1024, from feeds rendered in memory so the disk is not measured.
+ */
+public class IngestionBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Feeds {
+        String csv;
+        String jsonLines;
+
+        @Setup
+        public void render(CarResultsState state) {
+            StringBuilder csvBuilder = new StringBuilder();
+            StringBuilder jsonBuilder = new StringBuilder();
+            for (CarResult car : state.cars) {
+                csvBuilder.append(car.getDescription()).append(',')
+                        .append(car.getSupplierName()).append(',')
+                        .append(car.getSippCode()).append(',')
+                        .append(car.getRentalCost()).append(',')
+                        .append(car.getFuelPolicy()).append('\n');
+                jsonBuilder.append("{\"description\":\"").append(car.getDescription())
+                        .append("\",\"supplierName\":\"").append(car.getSupplierName())
+                        .append("\",\"sippCode\":\"").append(car.getSippCode())
+                        .append("\",\"rentalCost\":").append(car.getRentalCost())
+                        .append(",\"fuelPolicy\":\"").append(car.getFuelPolicy()).append("\"}\n");
+            }
+            csv = csvBuilder.toString();
+            jsonLines = jsonBuilder.toString();
+        }
+    }
+
+    @Benchmark
+    public long csv(Feeds feeds, Blackhole blackhole) throws IOException {
+        try (CarResultSource source = new CsvCarResultSource(new StringReader(feeds.csv), false)) {
+            return source.forEachBatch(BATCH_SIZE, blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public long jsonLines(Feeds feeds, Blackhole blackhole) throws IOException {
+        try (CarResultSource source = new JsonLinesCarResultSource(new StringReader(feeds.jsonLines))) {
+            return source.forEachBatch(BATCH_SIZE, blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cartrawler.assessment.supplier;
+
+import com.cartrawler.assessment.enums.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Supplier classification: the original {@code toUpperCase} + {@code valueOf}
+ * lookup, which throws for every non-corporate supplier, against
+ * {@link SupplierRegistry}.
+ */
+@State(Scope.Benchmark)
+@OperationsPerInvocation(8)
+public class SupplierLookupBenchmark {
+
+    private final String[] names = {"HERTZ", "niza", "Sixt", "CENTAURO", "FLIZZR", "AVIS", "GOLDCAR", "budget"};
+    private final SupplierRegistry registry = SupplierRegistry.defaults();
+
+    @Benchmark
+    public int legacy() {
+        int corporate = 0;
+        for (String name : names) {
+            if (legacyIsCorporate(name)) {
+                corporate++;
+            }
+        }
+        return corporate;
+    }
+
+    @Benchmark
+    public int registry() {
+        int corporate = 0;
+        for (String name : names) {
+            if (registry.isCorporate(name)) {
+                corporate++;
+            }
+        }
+        return corporate;
+    }
+
+    private static boolean legacyIsCorporate(String supplierName) {
+        if (supplierName == null) {
+            return false;
+        }
+        try {
+            return Supplier.valueOf(supplierName.toUpperCase()).isCorporate();
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cartrawler.assessment.view;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.data.CarResultsState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Rendering a result set the old way, one auto-flushing {@code println} of
+ * {@code toString()} per offer, against {@link OfferRenderer} in each
+ * format. Both write to a discarding stream, so only encoding and the
+ * per-write overhead are measured.
+ */
+public class RenderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Output {
+        @Param({"TEXT", "CSV", "JSON_LINES"})
+        public OutputFormat format;
+
+        final PrintStream console = new PrintStream(OutputStream.nullOutputStream(), true);
+        final RenderSink sink = bytes -> bytes.position(bytes.limit());
+    }
+
+    @Benchmark
+    public void printlnPerOffer(CarResultsState state, Output output) {
+        for (CarResult car : state.cars) {
+            output.console.println(car);
+        }
+    }
+
+    @Benchmark
+    public void renderer(CarResultsState state, Output output) throws IOException {
+        try (OfferRenderer renderer = new OfferRenderer(output.sink, output.format)) {
+            renderer.render(state.cars);
+        }
+    }
+}
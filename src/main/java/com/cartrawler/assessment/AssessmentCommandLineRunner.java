@@ -1,21 +1,41 @@
 package com.cartrawler.assessment;
 
 import com.cartrawler.assessment.car.AssessmentRunner;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+
 @SpringBootApplication
 @Component
 public class AssessmentCommandLineRunner implements CommandLineRunner {
 
+    private final boolean serviceEnabled;
+    private final String snapshotPath;
+
+    public AssessmentCommandLineRunner(@Value("${cartrawler.service.enabled:false}") boolean serviceEnabled,
+                                       @Value("${cartrawler.snapshot.path:}") String snapshotPath) {
+        this.serviceEnabled = serviceEnabled;
+        this.snapshotPath = snapshotPath;
+    }
+
     public static void main(String[] args) {
         SpringApplication.run(AssessmentCommandLineRunner.class, args);
     }
 
     @Override
     public void run(String... args) throws Exception {
-        AssessmentRunner.process();
+        // in service mode the SearchServer answers requests instead
+        if (!serviceEnabled) {
+            // warm start from the result snapshot when one is configured
+            if (snapshotPath.isBlank()) {
+                AssessmentRunner.process();
+            } else {
+                AssessmentRunner.process(Path.of(snapshotPath));
+            }
+        }
     }
-}
\ No newline at end of file
+}
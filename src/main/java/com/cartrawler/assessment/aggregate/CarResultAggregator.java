@@ -0,0 +1,275 @@
+package com.cartrawler.assessment.aggregate;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import com.cartrawler.assessment.util.RunningMedian;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.BUCKETS;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CATEGORIES;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CORPORATE;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.SEGMENTS;
+
+/**
+ * Incremental counterpart of {@link BucketedPipeline} for supplier responses
+ * that arrive at different times.
+ * <p>
+ * Each accepted car gets an arrival sequence number. A dedup index keeps the
+ * first arrival of every distinct car, each (segment × category) bucket is a
+ * sorted set ordered by cost and then arrival, and a {@link RunningMedian}
+ * per segment tracks the price median for the FULLFULL filter. Accepting a
+ * batch of {@code b} cars costs O(b log n); a snapshot of {@code k} cars is a
+ * walk over the buckets in O(k).
+ * <p>
+ * Price updates for an existing search are applied as an {@link OfferDelta}
+ * with {@link #apply(OfferDelta)}, which returns the resulting
+ * {@link ChangeSet}; the FULLFULL offers of each segment are also kept in
+ * cost order so that a moving median finds the offers it crosses without a
+ * scan.
+ * <p>
+ * At any moment the snapshots are identical to processing every accepted
+ * batch, concatenated in arrival order, in one go. The aggregator is
+ * thread-safe.
+ */
+public class CarResultAggregator {
+
+    private static final Comparator<Entry> BY_COST_THEN_ARRIVAL = Comparator
+            .comparingDouble((Entry entry) -> entry.cost)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final Map<CarResult, Entry> index = new HashMap<>();
+    private final List<NavigableSet<Entry>> buckets = new ArrayList<>(BUCKETS);
+    private final RunningMedian[] medians = new RunningMedian[SEGMENTS];
+    /** FULLFULL entries of each segment, to find those a median move crosses. */
+    private final List<NavigableSet<Entry>> fullFull = new ArrayList<>(SEGMENTS);
+    private long nextSequence;
+
+    public CarResultAggregator() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.add(new TreeSet<>(BY_COST_THEN_ARRIVAL));
+        }
+        for (int i = 0; i < SEGMENTS; i++) {
+            medians[i] = new RunningMedian();
+            fullFull.add(new TreeSet<>(BY_COST_THEN_ARRIVAL));
+        }
+    }
+
+    /**
+     * Adds a supplier response. Cars equal to one that arrived earlier are
+     * ignored.
+     *
+     * @return the number of cars that were new
+     */
+    public synchronized int accept(List<CarResult> batch) {
+        int added = 0;
+        for (CarResult car : batch) {
+            if (index.containsKey(car)) {
+                continue;
+            }
+            insert(new Entry(car, nextSequence++, BucketedPipeline.bucketOf(car)));
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Applies a change to the accepted offers, touching only the buckets and
+     * segment medians of the changed offers. Removals are applied first,
+     * then reprices, then additions. Added offers that are already present
+     * and removed or repriced offers that are not are ignored. A repriced
+     * offer keeps its arrival position and an added one arrives last, so
+     * afterwards the snapshots are again identical to processing the
+     * current offers in arrival order.
+     * <p>
+     * Costs O((d + f) log n) for a delta of {@code d} offers that moves the
+     * segment medians across {@code f} other FULLFULL offers.
+     */
+    public synchronized ChangeSet apply(OfferDelta delta) {
+        double[] previousMedians = new double[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            previousMedians[i] = medians[i].median();
+        }
+        List<CarResult> removed = new ArrayList<>();
+        for (CarResult car : delta.getRemoved()) {
+            Entry entry = index.remove(car);
+            if (entry != null) {
+                detach(entry);
+                removed.add(entry.car);
+            }
+        }
+        Set<Entry> moved = new LinkedHashSet<>();
+        for (CarResult car : delta.getRepriced()) {
+            Entry entry = index.get(car);
+            if (entry != null && Double.compare(entry.cost, car.getRentalCost()) != 0) {
+                detach(entry);
+                moved.remove(entry);
+                Entry repriced = new Entry(car, entry.sequence, entry.bucket);
+                insert(repriced);
+                moved.add(repriced);
+            }
+        }
+        Set<Entry> added = new LinkedHashSet<>();
+        for (CarResult car : delta.getAdded()) {
+            if (!index.containsKey(car)) {
+                Entry entry = new Entry(car, nextSequence++, BucketedPipeline.bucketOf(car));
+                insert(entry);
+                added.add(entry);
+            }
+        }
+
+        List<CarResult> filteredOut = new ArrayList<>();
+        List<CarResult> filteredIn = new ArrayList<>();
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            double before = previousMedians[segment];
+            double after = medians[segment].median();
+            if (before == after) {
+                continue;
+            }
+            // FULLFULL offers priced in (lower median, higher median] changed side
+            NavigableSet<Entry> crossed = fullFull.get(segment).subSet(
+                    Entry.probe(Math.min(before, after)), false, Entry.probe(Math.max(before, after)), true);
+            for (Entry entry : crossed) {
+                if (!moved.contains(entry) && !added.contains(entry)) {
+                    (after < before ? filteredOut : filteredIn).add(entry.car);
+                }
+            }
+        }
+        return new ChangeSet(placements(added), placements(moved), removed, filteredOut, filteredIn);
+    }
+
+    /**
+     * @return the number of distinct cars accepted so far
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * @return the current price median of a segment, {@link Double#POSITIVE_INFINITY} if it is empty
+     */
+    public synchronized double median(int segment) {
+        return medians[segment].median();
+    }
+
+    /**
+     * The current ordered result, as {@link BucketedPipeline#run(List)} would
+     * return it for everything accepted so far.
+     */
+    public synchronized SegmentedCars snapshot() {
+        List<CarResult> cars = new ArrayList<>(index.size());
+        int corporateCount = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            for (Entry entry : buckets.get(bucket)) {
+                cars.add(entry.car);
+            }
+            if (bucket / CATEGORIES == CORPORATE) {
+                corporateCount = cars.size();
+            }
+        }
+        return new SegmentedCars(Collections.unmodifiableList(cars), corporateCount);
+    }
+
+    /**
+     * The current ordered result without FULLFULL cars priced strictly above
+     * their segment median.
+     *
+     * @see SegmentedCars#filterFullAboveMedianPrice()
+     */
+    public synchronized List<CarResult> filteredSnapshot() {
+        List<CarResult> cars = new ArrayList<>(index.size());
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            double median = medians[bucket / CATEGORIES].median();
+            for (Entry entry : buckets.get(bucket)) {
+                CarResult car = entry.car;
+                if (car.getFuelPolicy() != CarResult.FuelPolicy.FULLFULL || car.getRentalCost() <= median) {
+                    cars.add(car);
+                }
+            }
+        }
+        return Collections.unmodifiableList(cars);
+    }
+
+    private void insert(Entry entry) {
+        index.put(entry.car, entry);
+        buckets.get(entry.bucket).add(entry);
+        int segment = entry.bucket / CATEGORIES;
+        medians[segment].add(entry.cost);
+        if (entry.car.getFuelPolicy() == CarResult.FuelPolicy.FULLFULL) {
+            fullFull.get(segment).add(entry);
+        }
+    }
+
+    private void detach(Entry entry) {
+        buckets.get(entry.bucket).remove(entry);
+        int segment = entry.bucket / CATEGORIES;
+        medians[segment].remove(entry.cost);
+        fullFull.get(segment).remove(entry);
+    }
+
+    /**
+     * Placements of {@code entries} in the new order, each with the entry
+     * that follows it across buckets.
+     */
+    private List<ChangeSet.Placement> placements(Set<Entry> entries) {
+        List<Entry> ordered = new ArrayList<>(entries);
+        ordered.sort(Comparator.comparingInt((Entry entry) -> entry.bucket).thenComparing(BY_COST_THEN_ARRIVAL));
+        List<ChangeSet.Placement> placements = new ArrayList<>(ordered.size());
+        for (Entry entry : ordered) {
+            placements.add(new ChangeSet.Placement(entry.car, next(entry), isKept(entry)));
+        }
+        return placements;
+    }
+
+    private CarResult next(Entry entry) {
+        Entry next = buckets.get(entry.bucket).higher(entry);
+        for (int bucket = entry.bucket + 1; next == null && bucket < BUCKETS; bucket++) {
+            NavigableSet<Entry> following = buckets.get(bucket);
+            next = following.isEmpty() ? null : following.first();
+        }
+        return next == null ? null : next.car;
+    }
+
+    private boolean isKept(Entry entry) {
+        return entry.car.getFuelPolicy() != CarResult.FuelPolicy.FULLFULL
+                || entry.cost <= medians[entry.bucket / CATEGORIES].median();
+    }
+
+    private static final class Entry {
+        private final CarResult car;
+        private final double cost;
+        private final long sequence;
+        private final int bucket;
+
+        private Entry(CarResult car, long sequence, int bucket) {
+            this.car = car;
+            this.cost = car.getRentalCost();
+            this.sequence = sequence;
+            this.bucket = bucket;
+        }
+
+        private Entry(double cost, long sequence) {
+            this.car = null;
+            this.cost = cost;
+            this.sequence = sequence;
+            this.bucket = -1;
+        }
+
+        /**
+         * Search key above every entry priced {@code cost} or less.
+         */
+        private static Entry probe(double cost) {
+            return new Entry(cost, Long.MAX_VALUE);
+        }
+    }
+}
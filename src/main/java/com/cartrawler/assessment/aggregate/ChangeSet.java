@@ -0,0 +1,66 @@
+package com.cartrawler.assessment.aggregate;
+
+import com.cartrawler.assessment.car.CarResult;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * What an {@link OfferDelta} changed in the results of a
+ * {@link CarResultAggregator}, so a client holding the previous ordered and
+ * filtered lists can patch them instead of re-reading them.
+ * <p>
+ * Added and repriced offers come as {@link Placement}s, in their new
+ * order, each with the offer that now follows it and whether the filtered
+ * result keeps it. {@link #getFilteredOut()} and {@link #getFilteredIn()}
+ * list the other offers whose place in the filtered result changed because
+ * their segment median moved.
+ */
+@Getter
+@ToString
+public final class ChangeSet {
+    /** Offers that entered the ordered result. */
+    private final List<Placement> added;
+    /** Repriced offers, with their new price and position. */
+    private final List<Placement> moved;
+    /** Offers that left the ordered result, as they were before. */
+    private final List<CarResult> removed;
+    /** Unchanged offers that the filtered result no longer keeps. */
+    private final List<CarResult> filteredOut;
+    /** Unchanged offers that the filtered result keeps again. */
+    private final List<CarResult> filteredIn;
+
+    ChangeSet(List<Placement> added, List<Placement> moved, List<CarResult> removed,
+              List<CarResult> filteredOut, List<CarResult> filteredIn) {
+        this.added = List.copyOf(added);
+        this.moved = List.copyOf(moved);
+        this.removed = List.copyOf(removed);
+        this.filteredOut = List.copyOf(filteredOut);
+        this.filteredIn = List.copyOf(filteredIn);
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && moved.isEmpty() && removed.isEmpty()
+                && filteredOut.isEmpty() && filteredIn.isEmpty();
+    }
+
+    /**
+     * Position of an added or repriced offer in the new ordered result.
+     */
+    @Getter
+    @ToString
+    public static final class Placement {
+        private final CarResult car;
+        /** The offer that follows it in the new ordered result; {@code null} if it is last. */
+        private final CarResult next;
+        /** Whether the filtered result contains it. */
+        private final boolean kept;
+
+        Placement(CarResult car, CarResult next, boolean kept) {
+            this.car = car;
+            this.next = next;
+            this.kept = kept;
+        }
+    }
+}
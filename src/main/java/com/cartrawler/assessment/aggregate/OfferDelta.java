@@ -0,0 +1,67 @@
+package com.cartrawler.assessment.aggregate;
+
+import com.cartrawler.assessment.car.CarResult;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A change to the offers of a search, keyed by the {@link CarResult}
+ * equality fields (supplier, description, SIPP code and fuel policy):
+ * offers that appeared, offers that disappeared and offers whose price
+ * changed, each given as the car with its new price. Applied with
+ * {@link CarResultAggregator#apply(OfferDelta)}. Immutable.
+ */
+@Getter
+public final class OfferDelta {
+    private final List<CarResult> added;
+    private final List<CarResult> removed;
+    private final List<CarResult> repriced;
+
+    private OfferDelta(Builder builder) {
+        this.added = Collections.unmodifiableList(new ArrayList<>(builder.added));
+        this.removed = Collections.unmodifiableList(new ArrayList<>(builder.removed));
+        this.repriced = Collections.unmodifiableList(new ArrayList<>(builder.repriced));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return added.size() + removed.size() + repriced.size();
+    }
+
+    public static final class Builder {
+        private final List<CarResult> added = new ArrayList<>();
+        private final List<CarResult> removed = new ArrayList<>();
+        private final List<CarResult> repriced = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(CarResult car) {
+            added.add(car);
+            return this;
+        }
+
+        public Builder remove(CarResult car) {
+            removed.add(car);
+            return this;
+        }
+
+        /**
+         * @param car the offer with its new rental cost
+         */
+        public Builder reprice(CarResult car) {
+            repriced.add(car);
+            return this;
+        }
+
+        public OfferDelta build() {
+            return new OfferDelta(this);
+        }
+    }
+}
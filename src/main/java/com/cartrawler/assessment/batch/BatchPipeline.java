@@ -0,0 +1,149 @@
+package com.cartrawler.assessment.batch;
+
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import com.cartrawler.assessment.metrics.PipelineOperation;
+import com.cartrawler.assessment.metrics.PipelineRun;
+import com.cartrawler.assessment.metrics.Stage;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.util.IndexSort;
+import com.cartrawler.assessment.util.QuickSelect;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * The processing pipeline over a {@link CarResultBatch}: every stage works
+ * on primitive columns and returns row indices, so no {@code CarResult}
+ * objects are created. Results are identical to {@link BucketedPipeline}
+ * and {@code CarsUtils.filterFullAboveMedianPrice}; use
+ * {@link CarResultBatch#view(int[])} to display them.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BatchPipeline {
+
+    /**
+     * @return the first occurrence of every distinct row, in row order
+     */
+    public static int[] dedup(CarResultBatch batch) {
+        int size = batch.size();
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, size * 2) - 1) << 1);
+        int mask = capacity - 1;
+        long[] keys = new long[capacity];
+        // row index plus one; zero marks an empty slot
+        int[] slots = new int[capacity];
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            long key = key(batch, row);
+            int slot = (int) key & mask;
+            while (true) {
+                int first = slots[slot];
+                if (first == 0) {
+                    keys[slot] = key;
+                    slots[slot] = row + 1;
+                    rows[count++] = row;
+                    break;
+                }
+                if (keys[slot] == key && sameOffer(batch, first - 1, row)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Deduplicates, then orders rows by (segment, category) bucket and
+     * ascending cost, keeping row order for equal costs.
+     */
+    public static int[] process(CarResultBatch batch) {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.PROCESS);
+        int[] unique = dedup(batch);
+        run.stage(Stage.DEDUP);
+        int[] starts = new int[BucketedPipeline.BUCKETS + 1];
+        for (int row : unique) {
+            starts[batch.bucket(row) + 1]++;
+        }
+        for (int bucket = 0; bucket < BucketedPipeline.BUCKETS; bucket++) {
+            starts[bucket + 1] += starts[bucket];
+        }
+        int[] next = Arrays.copyOf(starts, BucketedPipeline.BUCKETS);
+        int[] ordered = new int[unique.length];
+        for (int row : unique) {
+            ordered[next[batch.bucket(row)]++] = row;
+        }
+        run.stage(Stage.PARTITION);
+        int[] buffer = new int[unique.length];
+        double[] costs = batch.costColumn();
+        for (int bucket = 0; bucket < BucketedPipeline.BUCKETS; bucket++) {
+            IndexSort.sortByKey(ordered, starts[bucket], starts[bucket + 1], costs, buffer);
+        }
+        run.stage(Stage.SORT);
+        run.finish(batch.size(), ordered.length);
+        return ordered;
+    }
+
+    /**
+     * Removes FULLFULL rows priced strictly above the median of their
+     * segment, computed over the given rows; order is preserved.
+     */
+    public static int[] filterFullAboveMedianPrice(CarResultBatch batch, int[] rows) {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.FILTER);
+        double[] segmentCosts = new double[rows.length];
+        int corporateEnd = 0;
+        int nonCorporateStart = rows.length;
+        for (int row : rows) {
+            segmentCosts[isCorporate(batch, row) ? corporateEnd++ : --nonCorporateStart] = batch.cost(row);
+        }
+        double medianCorporate = corporateEnd == 0
+                ? Double.POSITIVE_INFINITY
+                : QuickSelect.median(segmentCosts, 0, corporateEnd);
+        double medianNonCorporate = nonCorporateStart == rows.length
+                ? Double.POSITIVE_INFINITY
+                : QuickSelect.median(segmentCosts, nonCorporateStart, rows.length);
+        run.stage(Stage.MEDIAN);
+
+        int[] kept = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            double threshold = isCorporate(batch, row) ? medianCorporate : medianNonCorporate;
+            if (!(batch.isFullFull(row) && batch.cost(row) > threshold)) {
+                kept[count++] = row;
+            }
+        }
+        int[] result = Arrays.copyOf(kept, count);
+        run.stage(Stage.FILTER);
+        run.finish(rows.length, count);
+        return result;
+    }
+
+    private static boolean isCorporate(CarResultBatch batch, int row) {
+        return batch.bucket(row) / BucketedPipeline.CATEGORIES == BucketedPipeline.CORPORATE;
+    }
+
+    private static boolean sameOffer(CarResultBatch batch, int a, int b) {
+        return batch.descriptionId(a) == batch.descriptionId(b)
+                && batch.supplierId(a) == batch.supplierId(b)
+                && batch.sippId(a) == batch.sippId(b)
+                && batch.fuelCode(a) == batch.fuelCode(b);
+    }
+
+    private static long key(CarResultBatch batch, int row) {
+        long h = (long) batch.descriptionId(row) << 32 | batch.supplierId(row) & 0xFFFFFFFFL;
+        h = mix(h);
+        h = mix(h ^ ((long) batch.sippId(row) << 2 | batch.fuelCode(row)));
+        return h;
+    }
+
+    /** MurmurHash3 finaliser. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,270 @@
+package com.cartrawler.assessment.batch;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.sipp.SippDecoder;
+import com.cartrawler.assessment.supplier.SupplierRegistry;
+import com.cartrawler.assessment.util.StringDictionary;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Struct-of-arrays representation of a list of offers.
+ * <p>
+ * Supplier, description and SIPP code are dictionary-encoded into
+ * {@code int} columns, rental costs live in a {@code double[]}, fuel
+ * policies in two bitsets and the derived (segment × category) bucket of
+ * every row, as numbered by {@link BucketedPipeline#bucketOf(CarResult)},
+ * in a {@code byte[]}. Supplier classification and SIPP decoding run once
+ * per distinct string, not per row.
+ * <p>
+ * Rows are addressed by index; {@link #get(int)} and {@link #view(int[])}
+ * materialise {@link CarResult}s lazily for code that needs objects, such
+ * as {@code Display}. Batches are immutable.
+ */
+public final class CarResultBatch {
+
+    private final String[] descriptions;
+    private final String[] suppliers;
+    private final String[] sippCodes;
+    private final int[] descriptionIds;
+    private final int[] supplierIds;
+    private final int[] sippIds;
+    private final double[] costs;
+    private final BitSet fullFull;
+    private final BitSet fullEmpty;
+    private final byte[] buckets;
+    private final int size;
+
+    private CarResultBatch(String[] descriptions, String[] suppliers, String[] sippCodes,
+                           int[] descriptionIds, int[] supplierIds, int[] sippIds, double[] costs,
+                           BitSet fullFull, BitSet fullEmpty) {
+        this.size = costs.length;
+        this.descriptions = descriptions;
+        this.suppliers = suppliers;
+        this.sippCodes = sippCodes;
+        this.descriptionIds = descriptionIds;
+        this.supplierIds = supplierIds;
+        this.sippIds = sippIds;
+        this.costs = costs;
+        this.fullFull = fullFull;
+        this.fullEmpty = fullEmpty;
+        this.buckets = deriveBuckets();
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Wraps columns that are already dictionary-encoded, such as those of an
+     * {@link com.cartrawler.assessment.data.OfferFile}, without copying or
+     * hashing any string. Each dictionary holds {@code null} at id 0, the id
+     * columns must have the length of {@code costs}, and the batch takes
+     * ownership of every array.
+     */
+    public static CarResultBatch ofColumns(String[] descriptions, String[] suppliers, String[] sippCodes,
+                                           int[] descriptionIds, int[] supplierIds, int[] sippIds,
+                                           double[] costs, BitSet fullFull, BitSet fullEmpty) {
+        int size = costs.length;
+        if (descriptionIds.length != size || supplierIds.length != size || sippIds.length != size) {
+            throw new IllegalArgumentException("Columns must all have " + size + " rows");
+        }
+        return new CarResultBatch(descriptions, suppliers, sippCodes,
+                descriptionIds, supplierIds, sippIds, costs, fullFull, fullEmpty);
+    }
+
+    public static CarResultBatch of(List<CarResult> cars) {
+        Builder builder = builder(cars.size());
+        for (CarResult car : cars) {
+            builder.add(car.getDescription(), car.getSupplierName(), car.getSippCode(),
+                    car.getRentalCost(), car.getFuelPolicy());
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String description(int row) {
+        return descriptions[descriptionIds[row]];
+    }
+
+    public String supplierName(int row) {
+        return suppliers[supplierIds[row]];
+    }
+
+    public String sippCode(int row) {
+        return sippCodes[sippIds[row]];
+    }
+
+    public double cost(int row) {
+        return costs[row];
+    }
+
+    public CarResult.FuelPolicy fuelPolicy(int row) {
+        if (fullFull.get(row)) {
+            return CarResult.FuelPolicy.FULLFULL;
+        }
+        return fullEmpty.get(row) ? CarResult.FuelPolicy.FULLEMPTY : null;
+    }
+
+    /**
+     * @return 0 for no fuel policy, otherwise the policy ordinal plus one
+     */
+    public int fuelCode(int row) {
+        if (fullFull.get(row)) {
+            return CarResult.FuelPolicy.FULLFULL.ordinal() + 1;
+        }
+        return fullEmpty.get(row) ? CarResult.FuelPolicy.FULLEMPTY.ordinal() + 1 : 0;
+    }
+
+    public boolean isFullFull(int row) {
+        return fullFull.get(row);
+    }
+
+    public int descriptionId(int row) {
+        return descriptionIds[row];
+    }
+
+    public int supplierId(int row) {
+        return supplierIds[row];
+    }
+
+    public int sippId(int row) {
+        return sippIds[row];
+    }
+
+    /**
+     * @return the (segment × category) bucket of the row
+     */
+    public int bucket(int row) {
+        return buckets[row];
+    }
+
+    /**
+     * The cost column itself, for primitive sorting and selection. Callers
+     * must not modify it.
+     */
+    public double[] costColumn() {
+        return costs;
+    }
+
+    /**
+     * Materialises the row as a new {@link CarResult}.
+     */
+    public CarResult get(int row) {
+        return new CarResult(description(row), supplierName(row), sippCode(row), cost(row), fuelPolicy(row));
+    }
+
+    /**
+     * A lazy list over the given rows; each access materialises a car.
+     */
+    public List<CarResult> view(int[] rows) {
+        return new RowView(rows);
+    }
+
+    public List<CarResult> asList() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return view(rows);
+    }
+
+    private byte[] deriveBuckets() {
+        SupplierRegistry registry = SupplierRegistry.current();
+        int[] segmentOffset = new int[suppliers.length];
+        for (int id = 0; id < suppliers.length; id++) {
+            segmentOffset[id] = (registry.isCorporate(suppliers[id])
+                    ? BucketedPipeline.CORPORATE
+                    : BucketedPipeline.NON_CORPORATE) * BucketedPipeline.CATEGORIES;
+        }
+        int[] category = new int[sippCodes.length];
+        for (int id = 0; id < sippCodes.length; id++) {
+            category[id] = SippDecoder.category(SippDecoder.decode(sippCodes[id])).ordinal();
+        }
+        byte[] derived = new byte[size];
+        for (int row = 0; row < size; row++) {
+            derived[row] = (byte) (segmentOffset[supplierIds[row]] + category[sippIds[row]]);
+        }
+        return derived;
+    }
+
+    private final class RowView extends AbstractList<CarResult> implements RandomAccess {
+        private final int[] rows;
+
+        private RowView(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public CarResult get(int index) {
+            return CarResultBatch.this.get(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+
+    /**
+     * Accumulates rows column by column; not thread-safe.
+     */
+    public static final class Builder {
+        private final StringDictionary descriptions;
+        private final StringDictionary suppliers = new StringDictionary();
+        private final StringDictionary sippCodes = new StringDictionary();
+        private int[] descriptionIds;
+        private int[] supplierIds;
+        private int[] sippIds;
+        private double[] costs;
+        private final BitSet fullFull = new BitSet();
+        private final BitSet fullEmpty = new BitSet();
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            descriptions = new StringDictionary(capacity);
+            descriptionIds = new int[capacity];
+            supplierIds = new int[capacity];
+            sippIds = new int[capacity];
+            costs = new double[capacity];
+        }
+
+        public Builder add(String description, String supplierName, String sippCode,
+                           double cost, CarResult.FuelPolicy fuelPolicy) {
+            if (size == costs.length) {
+                int capacity = size * 2;
+                descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+                supplierIds = Arrays.copyOf(supplierIds, capacity);
+                sippIds = Arrays.copyOf(sippIds, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+            }
+            descriptionIds[size] = descriptions.encode(description);
+            supplierIds[size] = suppliers.encode(supplierName);
+            sippIds[size] = sippCodes.encode(sippCode);
+            costs[size] = cost;
+            if (fuelPolicy == CarResult.FuelPolicy.FULLFULL) {
+                fullFull.set(size);
+            } else if (fuelPolicy == CarResult.FuelPolicy.FULLEMPTY) {
+                fullEmpty.set(size);
+            }
+            size++;
+            return this;
+        }
+
+        public CarResultBatch build() {
+            return new CarResultBatch(descriptions.toArray(), suppliers.toArray(), sippCodes.toArray(),
+                    Arrays.copyOf(descriptionIds, size), Arrays.copyOf(supplierIds, size),
+                    Arrays.copyOf(sippIds, size), Arrays.copyOf(costs, size),
+                    (BitSet) fullFull.clone(), (BitSet) fullEmpty.clone());
+        }
+    }
+}
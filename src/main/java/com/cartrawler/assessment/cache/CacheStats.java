@@ -0,0 +1,37 @@
+package com.cartrawler.assessment.cache;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point-in-time counters of a {@link ResultCache}.
+ */
+@Getter
+@ToString
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    /** Entries dropped by the size bound, including rejected candidates. */
+    private final long evictionCount;
+    /** Entries dropped because their time to live had passed. */
+    private final long expirationCount;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long expirationCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return hits over requests, {@code 1} when there were no requests
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
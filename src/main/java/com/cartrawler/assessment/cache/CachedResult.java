@@ -0,0 +1,30 @@
+package com.cartrawler.assessment.cache;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Both outputs of one search: the processed list and the same list without
+ * over-priced FULLFULL cars. Immutable, so it can be shared between
+ * requests.
+ */
+@Getter
+public final class CachedResult {
+    private final List<CarResult> processed;
+    private final List<CarResult> filtered;
+
+    CachedResult(List<CarResult> processed, List<CarResult> filtered) {
+        this.processed = Collections.unmodifiableList(processed);
+        this.filtered = Collections.unmodifiableList(filtered);
+    }
+
+    static CachedResult compute(List<CarResult> cars) {
+        SegmentedCars segmented = BucketedPipeline.run(cars);
+        return new CachedResult(segmented.getCars(), segmented.filterFullAboveMedianPrice());
+    }
+}
@@ -0,0 +1,55 @@
+package com.cartrawler.assessment.cache;
+
+/**
+ * Count-min sketch of recent access frequencies, the TinyLFU admission
+ * filter: four rows of saturating 4-bit counters (stored in {@code byte}s),
+ * halved every {@code 10 × maximumSize} increments so that old popularity
+ * fades. Not thread-safe.
+ */
+final class FrequencySketch {
+
+    private static final int ROWS = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+
+    private final byte[] table;
+    private final int width;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        width = Math.max(16, Integer.highestOneBit(Math.max(1, maximumSize) - 1) << 1);
+        table = new byte[ROWS * width];
+        sampleSize = 10 * Math.max(1, maximumSize);
+    }
+
+    int frequency(long hash) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < ROWS; row++) {
+            frequency = Math.min(frequency, table[index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    void increment(long hash) {
+        for (int row = 0; row < ROWS; row++) {
+            int index = index(hash, row);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+            }
+        }
+        if (++additions == sampleSize) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] >>= 1;
+            }
+            additions /= 2;
+        }
+    }
+
+    private int index(long hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 32;
+        return row * width + ((int) h & (width - 1));
+    }
+}
@@ -0,0 +1,120 @@
+package com.cartrawler.assessment.cache;
+
+import com.cartrawler.assessment.car.CarResult;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Order-sensitive 128-bit content hash of an offer list.
+ * <p>
+ * Every field of every car (strings character by character, with their
+ * length so that {@code null}, empty and adjacent strings cannot alias, the
+ * exact cost bits and the fuel policy) is folded into two 64-bit lanes in a
+ * single streaming pass, MurmurHash3-style with cross-lane mixing, so
+ * reordering, adding or changing any offer changes the fingerprint. It is
+ * not cryptographic: it identifies identical searches, it does not
+ * authenticate them.
+ */
+@Getter
+@EqualsAndHashCode
+public final class OfferFingerprint {
+
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+    private static final long NULL_LENGTH = -1;
+
+    private final long high;
+    private final long low;
+
+    private OfferFingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static OfferFingerprint of(List<CarResult> cars) {
+        Hasher hasher = new Hasher();
+        for (CarResult car : cars) {
+            hasher.add(car);
+        }
+        return hasher.finish();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    /**
+     * Streaming builder of a fingerprint; not thread-safe.
+     */
+    public static final class Hasher {
+        private long h1 = 0x9E3779B97F4A7C15L;
+        private long h2 = 0xC2B2AE3D27D4EB4FL;
+        private long words;
+        private long cars;
+
+        public Hasher add(CarResult car) {
+            string(car.getSupplierName());
+            string(car.getDescription());
+            string(car.getSippCode());
+            word(Double.doubleToLongBits(car.getRentalCost()));
+            word(car.getFuelPolicy() == null ? NULL_LENGTH : car.getFuelPolicy().ordinal());
+            cars++;
+            return this;
+        }
+
+        public OfferFingerprint finish() {
+            long a = h1 ^ words;
+            long b = h2 ^ cars;
+            a += b;
+            b += a;
+            a = fmix(a);
+            b = fmix(b);
+            a += b;
+            b += a;
+            return new OfferFingerprint(a, b);
+        }
+
+        private void string(String value) {
+            if (value == null) {
+                word(NULL_LENGTH);
+                return;
+            }
+            int length = value.length();
+            word(length);
+            int i = 0;
+            for (; i + 4 <= length; i += 4) {
+                word((long) value.charAt(i) << 48 | (long) value.charAt(i + 1) << 32
+                        | (long) value.charAt(i + 2) << 16 | value.charAt(i + 3));
+            }
+            if (i < length) {
+                long tail = 0;
+                for (; i < length; i++) {
+                    tail = tail << 16 | value.charAt(i);
+                }
+                word(tail);
+            }
+        }
+
+        private void word(long k) {
+            words++;
+            h1 ^= Long.rotateLeft(k * C1, 31) * C2;
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52DCE729;
+            h2 ^= Long.rotateLeft(k * C2, 33) * C1;
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495AB5;
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xFF51AFD7ED558CCDL;
+            k ^= k >>> 33;
+            k *= 0xC4CEB9FE1A85EC53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.cartrawler.assessment.cache;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.supplier.SupplierRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches processed search results by the {@link OfferFingerprint} of their
+ * input, so identical searches within the time to live skip the pipeline.
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}, so hits never block. Size is
+ * bounded with a W-TinyLFU-style policy: new entries go through a small LRU
+ * window (1% of the capacity); a candidate leaving the window only enters
+ * the main LRU region when its estimated access frequency, kept in a
+ * {@link FrequencySketch}, beats that of the main region's eldest entry, so
+ * one-off searches cannot flush popular ones. Policy bookkeeping is guarded
+ * by a lock that hits only try to take; under contention a hit skips its
+ * LRU and frequency update rather than waiting.
+ * <p>
+ * Concurrent misses on the same fingerprint compute the result once and the
+ * other callers wait for it. Entries also expire a fixed time after they
+ * were written, and are ignored when the corporate supplier list
+ * ({@link SupplierRegistry#current()}) changed since they were computed.
+ * Hits, misses, evictions and expirations are counted in {@link LongAdder}s.
+ */
+public final class ResultCache {
+
+    private final ConcurrentHashMap<OfferFingerprint, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<OfferFingerprint, CompletableFuture<CachedResult>> loading = new ConcurrentHashMap<>();
+
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final LinkedHashMap<OfferFingerprint, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<OfferFingerprint, Boolean> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final int windowCapacity;
+    private final int mainCapacity;
+
+    private final long timeToLiveNanos;
+    private final LongSupplier ticker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private ResultCache(Builder builder) {
+        this.windowCapacity = Math.max(1, builder.maximumSize / 100);
+        this.mainCapacity = builder.maximumSize - windowCapacity;
+        this.sketch = new FrequencySketch(builder.maximumSize);
+        this.timeToLiveNanos = builder.timeToLive.toNanos();
+        this.ticker = builder.ticker;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the processed and filtered outputs for {@code cars}, computed
+     * on a miss
+     */
+    public CachedResult get(List<CarResult> cars) {
+        OfferFingerprint key = OfferFingerprint.of(cars);
+        SupplierRegistry registry = SupplierRegistry.current();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            boolean expired = ticker.getAsLong() - entry.expiresAt >= 0;
+            if (!expired && entry.registry == registry) {
+                hits.increment();
+                recordHit(key);
+                return entry.result;
+            }
+            if (removeStale(key, entry) && expired) {
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return load(key, cars, registry);
+    }
+
+    /**
+     * @return the cached result if present and live; does not count as a request
+     */
+    public CachedResult getIfPresent(List<CarResult> cars) {
+        Entry entry = entries.get(OfferFingerprint.of(cars));
+        return entry != null && ticker.getAsLong() - entry.expiresAt < 0 && entry.registry == SupplierRegistry.current()
+                ? entry.result
+                : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void invalidateAll() {
+        policyLock.lock();
+        try {
+            entries.clear();
+            window.clear();
+            main.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private CachedResult load(OfferFingerprint key, List<CarResult> cars, SupplierRegistry registry) {
+        CompletableFuture<CachedResult> future = new CompletableFuture<>();
+        CompletableFuture<CachedResult> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            CachedResult result = CachedResult.compute(cars);
+            entries.put(key, new Entry(result, registry, ticker.getAsLong() + timeToLiveNanos));
+            recordInsert(key);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private void recordHit(OfferFingerprint key) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(key.getLow());
+            if (window.get(key) == null) {
+                main.get(key);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void recordInsert(OfferFingerprint key) {
+        policyLock.lock();
+        try {
+            sketch.increment(key.getLow());
+            if (window.get(key) != null || main.get(key) != null) {
+                return;
+            }
+            window.put(key, Boolean.TRUE);
+            if (window.size() > windowCapacity) {
+                OfferFingerprint candidate = removeEldest(window);
+                admit(candidate);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * TinyLFU admission of an entry leaving the window.
+     */
+    private void admit(OfferFingerprint candidate) {
+        if (main.size() < mainCapacity) {
+            main.put(candidate, Boolean.TRUE);
+            return;
+        }
+        if (mainCapacity == 0) {
+            evict(candidate);
+            return;
+        }
+        OfferFingerprint victim = main.keySet().iterator().next();
+        if (sketch.frequency(candidate.getLow()) > sketch.frequency(victim.getLow())) {
+            main.remove(victim);
+            main.put(candidate, Boolean.TRUE);
+            evict(victim);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void evict(OfferFingerprint key) {
+        if (entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Removes {@code entry} and its policy node together, so a concurrent
+     * load of the same key cannot insert a fresh entry in between and then
+     * lose its policy node.
+     */
+    private boolean removeStale(OfferFingerprint key, Entry entry) {
+        policyLock.lock();
+        try {
+            if (!entries.remove(key, entry)) {
+                return false;
+            }
+            if (window.remove(key) == null) {
+                main.remove(key);
+            }
+            return true;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private static OfferFingerprint removeEldest(Map<OfferFingerprint, Boolean> region) {
+        Iterator<OfferFingerprint> iterator = region.keySet().iterator();
+        OfferFingerprint eldest = iterator.next();
+        iterator.remove();
+        return eldest;
+    }
+
+    private static final class Entry {
+        private final CachedResult result;
+        private final SupplierRegistry registry;
+        private final long expiresAt;
+
+        private Entry(CachedResult result, SupplierRegistry registry, long expiresAt) {
+            this.result = result;
+            this.registry = registry;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static final class Builder {
+        private int maximumSize = 1_000;
+        private Duration timeToLive = Duration.ofSeconds(30);
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder expireAfterWrite(Duration timeToLive) {
+            if (timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+            }
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Source of {@link System#nanoTime()}-like readings, for tests.
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public ResultCache build() {
+            return new ResultCache(this);
+        }
+    }
+}
@@ -1,74 +1,156 @@
 package com.cartrawler.assessment.car;
 
-import com.cartrawler.assessment.enums.Category;
-import com.cartrawler.assessment.enums.Supplier;
+import com.cartrawler.assessment.data.ResultSnapshot;
+import com.cartrawler.assessment.data.ResultSnapshotWriter;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.ParallelPipeline;
+import com.cartrawler.assessment.pipeline.PipelineContext;
+import com.cartrawler.assessment.pipeline.ProcessingMode;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import com.cartrawler.assessment.pipeline.SortSpec;
+import com.cartrawler.assessment.pipeline.SortedPipeline;
+import com.cartrawler.assessment.shard.ShardedPipeline;
 import com.cartrawler.assessment.view.Display;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Comparator;
-import java.util.LinkedHashSet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
-import static com.cartrawler.assessment.enums.Category.fromSipp;
-import static com.cartrawler.assessment.util.CarsUtils.filterFullAboveMedianPrice;
-import static com.cartrawler.assessment.util.CarsUtils.removeDuplicates;
 
 @Slf4j
 public class AssessmentRunner {
-    private static final List<Category> CATEGORIES = List.of(Category.values());
 
     /**
      * Processes the given car results by removing duplicates,
      * segmenting corporate vs non-corporate, grouping by SIPP category,
      * and sorting by rental cost within each category.
+     *
+     * @see BucketedPipeline
      */
     public static List<CarResult> process(List<CarResult> cars) {
-        // 1. Remove duplicates
-        List<CarResult> uniqueCars = removeDuplicates(cars);
+        return BucketedPipeline.process(cars);
+    }
 
-        // 2. Partition corporate vs non-corporate
-        List<CarResult> corporate = uniqueCars.stream()
-                .filter(car -> Supplier.isCorporate(car.getSupplierName()))
-                .toList();
-        List<CarResult> nonCorporate = uniqueCars.stream()
-                .filter(car -> !Supplier.isCorporate(car.getSupplierName()))
-                .toList();
+    /**
+     * Same as {@link #process(List)}, writing into {@code out} (cleared
+     * first) with a pooled {@link PipelineContext}; allocation-free once
+     * warm when {@code out} is reused.
+     *
+     * @return the number of corporate cars at the head of {@code out}
+     */
+    public static int process(List<CarResult> cars, List<CarResult> out) {
+        try (PipelineContext context = PipelineContext.acquire()) {
+            return context.process(cars, out);
+        }
+    }
 
-        // 3. Sort each partition by category and cost
-        Stream<CarResult> sortedCorporate   = CATEGORIES.stream()
-                .flatMap(cat -> corporate.stream()
-                        .filter(car -> fromSipp(car.getSippCode()) == cat)
-                        .sorted(Comparator.comparingDouble(CarResult::getRentalCost)));
+    /**
+     * Same as {@link #process(List)}, optionally on the fork-join pool for
+     * very large inputs. Both modes produce identical output.
+     *
+     * @see ParallelPipeline
+     */
+    public static List<CarResult> process(List<CarResult> cars, ProcessingMode mode) {
+        return mode == ProcessingMode.PARALLEL
+                ? ParallelPipeline.process(cars)
+                : BucketedPipeline.process(cars);
+    }
 
-        Stream<CarResult> sortedNonCorporate = CATEGORIES.stream()
-                .flatMap(cat -> nonCorporate.stream()
-                        .filter(car -> fromSipp(car.getSippCode()) == cat)
-                        .sorted(Comparator.comparingDouble(CarResult::getRentalCost)));
-        // 4. Combine and return
-        return Stream.concat(sortedCorporate, sortedNonCorporate)
-                .collect(Collectors.toList());
+    /**
+     * Same as {@link #process(List)}, partitioned across the shard workers
+     * of {@code pipeline}, which may run in other JVMs.
+     *
+     * @see ShardedPipeline
+     */
+    public static List<CarResult> process(List<CarResult> cars, ShardedPipeline pipeline) throws IOException {
+        return pipeline.run(cars).getCars();
+    }
+
+    /**
+     * Removes duplicates and orders the cars by {@code spec} instead of the
+     * fixed segment, category and cost ordering.
+     *
+     * @see SortedPipeline
+     */
+    public static List<CarResult> process(List<CarResult> cars, SortSpec spec) {
+        return SortedPipeline.process(cars, spec);
     }
 
     public static void process() {
-        Display display = new Display();
+        render(loadAndProcess());
+    }
+
+    /**
+     * Warm-start variant of {@link #process()}: renders the processed and
+     * filtered lists straight from the result snapshot at {@code snapshot}
+     * when there is a readable one. The snapshot is decoded in full before
+     * anything is rendered, so a corrupt one falls back to processing
+     * without partial output. Otherwise processes the cars as usual and
+     * writes the snapshot for the next start; a snapshot that cannot be
+     * written only costs the next start its warm path.
+     *
+     * @see ResultSnapshot
+     */
+    public static void process(Path snapshot) {
+        ResultSnapshot result = Files.isRegularFile(snapshot) ? readSnapshot(snapshot) : null;
+        if (result != null) {
+            render(result.processed(), result.filtered());
+            return;
+        }
+        SegmentedCars segmented = loadAndProcess();
+        render(segmented);
+        try {
+            ResultSnapshotWriter.write(snapshot, segmented);
+        } catch (IOException e) {
+            log.warn("Failed to write result snapshot {}", snapshot, e);
+        }
+    }
+
+    /**
+     * @return the snapshot with every bucket decoded, so rendering cannot
+     * fail part-way, or {@code null} if it is unreadable
+     */
+    private static ResultSnapshot readSnapshot(Path snapshot) {
+        try {
+            ResultSnapshot result = ResultSnapshot.open(snapshot);
+            result.decodeAll();
+            log.atInfo()
+                    .addArgument(snapshot)
+                    .addArgument(result.size())
+                    .log("Loaded result snapshot {} with {} cars");
+            return result;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable result snapshot {}", snapshot, e);
+            return null;
+        }
+    }
+
+    private static SegmentedCars loadAndProcess() {
         List<CarResult> cars = loadAllCars();
         log.atInfo()
                 .addArgument(cars.size())
                 .log("Original list size: {}");
         // Invoke processing before rendering
-        List<CarResult> processed = process(cars);
+        return BucketedPipeline.run(cars);
+    }
+
+    private static void render(SegmentedCars segmented) {
+        // Reuses the segmentation computed by the pipeline
+        render(segmented.getCars(), segmented.filterFullAboveMedianPrice());
+    }
+
+    private static void render(List<CarResult> processed, List<CarResult> filtered) {
+        Display display = new Display();
         log.atInfo()
                 .addArgument(processed.size())
                 .log("DeDuplicated, sorted and group list size: {}");
-        display.render(new LinkedHashSet<>(processed));
-        List<CarResult> filtered = filterFullAboveMedianPrice(processed);
+        display.render(processed);
         log.atInfo()
                 .addArgument(filtered.size())
                 .log("Over priced vehicles removed list size: {}");
-        // Use LinkedHashSet to preserve order
-        display.render(new LinkedHashSet<>(filtered));
+        display.render(filtered);
     }
 }
@@ -1,5 +1,7 @@
 package com.cartrawler.assessment.car;
 
+import com.cartrawler.assessment.enums.Category;
+import com.cartrawler.assessment.sipp.SippDecoder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -11,6 +13,8 @@ public class CarResult {
     private final String sippCode;
     private final double rentalCost;
     private final FuelPolicy fuelPolicy;
+    /** SIPP code decoded once at construction, see {@link SippDecoder}. */
+    private final int sippAttributes;
 
 	public enum FuelPolicy {
         FULLFULL,
@@ -22,6 +26,11 @@ public class CarResult {
         this.sippCode = sipp;
         this.rentalCost = cost;
         this.fuelPolicy = fuelPolicy;
+        this.sippAttributes = SippDecoder.decode(sipp);
+    }
+
+    public Category getCategory() {
+        return SippDecoder.category(sippAttributes);
     }
 
     public String toString() {
@@ -0,0 +1,34 @@
+package com.cartrawler.assessment.config;
+
+import com.cartrawler.assessment.cache.ResultCache;
+import com.cartrawler.assessment.metrics.ResultCacheMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Search-result cache sized by {@code cartrawler.cache.maximum-size} entries,
+ * each kept for {@code cartrawler.cache.time-to-live} after it is written.
+ * Its hit, miss, eviction and expiration counts and its size are published
+ * to the application's meter registry.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    @Bean
+    public ResultCache resultCache(@Value("${cartrawler.cache.maximum-size:1000}") int maximumSize,
+                                   @Value("${cartrawler.cache.time-to-live:30s}") Duration timeToLive) {
+        return ResultCache.builder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder resultCacheMetrics(ResultCache resultCache) {
+        return new ResultCacheMetrics(resultCache);
+    }
+}
@@ -0,0 +1,26 @@
+package com.cartrawler.assessment.config;
+
+import com.cartrawler.assessment.metrics.MicrometerPipelineRecorder;
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables pipeline instrumentation when {@code cartrawler.metrics.enabled}
+ * is {@code true}: stage timings and allocations of every run go to the
+ * application's {@link MeterRegistry} and to JFR. Otherwise the pipelines
+ * run uninstrumented.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cartrawler.metrics.enabled", havingValue = "true")
+public class MetricsConfiguration {
+
+    @Bean
+    public MicrometerPipelineRecorder pipelineRecorder(MeterRegistry registry) {
+        MicrometerPipelineRecorder recorder = new MicrometerPipelineRecorder(registry);
+        PipelineMetrics.install(recorder);
+        return recorder;
+    }
+}
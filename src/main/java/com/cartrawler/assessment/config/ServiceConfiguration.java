@@ -0,0 +1,30 @@
+package com.cartrawler.assessment.config;
+
+import com.cartrawler.assessment.service.AssessmentService;
+import com.cartrawler.assessment.service.SearchServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Starts the {@link SearchServer} when {@code cartrawler.service.enabled} is
+ * {@code true}, on {@code cartrawler.service.port}. The server keeps the
+ * application running until it is shut down.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cartrawler.service.enabled", havingValue = "true")
+public class ServiceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public SearchServer searchServer(AssessmentService service,
+                                     @Value("${cartrawler.service.port:8080}") int port,
+                                     @Value("${cartrawler.service.backlog:1024}") int backlog) throws IOException {
+        SearchServer server = new SearchServer(service, new InetSocketAddress(port), backlog);
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,30 @@
+package com.cartrawler.assessment.config;
+
+import com.cartrawler.assessment.supplier.SupplierRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Installs the corporate supplier list from {@code cartrawler.suppliers.corporate}
+ * (e.g. in an external {@code application.properties} or the
+ * {@code CARTRAWLER_SUPPLIERS_CORPORATE} environment variable). When the
+ * property is empty the {@code Supplier} enum defaults are kept.
+ */
+@Slf4j
+@Configuration
+public class SupplierConfiguration {
+
+    @Bean
+    public SupplierRegistry supplierRegistry(@Value("${cartrawler.suppliers.corporate:}") List<String> corporate) {
+        SupplierRegistry registry = corporate.isEmpty() ? SupplierRegistry.defaults() : SupplierRegistry.of(corporate);
+        SupplierRegistry.install(registry);
+        log.atInfo()
+                .addArgument(registry.corporateNames())
+                .log("Corporate suppliers: {}");
+        return registry;
+    }
+}
@@ -0,0 +1,279 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.batch.CarResultBatch;
+import com.cartrawler.assessment.car.CarResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static com.cartrawler.assessment.data.OfferFileFormat.COST;
+import static com.cartrawler.assessment.data.OfferFileFormat.COUNT_OFFSET;
+import static com.cartrawler.assessment.data.OfferFileFormat.DESCRIPTION;
+import static com.cartrawler.assessment.data.OfferFileFormat.DICTIONARY_OFFSET;
+import static com.cartrawler.assessment.data.OfferFileFormat.FUEL;
+import static com.cartrawler.assessment.data.OfferFileFormat.HEADER_SIZE;
+import static com.cartrawler.assessment.data.OfferFileFormat.MAGIC;
+import static com.cartrawler.assessment.data.OfferFileFormat.ORDER;
+import static com.cartrawler.assessment.data.OfferFileFormat.RECORD_SIZE;
+import static com.cartrawler.assessment.data.OfferFileFormat.RECORD_SIZE_OFFSET;
+import static com.cartrawler.assessment.data.OfferFileFormat.SIPP;
+import static com.cartrawler.assessment.data.OfferFileFormat.SUPPLIER;
+import static com.cartrawler.assessment.data.OfferFileFormat.VERSION;
+import static com.cartrawler.assessment.data.OfferFileFormat.VERSION_OFFSET;
+
+/**
+ * Read-only, memory-mapped view of a binary offer file written by
+ * {@link OfferFileWriter}; an alternative to {@link CarDataProvider} for
+ * large supplier snapshots.
+ * <p>
+ * Opening a file decodes only the header and the string dictionaries; the
+ * fixed-width records are mapped, not read, so startup cost is bounded by
+ * page faults on first access rather than by parsing. Records are mapped
+ * in segments of at most {@value #RECORDS_PER_SEGMENT} rows to stay within
+ * the 2 GB limit of a single mapping.
+ * <p>
+ * {@link #asList()} feeds the object pipeline lazily, materialising a
+ * {@link CarResult} per access, and {@link #toBatch()} copies the columns
+ * straight into a {@link CarResultBatch} without touching any string. The
+ * mapping stays valid after the file channel is closed, so there is nothing
+ * to close. Thread-safe.
+ * <p>
+ * Since records are not parsed on open, a record with a dictionary id or
+ * fuel code out of range is reported when it is read: as an
+ * {@link UncheckedIOException} from the per-row accessors and as an
+ * {@link IOException} from {@link #toBatch()}.
+ */
+public final class OfferFile {
+
+    static final int RECORDS_PER_SEGMENT = 1 << 26;
+    private static final int SEGMENT_SHIFT = 26;
+    private static final int SEGMENT_MASK = RECORDS_PER_SEGMENT - 1;
+
+    private static final CarResult.FuelPolicy[] FUEL_POLICIES = CarResult.FuelPolicy.values();
+
+    private final Path path;
+    private final ByteBuffer[] segments;
+    private final int size;
+    private final String[] descriptions;
+    private final String[] suppliers;
+    private final String[] sippCodes;
+
+    private OfferFile(Path path, ByteBuffer[] segments, int size, String[][] dictionaries) {
+        this.path = path;
+        this.segments = segments;
+        this.size = size;
+        this.descriptions = dictionaries[0];
+        this.suppliers = dictionaries[1];
+        this.sippCodes = dictionaries[2];
+    }
+
+    public static OfferFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not an offer file: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ORDER);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not an offer file: " + path);
+            }
+            if (header.getShort(VERSION_OFFSET) != VERSION || header.getShort(RECORD_SIZE_OFFSET) != RECORD_SIZE) {
+                throw new IOException("Unsupported offer file version " + header.getShort(VERSION_OFFSET)
+                        + " with record size " + header.getShort(RECORD_SIZE_OFFSET) + ": " + path);
+            }
+            long count = header.getLong(COUNT_OFFSET);
+            long dictionaryOffset = header.getLong(DICTIONARY_OFFSET);
+            if (count < 0 || count > Integer.MAX_VALUE - 8
+                    || dictionaryOffset != HEADER_SIZE + count * RECORD_SIZE || dictionaryOffset > fileSize) {
+                throw new IOException("Corrupt offer file header: " + path);
+            }
+
+            ByteBuffer[] segments = new ByteBuffer[(int) ((count + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long rows = Math.min(RECORDS_PER_SEGMENT, count - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * RECORD_SIZE, rows * RECORD_SIZE).order(ORDER);
+            }
+
+            MappedByteBuffer dictionarySection = channel.map(FileChannel.MapMode.READ_ONLY,
+                    dictionaryOffset, fileSize - dictionaryOffset);
+            dictionarySection.order(ORDER);
+            String[][] dictionaries = new String[OfferFileFormat.DICTIONARIES][];
+            for (int i = 0; i < dictionaries.length; i++) {
+                dictionaries[i] = readDictionary(dictionarySection, path);
+            }
+            return new OfferFile(path, segments, (int) count, dictionaries);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double cost(int row) {
+        return segment(row).getDouble(offset(row) + COST);
+    }
+
+    public int descriptionId(int row) {
+        return segment(row).getInt(offset(row) + DESCRIPTION);
+    }
+
+    public int supplierId(int row) {
+        return segment(row).getInt(offset(row) + SUPPLIER);
+    }
+
+    public int sippId(int row) {
+        return segment(row).getInt(offset(row) + SIPP);
+    }
+
+    public String description(int row) {
+        return lookup(descriptions, descriptionId(row), row);
+    }
+
+    public String supplierName(int row) {
+        return lookup(suppliers, supplierId(row), row);
+    }
+
+    public String sippCode(int row) {
+        return lookup(sippCodes, sippId(row), row);
+    }
+
+    public CarResult.FuelPolicy fuelPolicy(int row) {
+        int code = segment(row).get(offset(row) + FUEL);
+        if (code < 0 || code > FUEL_POLICIES.length) {
+            throw new UncheckedIOException(corrupt(row));
+        }
+        return code == 0 ? null : FUEL_POLICIES[code - 1];
+    }
+
+    /**
+     * Materialises the record as a new {@link CarResult}.
+     */
+    public CarResult get(int row) {
+        return new CarResult(description(row), supplierName(row), sippCode(row), cost(row), fuelPolicy(row));
+    }
+
+    /**
+     * A lazy list over all records; each access materialises a car, so
+     * callers that visit a record more than once may prefer to copy it.
+     */
+    public List<CarResult> asList() {
+        return new RecordList();
+    }
+
+    /**
+     * Copies the records into a columnar batch, sharing the decoded
+     * dictionaries.
+     *
+     * @throws IOException if a record refers to a string or fuel policy that
+     * does not exist
+     */
+    public CarResultBatch toBatch() throws IOException {
+        int[] descriptionIds = new int[size];
+        int[] supplierIds = new int[size];
+        int[] sippIds = new int[size];
+        double[] costs = new double[size];
+        BitSet fullFull = new BitSet(size);
+        BitSet fullEmpty = new BitSet(size);
+        int fullFullCode = CarResult.FuelPolicy.FULLFULL.ordinal() + 1;
+        int fullEmptyCode = CarResult.FuelPolicy.FULLEMPTY.ordinal() + 1;
+        int row = 0;
+        for (ByteBuffer segment : segments) {
+            int limit = segment.capacity();
+            for (int offset = 0; offset < limit; offset += RECORD_SIZE, row++) {
+                costs[row] = segment.getDouble(offset + COST);
+                descriptionIds[row] = segment.getInt(offset + DESCRIPTION);
+                supplierIds[row] = segment.getInt(offset + SUPPLIER);
+                sippIds[row] = segment.getInt(offset + SIPP);
+                int fuel = segment.get(offset + FUEL);
+                if (descriptionIds[row] < 0 || descriptionIds[row] >= descriptions.length
+                        || supplierIds[row] < 0 || supplierIds[row] >= suppliers.length
+                        || sippIds[row] < 0 || sippIds[row] >= sippCodes.length
+                        || fuel < 0 || fuel > FUEL_POLICIES.length) {
+                    throw corrupt(row);
+                }
+                if (fuel == fullFullCode) {
+                    fullFull.set(row);
+                } else if (fuel == fullEmptyCode) {
+                    fullEmpty.set(row);
+                }
+            }
+        }
+        return CarResultBatch.ofColumns(descriptions, suppliers, sippCodes,
+                descriptionIds, supplierIds, sippIds, costs, fullFull, fullEmpty);
+    }
+
+    private ByteBuffer segment(int row) {
+        return segments[row >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int row) {
+        return (row & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    private String lookup(String[] dictionary, int id, int row) {
+        if (id < 0 || id >= dictionary.length) {
+            throw new UncheckedIOException(corrupt(row));
+        }
+        return dictionary[id];
+    }
+
+    private IOException corrupt(int row) {
+        return new IOException("Corrupt offer file record " + row + ": " + path);
+    }
+
+    private static String[] readDictionary(ByteBuffer section, Path path) throws IOException {
+        int count = readInt(section, path);
+        if (count < 0 || count > section.remaining() / Integer.BYTES) {
+            throw new IOException("Corrupt offer file dictionary: " + path);
+        }
+        String[] values = new String[count + 1];
+        byte[] bytes = new byte[64];
+        for (int id = 1; id <= count; id++) {
+            int length = readInt(section, path);
+            if (length < 0 || length > section.remaining()) {
+                throw new IOException("Corrupt offer file dictionary: " + path);
+            }
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            section.get(bytes, 0, length);
+            values[id] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static int readInt(ByteBuffer section, Path path) throws IOException {
+        if (section.remaining() < Integer.BYTES) {
+            throw new IOException("Truncated offer file dictionary: " + path);
+        }
+        return section.getInt();
+    }
+
+    private final class RecordList extends AbstractList<CarResult> implements RandomAccess {
+
+        @Override
+        public CarResult get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return OfferFile.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cartrawler.assessment.data;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Converts the in-code dataset of {@link CarDataProvider} into a binary
+ * offer file, mainly to produce fixtures for tests.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OfferFileConverter {
+
+    /**
+     * Writes {@link CarDataProvider#loadAllCars()} to {@code target}.
+     */
+    public static Path convertBundledDataset(Path target) throws IOException {
+        OfferFileWriter.write(target, CarDataProvider.loadAllCars());
+        return target;
+    }
+}
@@ -0,0 +1,51 @@
+package com.cartrawler.assessment.data;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary offer file, little-endian throughout.
+ * <pre>
+ * header (32 bytes)
+ *   0  magic "CTOF"
+ *   4  u16 version
+ *   6  u16 record size
+ *   8  i64 record count
+ *  16  i64 offset of the dictionary section
+ *  24  reserved
+ * records, fixed width, from offset 32
+ *   0  f64 rental cost
+ *   8  i32 description id
+ *  12  i32 supplier id
+ *  16  i32 SIPP code id
+ *  20  u8  fuel policy, 0 for none, otherwise ordinal + 1
+ *  21  padding
+ * dictionary section: description, supplier and SIPP dictionaries, each
+ *   i32 count, then per id from 1: i32 byte length, UTF-8 bytes
+ * </pre>
+ * Id 0 stands for {@code null} in every dictionary.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class OfferFileFormat {
+
+    static final int MAGIC = 'C' | 'T' << 8 | 'O' << 16 | 'F' << 24;
+    static final short VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 32;
+    static final int VERSION_OFFSET = 4;
+    static final int RECORD_SIZE_OFFSET = 6;
+    static final int COUNT_OFFSET = 8;
+    static final int DICTIONARY_OFFSET = 16;
+
+    static final int RECORD_SIZE = 24;
+    static final int COST = 0;
+    static final int DESCRIPTION = 8;
+    static final int SUPPLIER = 12;
+    static final int SIPP = 16;
+    static final int FUEL = 20;
+
+    static final int DICTIONARIES = 3;
+}
@@ -0,0 +1,164 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.util.StringDictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.cartrawler.assessment.data.OfferFileFormat.COST;
+import static com.cartrawler.assessment.data.OfferFileFormat.COUNT_OFFSET;
+import static com.cartrawler.assessment.data.OfferFileFormat.DESCRIPTION;
+import static com.cartrawler.assessment.data.OfferFileFormat.DICTIONARY_OFFSET;
+import static com.cartrawler.assessment.data.OfferFileFormat.FUEL;
+import static com.cartrawler.assessment.data.OfferFileFormat.HEADER_SIZE;
+import static com.cartrawler.assessment.data.OfferFileFormat.MAGIC;
+import static com.cartrawler.assessment.data.OfferFileFormat.ORDER;
+import static com.cartrawler.assessment.data.OfferFileFormat.RECORD_SIZE;
+import static com.cartrawler.assessment.data.OfferFileFormat.RECORD_SIZE_OFFSET;
+import static com.cartrawler.assessment.data.OfferFileFormat.SIPP;
+import static com.cartrawler.assessment.data.OfferFileFormat.SUPPLIER;
+import static com.cartrawler.assessment.data.OfferFileFormat.VERSION;
+import static com.cartrawler.assessment.data.OfferFileFormat.VERSION_OFFSET;
+
+/**
+ * Streams offers into a binary offer file, see {@link OfferFileFormat}.
+ * <p>
+ * Records are written as they come, through one reusable buffer; strings
+ * are dictionary-encoded on the way and the dictionaries plus the header
+ * are written on {@link #close()}, so a snapshot of any size is written in
+ * a single pass with memory proportional to its distinct strings. Not
+ * thread-safe.
+ */
+public final class OfferFileWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = RECORD_SIZE * 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ORDER);
+    private final StringDictionary descriptions = new StringDictionary();
+    private final StringDictionary suppliers = new StringDictionary();
+    private final StringDictionary sippCodes = new StringDictionary();
+    private long count;
+    private boolean closed;
+
+    private OfferFileWriter(FileChannel channel) throws IOException {
+        this.channel = channel;
+        channel.position(HEADER_SIZE);
+    }
+
+    /**
+     * Creates or truncates the file at {@code path}.
+     */
+    public static OfferFileWriter create(Path path) throws IOException {
+        return new OfferFileWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Writes all cars to a new file at {@code path}.
+     */
+    public static void write(Path path, Iterable<CarResult> cars) throws IOException {
+        try (OfferFileWriter writer = create(path)) {
+            for (CarResult car : cars) {
+                writer.write(car);
+            }
+        }
+    }
+
+    public OfferFileWriter write(CarResult car) throws IOException {
+        return write(car.getDescription(), car.getSupplierName(), car.getSippCode(),
+                car.getRentalCost(), car.getFuelPolicy());
+    }
+
+    public OfferFileWriter write(String description, String supplierName, String sippCode,
+                                 double cost, CarResult.FuelPolicy fuelPolicy) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush();
+        }
+        int record = buffer.position();
+        buffer.putDouble(record + COST, cost);
+        buffer.putInt(record + DESCRIPTION, descriptions.encode(description));
+        buffer.putInt(record + SUPPLIER, suppliers.encode(supplierName));
+        buffer.putInt(record + SIPP, sippCodes.encode(sippCode));
+        // written as an int so that the padding after the fuel byte is zeroed
+        buffer.putInt(record + FUEL, fuelPolicy == null ? 0 : fuelPolicy.ordinal() + 1);
+        buffer.position(record + RECORD_SIZE);
+        count++;
+        return this;
+    }
+
+    /**
+     * @return the number of records written so far
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Writes the dictionaries and the header and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+            long dictionaryOffset = channel.position();
+            writeDictionary(descriptions);
+            writeDictionary(suppliers);
+            writeDictionary(sippCodes);
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+            header.putInt(0, MAGIC);
+            header.putShort(VERSION_OFFSET, VERSION);
+            header.putShort(RECORD_SIZE_OFFSET, (short) RECORD_SIZE);
+            header.putLong(COUNT_OFFSET, count);
+            header.putLong(DICTIONARY_OFFSET, dictionaryOffset);
+            channel.position(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeDictionary(StringDictionary dictionary) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(dictionary.size());
+        for (int id = 1; id <= dictionary.size(); id++) {
+            byte[] bytes = dictionary.decode(id).getBytes(StandardCharsets.UTF_8);
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(bytes.length);
+            int written = 0;
+            while (written < bytes.length) {
+                ensureRemaining(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, chunk);
+                written += chunk;
+            }
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,360 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.enums.Category;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.BUCKET_COUNT_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.BUCKET_ENTRY_SIZE;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.CORPORATE_COUNT_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.COUNT_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.DICTIONARY_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.FILTERED_COUNT_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.FIRST_FILTERED_ROW;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.FIRST_ROW;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.FUEL_MASK;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.HEADER_SIZE;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.KEPT;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.MAGIC;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.ORDER;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.RECORD_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.VERSION;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.VERSION_OFFSET;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.BUCKETS;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CATEGORIES;
+
+/**
+ * Read-only, memory-mapped view of a result snapshot written by
+ * {@link ResultSnapshotWriter}, for warm restarts that serve processed and
+ * filtered results without recomputing them.
+ * <p>
+ * Opening a snapshot decodes only the header, the bucket table and the
+ * string dictionaries. Records are decoded one (segment × category) bucket
+ * at a time, on the first access to that bucket, and cached, so reading a
+ * single slice costs that slice only. The mapping stays valid after the
+ * file channel is closed, so there is nothing to close. A snapshot must fit
+ * in one mapping (2 GB). Thread-safe: concurrent first reads of a bucket
+ * may decode it twice, and either result is used.
+ */
+public final class ResultSnapshot {
+
+    private static final CarResult.FuelPolicy[] FUEL_POLICIES = CarResult.FuelPolicy.values();
+
+    private final Path path;
+    private final ByteBuffer records;
+    private final int[] firstRows;
+    private final int[] firstFilteredRows;
+    private final int[] recordOffsets;
+    private final int corporateCount;
+    private final String[] descriptions;
+    private final String[] suppliers;
+    private final String[] sippCodes;
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(BUCKETS);
+
+    private ResultSnapshot(Path path, ByteBuffer records, int[] firstRows, int[] firstFilteredRows,
+                           int[] recordOffsets, int corporateCount, String[][] dictionaries) {
+        this.path = path;
+        this.records = records;
+        this.firstRows = firstRows;
+        this.firstFilteredRows = firstFilteredRows;
+        this.recordOffsets = recordOffsets;
+        this.corporateCount = corporateCount;
+        this.descriptions = dictionaries[0];
+        this.suppliers = dictionaries[1];
+        this.sippCodes = dictionaries[2];
+    }
+
+    public static ResultSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            int tableSize = (BUCKETS + 1) * BUCKET_ENTRY_SIZE;
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not a result snapshot: " + path);
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Result snapshot too large to map: " + path);
+            }
+            ByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(ORDER);
+            if (file.getInt(0) != MAGIC) {
+                throw new IOException("Not a result snapshot: " + path);
+            }
+            if (file.getShort(VERSION_OFFSET) != VERSION || file.getShort(BUCKET_COUNT_OFFSET) != BUCKETS) {
+                throw new IOException("Unsupported result snapshot version " + file.getShort(VERSION_OFFSET)
+                        + " with " + file.getShort(BUCKET_COUNT_OFFSET) + " buckets: " + path);
+            }
+            long recordSection = HEADER_SIZE + tableSize;
+            if (fileSize < recordSection) {
+                throw new IOException("Truncated result snapshot: " + path);
+            }
+            int count = file.getInt(COUNT_OFFSET);
+            int corporateCount = file.getInt(CORPORATE_COUNT_OFFSET);
+            int filteredCount = file.getInt(FILTERED_COUNT_OFFSET);
+            long dictionaryOffset = file.getLong(DICTIONARY_OFFSET);
+            if (count < 0 || corporateCount < 0 || corporateCount > count || filteredCount < 0
+                    || filteredCount > count || dictionaryOffset < recordSection || dictionaryOffset > fileSize) {
+                throw new IOException("Corrupt result snapshot header: " + path);
+            }
+
+            int[] firstRows = new int[BUCKETS + 1];
+            int[] firstFilteredRows = new int[BUCKETS + 1];
+            int[] recordOffsets = new int[BUCKETS + 1];
+            for (int b = 0; b <= BUCKETS; b++) {
+                int entry = HEADER_SIZE + b * BUCKET_ENTRY_SIZE;
+                firstRows[b] = file.getInt(entry + FIRST_ROW);
+                firstFilteredRows[b] = file.getInt(entry + FIRST_FILTERED_ROW);
+                long offset = file.getLong(entry + RECORD_OFFSET);
+                boolean ordered = b == 0
+                        ? firstRows[b] == 0 && firstFilteredRows[b] == 0 && offset == 0
+                        : firstRows[b] >= firstRows[b - 1] && firstFilteredRows[b] >= firstFilteredRows[b - 1]
+                        && offset >= recordOffsets[b - 1];
+                if (!ordered || offset > dictionaryOffset - recordSection) {
+                    throw new IOException("Corrupt result snapshot bucket table: " + path);
+                }
+                recordOffsets[b] = (int) offset;
+            }
+            if (firstRows[BUCKETS] != count || firstFilteredRows[BUCKETS] != filteredCount
+                    || recordOffsets[BUCKETS] != dictionaryOffset - recordSection) {
+                throw new IOException("Corrupt result snapshot bucket table: " + path);
+            }
+
+            ByteBuffer records = file.slice((int) recordSection, recordOffsets[BUCKETS]).order(ORDER);
+            ByteBuffer dictionarySection = file.slice((int) dictionaryOffset, (int) (fileSize - dictionaryOffset))
+                    .order(ORDER);
+            String[][] dictionaries = new String[ResultSnapshotFormat.DICTIONARIES][];
+            for (int i = 0; i < dictionaries.length; i++) {
+                dictionaries[i] = readDictionary(dictionarySection, path);
+            }
+            return new ResultSnapshot(path, records, firstRows, firstFilteredRows, recordOffsets,
+                    corporateCount, dictionaries);
+        }
+    }
+
+    /**
+     * @return the number of processed cars
+     */
+    public int size() {
+        return firstRows[BUCKETS];
+    }
+
+    public int corporateCount() {
+        return corporateCount;
+    }
+
+    public int filteredSize() {
+        return firstFilteredRows[BUCKETS];
+    }
+
+    /**
+     * Decodes every bucket now rather than on first access, so that a
+     * corrupt record is reported here instead of part-way through a read.
+     *
+     * @throws IOException if a bucket is corrupt
+     */
+    public void decodeAll() throws IOException {
+        for (int b = 0; b < BUCKETS; b++) {
+            try {
+                bucket(b);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * The processed cars, decoded bucket by bucket as they are accessed.
+     */
+    public List<CarResult> processed() {
+        return new LazyList(firstRows, false);
+    }
+
+    /**
+     * The filtered cars, decoded bucket by bucket as they are accessed.
+     */
+    public List<CarResult> filtered() {
+        return new LazyList(firstFilteredRows, true);
+    }
+
+    /**
+     * The processed cars of one (segment × category) slice, decoding only
+     * that slice.
+     *
+     * @param segment {@link com.cartrawler.assessment.pipeline.BucketedPipeline#CORPORATE} or
+     *                {@link com.cartrawler.assessment.pipeline.BucketedPipeline#NON_CORPORATE}
+     */
+    public List<CarResult> slice(int segment, Category category) {
+        return bucket(bucketOf(segment, category)).cars;
+    }
+
+    /**
+     * The filtered cars of one (segment × category) slice.
+     */
+    public List<CarResult> filteredSlice(int segment, Category category) {
+        return bucket(bucketOf(segment, category)).kept;
+    }
+
+    private static int bucketOf(int segment, Category category) {
+        if (segment < 0 || segment * CATEGORIES >= BUCKETS) {
+            throw new IllegalArgumentException("Unknown segment: " + segment);
+        }
+        return segment * CATEGORIES + category.ordinal();
+    }
+
+    private Bucket bucket(int index) {
+        Bucket bucket = buckets.get(index);
+        if (bucket == null) {
+            bucket = decode(index);
+            buckets.compareAndSet(index, null, bucket);
+            bucket = buckets.get(index);
+        }
+        return bucket;
+    }
+
+    private Bucket decode(int index) {
+        int size = firstRows[index + 1] - firstRows[index];
+        int keptSize = firstFilteredRows[index + 1] - firstFilteredRows[index];
+        List<CarResult> cars = new ArrayList<>(size);
+        List<CarResult> kept = new ArrayList<>(keptSize);
+        RecordReader reader = new RecordReader(recordOffsets[index]);
+        long previous = 0;
+        try {
+            for (int row = 0; row < size; row++) {
+                String description = descriptions[(int) reader.varint()];
+                String supplierName = suppliers[(int) reader.varint()];
+                String sippCode = sippCodes[(int) reader.varint()];
+                int flags = reader.flags();
+                int fuel = flags & FUEL_MASK;
+                long delta = reader.varint();
+                previous += delta >>> 1 ^ -(delta & 1);
+                CarResult car = new CarResult(description, supplierName, sippCode,
+                        ResultSnapshotFormat.cost(previous), fuel == 0 ? null : FUEL_POLICIES[fuel - 1]);
+                cars.add(car);
+                if ((flags & KEPT) != 0) {
+                    kept.add(car);
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw corrupt(index, e);
+        }
+        if (reader.position != recordOffsets[index + 1] || kept.size() != keptSize) {
+            throw corrupt(index, null);
+        }
+        return new Bucket(List.copyOf(cars), List.copyOf(kept));
+    }
+
+    private UncheckedIOException corrupt(int index, Exception cause) {
+        return new UncheckedIOException(new IOException("Corrupt result snapshot bucket " + index + ": " + path, cause));
+    }
+
+    private static String[] readDictionary(ByteBuffer section, Path path) throws IOException {
+        int count = readInt(section, path);
+        if (count < 0 || count > section.remaining() / Integer.BYTES) {
+            throw new IOException("Corrupt result snapshot dictionary: " + path);
+        }
+        String[] values = new String[count + 1];
+        byte[] bytes = new byte[64];
+        for (int id = 1; id <= count; id++) {
+            int length = readInt(section, path);
+            if (length < 0 || length > section.remaining()) {
+                throw new IOException("Corrupt result snapshot dictionary: " + path);
+            }
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            section.get(bytes, 0, length);
+            values[id] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static int readInt(ByteBuffer section, Path path) throws IOException {
+        if (section.remaining() < Integer.BYTES) {
+            throw new IOException("Truncated result snapshot dictionary: " + path);
+        }
+        return section.getInt();
+    }
+
+    /**
+     * Cursor over the records; ids beyond a dictionary and records running
+     * past the mapping surface as {@link IndexOutOfBoundsException}s.
+     */
+    private final class RecordReader {
+        private int position;
+
+        private RecordReader(int position) {
+            this.position = position;
+        }
+
+        private int flags() {
+            return records.get(position++) & 0xFF;
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte b = records.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IndexOutOfBoundsException("Varint longer than 64 bits at " + position);
+        }
+    }
+
+    private static final class Bucket {
+        private final List<CarResult> cars;
+        private final List<CarResult> kept;
+
+        private Bucket(List<CarResult> cars, List<CarResult> kept) {
+            this.cars = cars;
+            this.kept = kept;
+        }
+    }
+
+    /**
+     * Concatenation of the buckets' processed or kept cars; {@code starts}
+     * holds where each bucket begins.
+     */
+    private final class LazyList extends AbstractList<CarResult> implements RandomAccess {
+        private final int[] starts;
+        private final boolean kept;
+
+        private LazyList(int[] starts, boolean kept) {
+            this.starts = starts;
+            this.kept = kept;
+        }
+
+        @Override
+        public CarResult get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+            }
+            // the last bucket starting at or before index, skipping empty ones
+            int found = Arrays.binarySearch(starts, 0, BUCKETS, index);
+            int b = found >= 0 ? found : -found - 2;
+            while (starts[b + 1] <= index) {
+                b++;
+            }
+            Bucket bucket = bucket(b);
+            return (kept ? bucket.kept : bucket.cars).get(index - starts[b]);
+        }
+
+        @Override
+        public int size() {
+            return starts[BUCKETS];
+        }
+    }
+}
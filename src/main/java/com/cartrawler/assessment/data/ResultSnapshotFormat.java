@@ -0,0 +1,77 @@
+package com.cartrawler.assessment.data;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of a processed-result snapshot, little-endian throughout.
+ * <pre>
+ * header (40 bytes)
+ *   0  magic "CTRS"
+ *   4  u16 version
+ *   6  u16 bucket count
+ *   8  i32 processed car count
+ *  12  i32 corporate car count
+ *  16  i32 filtered car count
+ *  20  reserved
+ *  24  i64 offset of the dictionary section
+ *  32  reserved
+ * bucket table, from offset 40, one entry per bucket plus an end entry
+ *   0  i32 first row
+ *   4  i32 first filtered row
+ *   8  i64 offset of the first record, relative to the record section
+ * records, variable width, in processed order
+ *      varint description id, varint supplier id, varint SIPP code id
+ *      u8  fuel policy, 0 for none, otherwise ordinal + 1; bit 7 set when
+ *          the filtered list keeps the car
+ *      varint zigzag delta of the sortable cost bits to the previous
+ *          record of the same bucket (to 0 for a bucket's first record)
+ * dictionary section: description, supplier and SIPP dictionaries, each
+ *   i32 count, then per id from 1: i32 byte length, UTF-8 bytes
+ * </pre>
+ * Id 0 stands for {@code null} in every dictionary. Varints are unsigned
+ * LEB128. Costs within a bucket are ascending, so their deltas are small
+ * and mostly zero for ties, and every bucket decodes on its own.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ResultSnapshotFormat {
+
+    static final int MAGIC = 'C' | 'T' << 8 | 'R' << 16 | 'S' << 24;
+    static final short VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 40;
+    static final int VERSION_OFFSET = 4;
+    static final int BUCKET_COUNT_OFFSET = 6;
+    static final int COUNT_OFFSET = 8;
+    static final int CORPORATE_COUNT_OFFSET = 12;
+    static final int FILTERED_COUNT_OFFSET = 16;
+    static final int DICTIONARY_OFFSET = 24;
+
+    static final int BUCKET_ENTRY_SIZE = 16;
+    static final int FIRST_ROW = 0;
+    static final int FIRST_FILTERED_ROW = 4;
+    static final int RECORD_OFFSET = 8;
+
+    static final int KEPT = 0x80;
+    static final int FUEL_MASK = 0x7F;
+    /** Three 5-byte varint ids, the fuel byte and a 10-byte varint cost delta. */
+    static final int MAX_RECORD_SIZE = 3 * 5 + 1 + 10;
+
+    static final int DICTIONARIES = 3;
+
+    /**
+     * Maps costs to longs whose signed order is the order of
+     * {@link Double#compare(double, double)}.
+     */
+    static long sortableBits(double cost) {
+        long bits = Double.doubleToRawLongBits(cost);
+        return bits ^ (bits >> 63 & Long.MAX_VALUE);
+    }
+
+    static double cost(long sortableBits) {
+        return Double.longBitsToDouble(sortableBits ^ (sortableBits >> 63 & Long.MAX_VALUE));
+    }
+}
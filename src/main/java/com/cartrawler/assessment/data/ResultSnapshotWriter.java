@@ -0,0 +1,220 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import com.cartrawler.assessment.util.StringDictionary;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.BUCKET_COUNT_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.BUCKET_ENTRY_SIZE;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.CORPORATE_COUNT_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.COUNT_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.DICTIONARY_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.FILTERED_COUNT_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.FIRST_FILTERED_ROW;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.FIRST_ROW;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.HEADER_SIZE;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.KEPT;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.MAGIC;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.MAX_RECORD_SIZE;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.ORDER;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.RECORD_OFFSET;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.VERSION;
+import static com.cartrawler.assessment.data.ResultSnapshotFormat.VERSION_OFFSET;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.BUCKETS;
+
+/**
+ * Writes processed and filtered results as a snapshot, see
+ * {@link ResultSnapshotFormat}.
+ * <p>
+ * Records are streamed through one reusable buffer while strings are
+ * dictionary-encoded; the dictionaries, the bucket table and the header are
+ * written last. The file is written next to {@code path} and moved into
+ * place once complete, so a reader never maps a half-written snapshot.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ResultSnapshotWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the processed cars and their filtered list as computed by
+     * {@link SegmentedCars#filterFullAboveMedianPrice()}.
+     */
+    public static void write(Path path, SegmentedCars result) throws IOException {
+        write(path, result.getCars(), result.getCorporateCount(), result.filterFullAboveMedianPrice());
+    }
+
+    /**
+     * @param processed      cars in pipeline order, grouped by (segment × category) bucket
+     * @param corporateCount number of corporate cars at the head of {@code processed}
+     * @param filtered       the cars of {@code processed} that the filtered list keeps, in the same order
+     */
+    public static void write(Path path, List<CarResult> processed, int corporateCount, List<CarResult> filtered)
+            throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            new Encoder(channel).encode(processed, corporateCount, filtered);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static final class Encoder {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ORDER);
+        private final StringDictionary descriptions = new StringDictionary();
+        private final StringDictionary suppliers = new StringDictionary();
+        private final StringDictionary sippCodes = new StringDictionary();
+        private long written;
+
+        private Encoder(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void encode(List<CarResult> processed, int corporateCount, List<CarResult> filtered)
+                throws IOException {
+            int tableSize = (BUCKETS + 1) * BUCKET_ENTRY_SIZE;
+            ByteBuffer table = ByteBuffer.allocate(tableSize).order(ORDER);
+            channel.position(HEADER_SIZE + tableSize);
+
+            int size = processed.size();
+            int next = 0;
+            int kept = 0;
+            long previous = 0;
+            int bucket = -1;
+            for (int row = 0; row < size; row++) {
+                CarResult car = processed.get(row);
+                int carBucket = BucketedPipeline.bucketOf(car);
+                if (carBucket < bucket) {
+                    throw new IllegalArgumentException("Processed cars are not grouped by bucket at row " + row);
+                }
+                while (bucket < carBucket) {
+                    bucket++;
+                    putBucketEntry(table, bucket, row, kept);
+                    previous = 0;
+                }
+                boolean keep = next < filtered.size() && sameOffer(filtered.get(next), car);
+                if (keep) {
+                    next++;
+                    kept++;
+                }
+                if (buffer.remaining() < MAX_RECORD_SIZE) {
+                    flush();
+                }
+                putVarint(descriptions.encode(car.getDescription()));
+                putVarint(suppliers.encode(car.getSupplierName()));
+                putVarint(sippCodes.encode(car.getSippCode()));
+                int fuel = car.getFuelPolicy() == null ? 0 : car.getFuelPolicy().ordinal() + 1;
+                buffer.put((byte) (keep ? fuel | KEPT : fuel));
+                long sortable = ResultSnapshotFormat.sortableBits(car.getRentalCost());
+                long delta = sortable - previous;
+                putVarint(delta << 1 ^ delta >> 63);
+                previous = sortable;
+            }
+            if (next != filtered.size()) {
+                throw new IllegalArgumentException("Filtered cars are not a subsequence of the processed cars");
+            }
+            if (corporateCount < 0 || corporateCount > size) {
+                throw new IllegalArgumentException("Corporate count " + corporateCount + " outside [0, " + size + "]");
+            }
+            while (bucket < BUCKETS) {
+                bucket++;
+                putBucketEntry(table, bucket, size, kept);
+            }
+            flush();
+
+            long dictionaryOffset = channel.position();
+            writeDictionary(descriptions);
+            writeDictionary(suppliers);
+            writeDictionary(sippCodes);
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+            header.putInt(0, MAGIC);
+            header.putShort(VERSION_OFFSET, VERSION);
+            header.putShort(BUCKET_COUNT_OFFSET, (short) BUCKETS);
+            header.putInt(COUNT_OFFSET, size);
+            header.putInt(CORPORATE_COUNT_OFFSET, corporateCount);
+            header.putInt(FILTERED_COUNT_OFFSET, kept);
+            header.putLong(DICTIONARY_OFFSET, dictionaryOffset);
+            channel.position(0);
+            writeFully(header);
+            writeFully(table.clear());
+        }
+
+        /**
+         * The same car, or an equal one at the same cost.
+         */
+        private static boolean sameOffer(CarResult filtered, CarResult car) {
+            return filtered == car || filtered.equals(car)
+                    && Double.compare(filtered.getRentalCost(), car.getRentalCost()) == 0;
+        }
+
+        private void putBucketEntry(ByteBuffer table, int bucket, int row, int filteredRow) {
+            int entry = bucket * BUCKET_ENTRY_SIZE;
+            table.putInt(entry + FIRST_ROW, row);
+            table.putInt(entry + FIRST_FILTERED_ROW, filteredRow);
+            table.putLong(entry + RECORD_OFFSET, written + buffer.position());
+        }
+
+        private void putVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) (value | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void writeDictionary(StringDictionary dictionary) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(dictionary.size());
+            for (int id = 1; id <= dictionary.size(); id++) {
+                byte[] bytes = dictionary.decode(id).getBytes(StandardCharsets.UTF_8);
+                ensureRemaining(Integer.BYTES);
+                buffer.putInt(bytes.length);
+                int offset = 0;
+                while (offset < bytes.length) {
+                    ensureRemaining(1);
+                    int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                    buffer.put(bytes, offset, chunk);
+                    offset += chunk;
+                }
+            }
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            written += buffer.remaining();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+}
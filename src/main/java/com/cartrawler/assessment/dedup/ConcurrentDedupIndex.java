@@ -0,0 +1,200 @@
+package com.cartrawler.assessment.dedup;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.util.RadixSort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe dedup index for cars that arrive from several fetch threads
+ * at once, keeping for every distinct car (same supplier, description,
+ * SIPP code and fuel policy) the occurrence with the lowest caller-supplied
+ * sequence number.
+ * <p>
+ * Cars are keyed by {@link Deduplicator#key(CarResult)}. The high bits of
+ * the key pick one of a power-of-two number of stripes, each an
+ * open-addressing table of primitive arrays ({@code long} key,
+ * {@code long} sequence) plus the cars, guarded by its own lock, so
+ * threads only contend when they hit the same stripe. Lock hold times are
+ * a probe and at most one {@code equals} check.
+ * <p>
+ * Because the lowest sequence always wins, the final content does not
+ * depend on the order in which threads insert: with sequences that follow
+ * the order of a single collected list, {@link #survivors()} equals
+ * {@link Deduplicator#removeDuplicates(List)} of that list. Sequences
+ * should be unique; on a tie the car inserted first is kept.
+ */
+public final class ConcurrentDedupIndex {
+
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    public ConcurrentDedupIndex() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes number of independently locked tables, rounded up to a power of two
+     */
+    public ConcurrentDedupIndex(int stripes) {
+        if (stripes <= 0 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("Stripes must be in [1, 65536]: " + stripes);
+        }
+        int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(count);
+    }
+
+    /**
+     * Records {@code car} as an occurrence with the given sequence number.
+     *
+     * @return whether {@code car} is now the kept occurrence of its key,
+     * i.e. it is new or has a lower sequence than the one held so far
+     */
+    public boolean insert(CarResult car, long sequence) {
+        long key = Deduplicator.key(car);
+        Stripe stripe = stripes[stripeShift == Long.SIZE ? 0 : (int) (key >>> stripeShift)];
+        stripe.lock.lock();
+        try {
+            return stripe.insert(key, car, sequence);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts a fetched batch whose cars have consecutive sequence numbers
+     * starting at {@code firstSequence}.
+     *
+     * @return the number of cars that became the kept occurrence of their key
+     */
+    public int insertAll(List<CarResult> batch, long firstSequence) {
+        int kept = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (insert(batch.get(i), firstSequence + i)) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * @return the number of distinct cars; exact once inserts have stopped
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The kept occurrence of every distinct car, in ascending sequence
+     * order. Each stripe is read under its lock; call after the fetch
+     * threads finished for a consistent result.
+     */
+    public List<CarResult> survivors() {
+        List<CarResult> cars = new ArrayList<>();
+        long[] sequences = new long[16];
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (int slot = 0; slot < stripe.cars.length; slot++) {
+                    CarResult car = stripe.cars[slot];
+                    if (car != null) {
+                        if (cars.size() == sequences.length) {
+                            sequences = Arrays.copyOf(sequences, sequences.length * 2);
+                        }
+                        // flip the sign bit so the unsigned radix order is the signed order
+                        sequences[cars.size()] = stripe.sequences[slot] ^ Long.MIN_VALUE;
+                        cars.add(car);
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        int size = cars.size();
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        RadixSort.sort(Arrays.copyOf(sequences, size), new long[size], rows);
+        List<CarResult> ordered = new ArrayList<>(size);
+        for (int row : rows) {
+            ordered.add(cars.get(row));
+        }
+        return ordered;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] keys = new long[16];
+        private long[] sequences = new long[16];
+        /** {@code null} marks an empty slot. */
+        private CarResult[] cars = new CarResult[16];
+        private int size;
+
+        private boolean insert(long key, CarResult car, long sequence) {
+            int mask = cars.length - 1;
+            int slot = (int) key & mask;
+            while (true) {
+                CarResult held = cars[slot];
+                if (held == null) {
+                    keys[slot] = key;
+                    sequences[slot] = sequence;
+                    cars[slot] = car;
+                    if (++size > cars.length >> 1) {
+                        grow();
+                    }
+                    return true;
+                }
+                if (keys[slot] == key && held.equals(car)) {
+                    if (sequence < sequences[slot]) {
+                        sequences[slot] = sequence;
+                        cars[slot] = car;
+                        return true;
+                    }
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldSequences = sequences;
+            CarResult[] oldCars = cars;
+            int capacity = oldCars.length * 2;
+            keys = new long[capacity];
+            sequences = new long[capacity];
+            cars = new CarResult[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < oldCars.length; i++) {
+                if (oldCars[i] != null) {
+                    int slot = (int) oldKeys[i] & mask;
+                    while (cars[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    sequences[slot] = oldSequences[i];
+                    cars[slot] = oldCars[i];
+                }
+            }
+        }
+    }
+}
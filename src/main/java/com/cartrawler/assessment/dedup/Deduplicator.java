@@ -0,0 +1,139 @@
+package com.cartrawler.assessment.dedup;
+
+import com.cartrawler.assessment.car.CarResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Removes duplicate cars (same supplier, description, SIPP code and fuel
+ * policy), keeping the first occurrence.
+ * <p>
+ * Each car is reduced to a 64-bit key built from the cached hashes of its
+ * three strings and its fuel policy. Keys live in an open-addressing table
+ * of primitive arrays ({@code long} key, {@code int} index of the first
+ * occurrence), so no per-entry objects are allocated; the full
+ * {@code equals} check only runs when two keys match, i.e. for real
+ * duplicates and the rare hash collision. Survivors are recorded in a bitmap
+ * of input indices.
+ * <p>
+ * An instance keeps its tables between calls so it can be reused; it is not
+ * thread-safe.
+ */
+public final class Deduplicator {
+
+    private long[] keys = new long[16];
+    /** Index of the first occurrence plus one; zero marks an empty slot. */
+    private int[] firstIndex = new int[16];
+    private long[] survivors = new long[1];
+    private int survivorCount;
+
+    public static List<CarResult> removeDuplicates(List<CarResult> cars) {
+        Deduplicator deduplicator = new Deduplicator();
+        deduplicator.dedup(cars);
+        return deduplicator.survivors(cars);
+    }
+
+    /**
+     * Marks the first occurrence of every distinct car.
+     *
+     * @return the number of surviving cars
+     */
+    public int dedup(List<CarResult> cars) {
+        int size = cars.size();
+        reset(size);
+        int mask = keys.length - 1;
+        for (int i = 0; i < size; i++) {
+            CarResult car = cars.get(i);
+            long key = key(car);
+            int slot = (int) key & mask;
+            while (true) {
+                int first = firstIndex[slot];
+                if (first == 0) {
+                    keys[slot] = key;
+                    firstIndex[slot] = i + 1;
+                    survivors[i >>> 6] |= 1L << i;
+                    survivorCount++;
+                    break;
+                }
+                if (keys[slot] == key && cars.get(first - 1).equals(car)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        return survivorCount;
+    }
+
+    /**
+     * @return whether the car at {@code index} survived the last {@link #dedup(List)}
+     */
+    public boolean survives(int index) {
+        return (survivors[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int survivorCount() {
+        return survivorCount;
+    }
+
+    /**
+     * @return the surviving cars of the last {@link #dedup(List)} in input order
+     */
+    public List<CarResult> survivors(List<CarResult> cars) {
+        List<CarResult> result = new ArrayList<>(survivorCount);
+        for (int word = 0; word < survivors.length; word++) {
+            long bits = survivors[word];
+            while (bits != 0) {
+                result.add(cars.get((word << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A well-mixed 64-bit key over the {@link CarResult} equality fields.
+     * Equal cars always have equal keys.
+     */
+    public static long key(CarResult car) {
+        long h = mix(hash(car.getSupplierName()) * 0x9E3779B97F4A7C15L ^ hash(car.getDescription()));
+        h = mix(h ^ ((long) hash(car.getSippCode()) << 32 | fuel(car.getFuelPolicy())));
+        return h;
+    }
+
+    private void reset(int size) {
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, size * 2) - 1) << 1);
+        if (keys.length < capacity) {
+            keys = new long[capacity];
+            firstIndex = new int[capacity];
+        } else {
+            Arrays.fill(firstIndex, 0);
+        }
+        int words = (size + 63) >>> 6;
+        if (survivors.length < words) {
+            survivors = new long[words];
+        } else {
+            Arrays.fill(survivors, 0);
+        }
+        survivorCount = 0;
+    }
+
+    private static long hash(String value) {
+        return value == null ? 0x5DEECE66DL : value.hashCode() & 0xFFFFFFFFL;
+    }
+
+    private static int fuel(CarResult.FuelPolicy fuelPolicy) {
+        return fuelPolicy == null ? 0 : fuelPolicy.ordinal() + 1;
+    }
+
+    /** MurmurHash3 finaliser. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
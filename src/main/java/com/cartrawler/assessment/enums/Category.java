@@ -1,5 +1,7 @@
 package com.cartrawler.assessment.enums;
 
+import com.cartrawler.assessment.sipp.SippDecoder;
+
 public enum Category {
 
     MINI("Mini", 'M'),
@@ -19,15 +21,14 @@ public enum Category {
         return label;
     }
 
+    public Character sippPrefix() {
+        return sippPrefix;
+    }
+
     /**
-     * maps first SIPP letter → Category
+     * maps first SIPP letter → Category, via the {@link SippDecoder} lookup table
      */
     public static Category fromSipp(String sipp) {
-        if (sipp == null || sipp.isBlank()) return OTHER;
-        char c = Character.toUpperCase(sipp.charAt(0));
-        for (Category cat : values()) {
-            if (cat.sippPrefix != null && cat.sippPrefix == c) return cat;
-        }
-        return OTHER;
+        return SippDecoder.category(SippDecoder.decode(sipp));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.cartrawler.assessment.enums;
 
+import com.cartrawler.assessment.supplier.SupplierRegistry;
 import lombok.Getter;
 
 @Getter
@@ -19,14 +20,11 @@ public enum Supplier {
         this.corporate = corporate;
     }
 
+    /**
+     * Case-insensitive lookup against the installed {@link SupplierRegistry},
+     * which defaults to the corporate suppliers declared here.
+     */
     public static boolean isCorporate(String supplierName) {
-        if (supplierName == null) {
-            return false;
-        }
-        try {
-            return Supplier.valueOf(supplierName.toUpperCase()).isCorporate();
-        } catch (IllegalArgumentException ex) {
-            return false;
-        }
+        return SupplierRegistry.current().isCorporate(supplierName);
     }
 }
\ No newline at end of file
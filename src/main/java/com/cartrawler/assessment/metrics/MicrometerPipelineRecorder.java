@@ -0,0 +1,81 @@
+package com.cartrawler.assessment.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes pipeline runs to Micrometer, and through Actuator's
+ * {@code metrics} endpoint:
+ * <ul>
+ *     <li>{@value #STAGE_TIMER}, tagged with {@code operation} and
+ *     {@code stage}, for the time of each stage;</li>
+ *     <li>{@value #RUN_TIMER}, tagged with {@code operation}, for the whole run;</li>
+ *     <li>{@value #ALLOCATION_SUMMARY}, tagged with {@code operation}, for
+ *     the bytes the calling thread allocated.</li>
+ * </ul>
+ * The timers keep percentile histograms (HdrHistogram-backed in Micrometer)
+ * and publish p50, p90 and p99. Meters are registered up front, so
+ * recording a run is a few array lookups and histogram updates.
+ */
+public final class MicrometerPipelineRecorder implements PipelineRecorder {
+
+    public static final String STAGE_TIMER = "cartrawler.pipeline.stage";
+    public static final String RUN_TIMER = "cartrawler.pipeline.run";
+    public static final String ALLOCATION_SUMMARY = "cartrawler.pipeline.allocated";
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+
+    private final Timer[][] stageTimers;
+    private final Timer[] runTimers;
+    private final DistributionSummary[] allocations;
+
+    public MicrometerPipelineRecorder(MeterRegistry registry) {
+        PipelineOperation[] operations = PipelineOperation.values();
+        this.stageTimers = new Timer[operations.length][Stage.values().length];
+        this.runTimers = new Timer[operations.length];
+        this.allocations = new DistributionSummary[operations.length];
+        for (PipelineOperation operation : operations) {
+            String name = operation.name().toLowerCase();
+            for (Stage stage : operation.stages()) {
+                stageTimers[operation.ordinal()][stage.ordinal()] = Timer.builder(STAGE_TIMER)
+                        .description("Time spent in one stage of a pipeline run")
+                        .tag("operation", name)
+                        .tag("stage", stage.name().toLowerCase())
+                        .publishPercentiles(PERCENTILES)
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            runTimers[operation.ordinal()] = Timer.builder(RUN_TIMER)
+                    .description("Time of a whole pipeline run")
+                    .tag("operation", name)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            allocations[operation.ordinal()] = DistributionSummary.builder(ALLOCATION_SUMMARY)
+                    .description("Bytes allocated by the calling thread during a pipeline run")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag("operation", name)
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void record(PipelineRun run) {
+        int operation = run.getOperation().ordinal();
+        List<Stage> stages = run.getOperation().stages();
+        for (int i = 0; i < stages.size(); i++) {
+            Stage stage = stages.get(i);
+            stageTimers[operation][stage.ordinal()].record(run.getStageNanos(stage), TimeUnit.NANOSECONDS);
+        }
+        runTimers[operation].record(run.getTotalNanos(), TimeUnit.NANOSECONDS);
+        if (run.getAllocatedBytes() >= 0) {
+            allocations[operation].record(run.getAllocatedBytes());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.cartrawler.assessment.metrics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Switch for pipeline instrumentation.
+ * <p>
+ * Disabled by default: {@link #start(PipelineOperation)} then returns a
+ * shared no-op {@link PipelineRun}, so an uninstrumented run costs one
+ * volatile read and never reads the clock or allocates. Installing a
+ * {@link PipelineRecorder}, e.g. from configuration, enables timing,
+ * allocation accounting and the {@link PipelineRunEvent} JFR event for
+ * every later run.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PipelineMetrics {
+
+    private static volatile PipelineRecorder recorder;
+
+    public static PipelineRun start(PipelineOperation operation) {
+        PipelineRecorder current = recorder;
+        return current == null ? PipelineRun.DISABLED : new PipelineRun(operation, current);
+    }
+
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    public static void install(PipelineRecorder recorder) {
+        PipelineMetrics.recorder = recorder;
+    }
+
+    public static void disable() {
+        recorder = null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cartrawler.assessment.metrics;
+
+import java.util.List;
+
+/**
+ * Instrumented pipeline entry points and the {@link Stage}s each records.
+ */
+public enum PipelineOperation {
+    /** Dedup, segment, categorise and sort. */
+    PROCESS(List.of(Stage.DEDUP, Stage.PARTITION, Stage.SORT)),
+    /** Removal of FULLFULL cars above their segment median. */
+    FILTER(List.of(Stage.MEDIAN, Stage.FILTER));
+
+    private final List<Stage> stages;
+
+    PipelineOperation(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    public List<Stage> stages() {
+        return stages;
+    }
+}
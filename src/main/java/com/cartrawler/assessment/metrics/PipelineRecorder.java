@@ -0,0 +1,12 @@
+package com.cartrawler.assessment.metrics;
+
+/**
+ * Receives every finished {@link PipelineRun} while installed with
+ * {@link PipelineMetrics#install(PipelineRecorder)}. Called on the thread
+ * that ran the pipeline, so implementations must be thread-safe and cheap.
+ */
+@FunctionalInterface
+public interface PipelineRecorder {
+
+    void record(PipelineRun run);
+}
@@ -0,0 +1,111 @@
+package com.cartrawler.assessment.metrics;
+
+import lombok.Getter;
+
+/**
+ * Stage timings and allocation of one pipeline invocation, started with
+ * {@link PipelineMetrics#start(PipelineOperation)}.
+ * <p>
+ * The pipeline calls {@link #stage(Stage)} as each stage completes, which
+ * charges the time since the previous mark to that stage, and
+ * {@link #finish(int, int)} at the end, which hands the run to the installed
+ * {@link PipelineRecorder} and commits a {@link PipelineRunEvent}. Allocated
+ * bytes cover the calling thread only, so work forked to a pool is timed
+ * but its allocations are not counted. When instrumentation is disabled the
+ * {@link #DISABLED} run ignores every call without reading the clock.
+ * <p>
+ * A run belongs to the thread that started it and is not thread-safe.
+ */
+public final class PipelineRun {
+
+    /** The run handed out while instrumentation is disabled; every call is a no-op. */
+    public static final PipelineRun DISABLED = new PipelineRun(null, null);
+
+    @Getter
+    private final PipelineOperation operation;
+    private final PipelineRecorder recorder;
+    private final PipelineRunEvent event;
+    private final long[] stageNanos = new long[Stage.values().length];
+    private final long startNanos;
+    private final long startAllocatedBytes;
+    private long markNanos;
+    @Getter
+    private long totalNanos;
+    /** Bytes allocated by the calling thread during the run; {@code -1} when the JVM does not measure it. */
+    @Getter
+    private long allocatedBytes = -1;
+    @Getter
+    private int inputSize;
+    @Getter
+    private int outputSize;
+
+    PipelineRun(PipelineOperation operation, PipelineRecorder recorder) {
+        this.operation = operation;
+        this.recorder = recorder;
+        if (recorder == null) {
+            this.event = null;
+            this.startNanos = 0;
+            this.startAllocatedBytes = -1;
+            return;
+        }
+        this.event = new PipelineRunEvent();
+        event.begin();
+        this.startAllocatedBytes = ThreadAllocation.currentThreadAllocatedBytes();
+        this.startNanos = System.nanoTime();
+        this.markNanos = startNanos;
+    }
+
+    public boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * Charges the time since the previous stage (or the start) to {@code stage};
+     * a stage marked more than once accumulates.
+     */
+    public void stage(Stage stage) {
+        if (recorder == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        stageNanos[stage.ordinal()] += now - markNanos;
+        markNanos = now;
+    }
+
+    /**
+     * Completes the run and publishes it; call once, after the last stage.
+     */
+    public void finish(int inputSize, int outputSize) {
+        if (recorder == null) {
+            return;
+        }
+        this.totalNanos = System.nanoTime() - startNanos;
+        long allocated = ThreadAllocation.currentThreadAllocatedBytes();
+        this.allocatedBytes = startAllocatedBytes < 0 || allocated < 0 ? -1 : allocated - startAllocatedBytes;
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        recorder.record(this);
+        commit();
+    }
+
+    public long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    private void commit() {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.operation = operation.name();
+        event.inputSize = inputSize;
+        event.outputSize = outputSize;
+        event.dedup = getStageNanos(Stage.DEDUP);
+        event.partition = getStageNanos(Stage.PARTITION);
+        event.sort = getStageNanos(Stage.SORT);
+        event.median = getStageNanos(Stage.MEDIAN);
+        event.filter = getStageNanos(Stage.FILTER);
+        event.allocated = Math.max(0, allocatedBytes);
+        event.commit();
+    }
+}
@@ -0,0 +1,60 @@
+package com.cartrawler.assessment.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event committed for every instrumented {@link PipelineRun}, so runs
+ * line up with GC, safepoint and allocation events in a flight recording:
+ * <pre>
+ * java -XX:StartFlightRecording=filename=pipeline.jfr ...
+ * jfr print --events com.cartrawler.PipelineRun pipeline.jfr
+ * </pre>
+ * Stages the operation does not have are reported as zero.
+ */
+@Name("com.cartrawler.PipelineRun")
+@Label("Pipeline Run")
+@Category({"CarTrawler", "Pipeline"})
+@Description("One run of the car result processing pipeline, broken down by stage")
+@StackTrace(false)
+class PipelineRunEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Input Size")
+    int inputSize;
+
+    @Label("Output Size")
+    int outputSize;
+
+    @Label("Dedup")
+    @Timespan
+    long dedup;
+
+    @Label("Partition")
+    @Timespan
+    long partition;
+
+    @Label("Sort")
+    @Timespan
+    long sort;
+
+    @Label("Median")
+    @Timespan
+    long median;
+
+    @Label("Filter")
+    @Timespan
+    long filter;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
@@ -0,0 +1,55 @@
+package com.cartrawler.assessment.metrics;
+
+import com.cartrawler.assessment.cache.ResultCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the counters of a {@link ResultCache} to Micrometer, and through
+ * Actuator's {@code metrics} endpoint:
+ * <ul>
+ *     <li>{@value #GETS}, tagged with {@code result} {@code hit} or
+ *     {@code miss}, for cache lookups;</li>
+ *     <li>{@value #EVICTIONS} for entries dropped by the size bound;</li>
+ *     <li>{@value #EXPIRATIONS} for entries dropped after their time to live;</li>
+ *     <li>{@value #SIZE} for the current number of entries.</li>
+ * </ul>
+ * The meters read the cache's own counters when they are published, so
+ * lookups pay nothing extra.
+ */
+public final class ResultCacheMetrics implements MeterBinder {
+
+    public static final String GETS = "cartrawler.cache.gets";
+    public static final String EVICTIONS = "cartrawler.cache.evictions";
+    public static final String EXPIRATIONS = "cartrawler.cache.expirations";
+    public static final String SIZE = "cartrawler.cache.size";
+
+    private final ResultCache cache;
+
+    public ResultCacheMetrics(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(GETS, cache, c -> c.stats().getHitCount())
+                .description("Search-result cache lookups that found a live entry")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(GETS, cache, c -> c.stats().getMissCount())
+                .description("Search-result cache lookups that computed the result")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(EVICTIONS, cache, c -> c.stats().getEvictionCount())
+                .description("Search-result cache entries dropped by the size bound")
+                .register(registry);
+        FunctionCounter.builder(EXPIRATIONS, cache, c -> c.stats().getExpirationCount())
+                .description("Search-result cache entries dropped after their time to live")
+                .register(registry);
+        Gauge.builder(SIZE, cache, ResultCache::size)
+                .description("Entries in the search-result cache")
+                .register(registry);
+    }
+}
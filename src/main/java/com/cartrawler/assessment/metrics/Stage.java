@@ -0,0 +1,16 @@
+package com.cartrawler.assessment.metrics;
+
+/**
+ * Timed steps of a {@link PipelineRun}.
+ * <p>
+ * There is no separate categorise stage: the pipelines classify each
+ * surviving car into its (segment × category) bucket in the same pass that
+ * partitions it, so that time is part of {@link #PARTITION}.
+ */
+public enum Stage {
+    DEDUP,
+    PARTITION,
+    SORT,
+    MEDIAN,
+    FILTER
+}
@@ -0,0 +1,33 @@
+package com.cartrawler.assessment.metrics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bytes allocated by the current thread, from HotSpot's
+ * {@link com.sun.management.ThreadMXBean}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ThreadAllocation {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    /**
+     * @return the running total for the current thread, or {@code -1} when
+     * the JVM does not measure it
+     */
+    static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
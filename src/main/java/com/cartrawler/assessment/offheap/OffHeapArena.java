@@ -0,0 +1,148 @@
+package com.cartrawler.assessment.offheap;
+
+import com.cartrawler.assessment.car.CarResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owner of the native memory behind a group of {@link OfferSnapshot}s, so
+ * result sets kept for minutes (pagination, re-filtering) stay out of the
+ * Java heap and are freed at a known point rather than by an old-gen
+ * collection.
+ * <p>
+ * Memory comes from {@link ByteBuffer#allocateDirect(int)} and is released
+ * by {@link #close()}, which frees every snapshot of the arena at once.
+ * Readers ({@link OfferCursor}s and filters) register with the arena while
+ * they run: closing an arena that is being read only stops new readers,
+ * and the memory is freed when the last one finishes, so no reader ever
+ * sees freed memory. Using a snapshot after its arena is closed throws
+ * {@link IllegalStateException}. Thread-safe.
+ */
+@Slf4j
+public final class OffHeapArena implements AutoCloseable {
+
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private long allocatedBytes;
+    private int readers;
+    private boolean closed;
+
+    public static OffHeapArena create() {
+        return new OffHeapArena();
+    }
+
+    /**
+     * Copies {@code cars}, in order, into a new snapshot owned by this arena.
+     */
+    public OfferSnapshot store(List<CarResult> cars) {
+        return OfferSnapshot.copyOf(this, cars);
+    }
+
+    public synchronized boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * @return native bytes held by the arena's snapshots, zero once freed
+     */
+    public synchronized long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Frees all snapshots of the arena, immediately or when the last active
+     * reader finishes. Idempotent.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (readers == 0) {
+            free();
+        }
+    }
+
+    synchronized ByteBuffer allocate(int bytes) {
+        checkOpen();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        buffers.add(buffer);
+        allocatedBytes += bytes;
+        return buffer;
+    }
+
+    /**
+     * Frees one buffer of a snapshot that was never completed.
+     */
+    synchronized void discard(ByteBuffer buffer) {
+        // ByteBuffer.equals compares contents
+        if (buffers.removeIf(allocated -> allocated == buffer)) {
+            allocatedBytes -= buffer.capacity();
+            clean(buffer);
+        }
+    }
+
+    synchronized void acquire() {
+        checkOpen();
+        readers++;
+    }
+
+    synchronized void release() {
+        readers--;
+        if (closed && readers == 0) {
+            free();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off-heap arena is closed");
+        }
+    }
+
+    private void free() {
+        for (ByteBuffer buffer : buffers) {
+            clean(buffer);
+        }
+        buffers.clear();
+        allocatedBytes = 0;
+    }
+
+    private static void clean(ByteBuffer buffer) {
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not free off-heap buffer", e);
+            }
+        }
+    }
+
+    /**
+     * {@code Unsafe.invokeCleaner}, the supported way to free a direct
+     * buffer before it is garbage collected; without it the memory is
+     * reclaimed with the buffer objects.
+     */
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.atWarn()
+                    .setCause(e)
+                    .log("Off-heap buffers will be freed by the garbage collector");
+            return null;
+        }
+    }
+}
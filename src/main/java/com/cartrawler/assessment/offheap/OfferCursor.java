@@ -0,0 +1,169 @@
+package com.cartrawler.assessment.offheap;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.enums.Category;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+
+import java.nio.ByteBuffer;
+
+import static com.cartrawler.assessment.offheap.OfferSnapshot.BUCKET;
+import static com.cartrawler.assessment.offheap.OfferSnapshot.COST;
+import static com.cartrawler.assessment.offheap.OfferSnapshot.DESCRIPTION;
+import static com.cartrawler.assessment.offheap.OfferSnapshot.FUEL;
+import static com.cartrawler.assessment.offheap.OfferSnapshot.SIPP;
+import static com.cartrawler.assessment.offheap.OfferSnapshot.SUPPLIER;
+
+/**
+ * Flyweight over the offers of an {@link OfferSnapshot}: {@link #next()}
+ * moves to the next offer and the accessors decode its fields straight
+ * from native memory, so iterating creates no objects. Strings come from
+ * the snapshot's dictionaries and are shared.
+ * <p>
+ * An open cursor keeps its arena's memory alive, so always close it, e.g.
+ * with try-with-resources. Not thread-safe.
+ */
+public final class OfferCursor implements AutoCloseable {
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final CarResult.FuelPolicy[] FUEL_POLICIES = CarResult.FuelPolicy.values();
+
+    private final OfferSnapshot snapshot;
+    /** Rows to visit, or {@code null} for all rows in order. */
+    private final int[] rows;
+    private final int count;
+    private int index = -1;
+    private int row = -1;
+    /** Segment of the current offer; {@code null} when not on an offer. */
+    private ByteBuffer segment;
+    private int offset;
+    private boolean closed;
+
+    OfferCursor(OfferSnapshot snapshot, int[] rows, int count) {
+        snapshot.arena().acquire();
+        this.snapshot = snapshot;
+        this.rows = rows;
+        this.count = count;
+    }
+
+    /**
+     * @return the number of offers the cursor visits
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Moves to the next offer.
+     *
+     * @return {@code false} once all offers were visited
+     */
+    public boolean next() {
+        if (closed) {
+            throw new IllegalStateException("Cursor is closed");
+        }
+        if (index + 1 >= count) {
+            index = count;
+            segment = null;
+            return false;
+        }
+        index++;
+        row = rows == null ? index : rows[index];
+        segment = snapshot.segment(row);
+        offset = OfferSnapshot.offset(row);
+        return true;
+    }
+
+    /**
+     * Positions the cursor so that {@link #next()} moves to the offer at
+     * {@code index}, e.g. to the first offer of a page.
+     */
+    public void seek(int index) {
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+        }
+        this.index = index - 1;
+        this.segment = null;
+    }
+
+    /**
+     * @return the snapshot row of the current offer
+     */
+    public int row() {
+        current();
+        return row;
+    }
+
+    public double rentalCost() {
+        return current().getDouble(offset + COST);
+    }
+
+    public String description() {
+        return snapshot.description(current().getInt(offset + DESCRIPTION));
+    }
+
+    public String supplierName() {
+        return snapshot.supplierName(current().getInt(offset + SUPPLIER));
+    }
+
+    public String sippCode() {
+        return snapshot.sippCode(current().getInt(offset + SIPP));
+    }
+
+    public CarResult.FuelPolicy fuelPolicy() {
+        int code = current().get(offset + FUEL);
+        return code == 0 ? null : FUEL_POLICIES[code - 1];
+    }
+
+    public boolean isFullFull() {
+        return current().get(offset + FUEL) == CarResult.FuelPolicy.FULLFULL.ordinal() + 1;
+    }
+
+    /**
+     * @return the (segment × category) bucket, see {@link BucketedPipeline#bucketOf(CarResult)}
+     */
+    public int bucket() {
+        return current().get(offset + BUCKET);
+    }
+
+    public boolean isCorporate() {
+        return bucket() / BucketedPipeline.CATEGORIES == BucketedPipeline.CORPORATE;
+    }
+
+    public Category category() {
+        return CATEGORIES[bucket() % BucketedPipeline.CATEGORIES];
+    }
+
+    /**
+     * Materialises the current offer, for code that needs an object.
+     */
+    public CarResult toCarResult() {
+        return new CarResult(description(), supplierName(), sippCode(), rentalCost(), fuelPolicy());
+    }
+
+    /**
+     * Appends the current offer in the format of {@link CarResult#toString()}.
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        return out.append(supplierName()).append(" : ")
+                .append(description()).append(" : ")
+                .append(sippCode()).append(" : ")
+                .append(rentalCost()).append(" : ")
+                .append(fuelPolicy());
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            segment = null;
+            snapshot.arena().release();
+        }
+    }
+
+    private ByteBuffer current() {
+        if (segment == null) {
+            throw new IllegalStateException(closed ? "Cursor is closed" : "Cursor is not on an offer");
+        }
+        return segment;
+    }
+}
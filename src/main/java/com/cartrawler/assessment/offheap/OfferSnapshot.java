@@ -0,0 +1,208 @@
+package com.cartrawler.assessment.offheap;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import com.cartrawler.assessment.metrics.PipelineOperation;
+import com.cartrawler.assessment.metrics.PipelineRun;
+import com.cartrawler.assessment.metrics.Stage;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.util.QuickSelect;
+import com.cartrawler.assessment.util.StringDictionary;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable list of offers in native memory owned by an
+ * {@link OffHeapArena}, created with {@link OffHeapArena#store(List)}.
+ * <p>
+ * Every offer is a fixed-width {@value #RECORD_SIZE}-byte record: rental
+ * cost, dictionary ids of description, supplier and SIPP code, fuel policy
+ * and the (segment × category) bucket as numbered by
+ * {@link BucketedPipeline#bucketOf(CarResult)}, classified once when the
+ * snapshot is stored. The three string dictionaries stay on the heap and
+ * hold each distinct string once; the per-offer data, which is what grows
+ * with result size, does not. Records are kept in buffers of at most
+ * {@value #RECORDS_PER_SEGMENT} rows.
+ * <p>
+ * Offers are read through a flyweight {@link OfferCursor}, which decodes
+ * fields in place without creating a {@link CarResult} per row. Thread-safe;
+ * each reader uses its own cursor.
+ */
+public final class OfferSnapshot {
+
+    static final int RECORD_SIZE = 24;
+    static final int COST = 0;
+    static final int DESCRIPTION = 8;
+    static final int SUPPLIER = 12;
+    static final int SIPP = 16;
+    /** {@code 0} for no fuel policy, otherwise its ordinal plus one. */
+    static final int FUEL = 20;
+    static final int BUCKET = 21;
+
+    static final int RECORDS_PER_SEGMENT = 1 << 26;
+    static final int SEGMENT_SHIFT = 26;
+    static final int SEGMENT_MASK = RECORDS_PER_SEGMENT - 1;
+
+    private final OffHeapArena arena;
+    private final ByteBuffer[] segments;
+    private final int size;
+    private final String[] descriptions;
+    private final String[] suppliers;
+    private final String[] sippCodes;
+
+    private OfferSnapshot(OffHeapArena arena, ByteBuffer[] segments, int size,
+                          String[] descriptions, String[] suppliers, String[] sippCodes) {
+        this.arena = arena;
+        this.segments = segments;
+        this.size = size;
+        this.descriptions = descriptions;
+        this.suppliers = suppliers;
+        this.sippCodes = sippCodes;
+    }
+
+    /**
+     * Holds a reader registration while copying, so a concurrent
+     * {@link OffHeapArena#close()} cannot free the new buffers under it; if
+     * the copy fails, the buffers already allocated are freed.
+     */
+    static OfferSnapshot copyOf(OffHeapArena arena, List<CarResult> cars) {
+        int size = cars.size();
+        ByteBuffer[] segments = new ByteBuffer[(size + SEGMENT_MASK) >>> SEGMENT_SHIFT];
+        arena.acquire();
+        try {
+            for (int i = 0; i < segments.length; i++) {
+                int rows = Math.min(RECORDS_PER_SEGMENT, size - (i << SEGMENT_SHIFT));
+                segments[i] = arena.allocate(rows * RECORD_SIZE);
+            }
+            StringDictionary descriptions = new StringDictionary();
+            StringDictionary suppliers = new StringDictionary();
+            StringDictionary sippCodes = new StringDictionary();
+            for (int row = 0; row < size; row++) {
+                CarResult car = cars.get(row);
+                ByteBuffer segment = segments[row >>> SEGMENT_SHIFT];
+                int offset = (row & SEGMENT_MASK) * RECORD_SIZE;
+                segment.putDouble(offset + COST, car.getRentalCost());
+                segment.putInt(offset + DESCRIPTION, descriptions.encode(car.getDescription()));
+                segment.putInt(offset + SUPPLIER, suppliers.encode(car.getSupplierName()));
+                segment.putInt(offset + SIPP, sippCodes.encode(car.getSippCode()));
+                segment.put(offset + FUEL, (byte) (car.getFuelPolicy() == null ? 0 : car.getFuelPolicy().ordinal() + 1));
+                segment.put(offset + BUCKET, (byte) BucketedPipeline.bucketOf(car));
+            }
+            return new OfferSnapshot(arena, segments, size,
+                    descriptions.toArray(), suppliers.toArray(), sippCodes.toArray());
+        } catch (RuntimeException | Error e) {
+            for (ByteBuffer segment : segments) {
+                if (segment != null) {
+                    arena.discard(segment);
+                }
+            }
+            throw e;
+        } finally {
+            arena.release();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public OffHeapArena arena() {
+        return arena;
+    }
+
+    /**
+     * A cursor over all offers in order; close it when done.
+     */
+    public OfferCursor cursor() {
+        return new OfferCursor(this, null, size);
+    }
+
+    /**
+     * A cursor over the given rows, in the given order, such as the output
+     * of {@link #filterFullAboveMedianPrice()}; close it when done.
+     */
+    public OfferCursor cursor(int[] rows) {
+        for (int row : rows) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row " + row + " out of bounds for length " + size);
+            }
+        }
+        return new OfferCursor(this, rows, rows.length);
+    }
+
+    /**
+     * Removes FULLFULL offers priced strictly above the median of their
+     * segment, computed over the whole snapshot.
+     *
+     * @return the rows that are kept, in snapshot order
+     */
+    public int[] filterFullAboveMedianPrice() {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.FILTER);
+        arena.acquire();
+        try {
+            double[] costs = new double[size];
+            int corporateEnd = 0;
+            int nonCorporateStart = size;
+            for (int row = 0; row < size; row++) {
+                costs[isCorporate(row) ? corporateEnd++ : --nonCorporateStart] = cost(row);
+            }
+            double medianCorporate = corporateEnd == 0
+                    ? Double.POSITIVE_INFINITY
+                    : QuickSelect.median(costs, 0, corporateEnd);
+            double medianNonCorporate = nonCorporateStart == size
+                    ? Double.POSITIVE_INFINITY
+                    : QuickSelect.median(costs, nonCorporateStart, size);
+            run.stage(Stage.MEDIAN);
+
+            int fullFull = CarResult.FuelPolicy.FULLFULL.ordinal() + 1;
+            int[] kept = new int[size];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                double threshold = isCorporate(row) ? medianCorporate : medianNonCorporate;
+                if (!(fuel(row) == fullFull && cost(row) > threshold)) {
+                    kept[count++] = row;
+                }
+            }
+            int[] result = Arrays.copyOf(kept, count);
+            run.stage(Stage.FILTER);
+            run.finish(size, count);
+            return result;
+        } finally {
+            arena.release();
+        }
+    }
+
+    ByteBuffer segment(int row) {
+        return segments[row >>> SEGMENT_SHIFT];
+    }
+
+    static int offset(int row) {
+        return (row & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    String description(int id) {
+        return descriptions[id];
+    }
+
+    String supplierName(int id) {
+        return suppliers[id];
+    }
+
+    String sippCode(int id) {
+        return sippCodes[id];
+    }
+
+    private double cost(int row) {
+        return segment(row).getDouble(offset(row) + COST);
+    }
+
+    private int fuel(int row) {
+        return segment(row).get(offset(row) + FUEL);
+    }
+
+    private boolean isCorporate(int row) {
+        return segment(row).get(offset(row) + BUCKET) / BucketedPipeline.CATEGORIES == BucketedPipeline.CORPORATE;
+    }
+}
@@ -0,0 +1,84 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.dedup.Deduplicator;
+import com.cartrawler.assessment.enums.Category;
+import com.cartrawler.assessment.enums.Supplier;
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import com.cartrawler.assessment.metrics.Stage;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass processing engine.
+ * <p>
+ * Every car is deduplicated and classified exactly once into one of
+ * {@link #BUCKETS} (segment × category) buckets, each bucket is sorted once
+ * by rental cost and the buckets are concatenated in segment/category order;
+ * see {@link PipelineContext} for the allocation-free implementation.
+ * The output order is identical to the original multi-scan implementation:
+ * corporate before non-corporate, {@link Category} declaration order within
+ * a segment and a stable ascending cost sort within a category.
+ * <p>
+ * Runs are instrumented per {@link Stage} when {@link PipelineMetrics} is
+ * enabled.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BucketedPipeline {
+
+    public static final int SEGMENTS = 2;
+    public static final int CATEGORIES = Category.values().length;
+    public static final int BUCKETS = SEGMENTS * CATEGORIES;
+
+    /** Segment index of corporate suppliers; they are emitted first. */
+    public static final int CORPORATE = 0;
+    public static final int NON_CORPORATE = 1;
+
+    public static List<CarResult> process(List<CarResult> cars) {
+        return run(cars).getCars();
+    }
+
+    /**
+     * Processes the cars and keeps track of where the corporate segment ends.
+     * Scratch space comes from a pooled {@link PipelineContext}, so a warm
+     * run allocates only the output list.
+     */
+    public static SegmentedCars run(List<CarResult> cars) {
+        List<CarResult> result = new ArrayList<>();
+        try (PipelineContext context = PipelineContext.acquire()) {
+            int corporateCount = context.process(cars, result);
+            return new SegmentedCars(result, corporateCount);
+        }
+    }
+
+    /**
+     * Deduplicates the cars, keeping the first occurrence of each, and
+     * classifies the survivors into buckets that keep their input order.
+     */
+    static List<List<CarResult>> bucket(List<CarResult> cars) {
+        List<List<CarResult>> buckets = new ArrayList<>(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        Deduplicator deduplicator = new Deduplicator();
+        deduplicator.dedup(cars);
+        for (int i = 0; i < cars.size(); i++) {
+            if (deduplicator.survives(i)) {
+                CarResult car = cars.get(i);
+                buckets.get(bucketOf(car)).add(car);
+            }
+        }
+        return buckets;
+    }
+
+    public static int bucketOf(CarResult car) {
+        return segmentOf(car) * CATEGORIES + car.getCategory().ordinal();
+    }
+
+    public static int segmentOf(CarResult car) {
+        return Supplier.isCorporate(car.getSupplierName()) ? CORPORATE : NON_CORPORATE;
+    }
+}
@@ -0,0 +1,260 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.dedup.Deduplicator;
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import com.cartrawler.assessment.metrics.PipelineOperation;
+import com.cartrawler.assessment.metrics.PipelineRun;
+import com.cartrawler.assessment.metrics.Stage;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Fork-join variant of {@link BucketedPipeline} for very large inputs.
+ * <p>
+ * The input is split into contiguous chunks:
+ * <ol>
+ *     <li>each chunk deduplicates locally and routes its first occurrences
+ *     to a hash partition of the dedup key, so all copies of a car meet in
+ *     the same partition;</li>
+ *     <li>each partition walks its candidates in original index order and
+ *     keeps the first one, which is therefore the global first occurrence;</li>
+ *     <li>each chunk classifies its survivors into (segment × category)
+ *     buckets;</li>
+ *     <li>every bucket is assembled in chunk order and sorted in its own
+ *     task; buckets above {@value #SORT_THRESHOLD} cars, which is where most
+ *     cars usually end up, are split into a stable fork-join merge sort.</li>
+ * </ol>
+ * The output is identical to the sequential pipeline, including the input
+ * order of equal rental costs. Inputs smaller than the threshold use the
+ * sequential pipeline. All work runs on the given pool, not the common
+ * pool. Stage timings include the forked work, but allocations are only
+ * counted on the calling thread.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ParallelPipeline {
+
+    public static final int DEFAULT_THRESHOLD = 1 << 15;
+
+    static final int SORT_THRESHOLD = 1 << 13;
+
+    private static final Comparator<CarResult> BY_COST = Comparator.comparingDouble(CarResult::getRentalCost);
+
+    public static List<CarResult> process(List<CarResult> cars) {
+        return process(cars, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public static List<CarResult> process(List<CarResult> cars, ForkJoinPool pool, int threshold) {
+        int size = cars.size();
+        if (size < threshold || pool.getParallelism() < 2) {
+            return BucketedPipeline.process(cars);
+        }
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.PROCESS);
+        int maxChunks = Math.min(pool.getParallelism() * 4, Math.max(2, size / Math.max(1, threshold / 4)));
+        int chunkSize = (size + maxChunks - 1) / maxChunks;
+        int chunkCount = (size + chunkSize - 1) / chunkSize;
+        int partitionCount = Integer.highestOneBit(pool.getParallelism() * 4 - 1) << 1;
+
+        // 1. chunk-local dedup, routing first occurrences to key partitions
+        int[][][] candidates = new int[chunkCount][][];
+        forkJoin(pool, chunkCount, chunk -> {
+            int from = chunk * chunkSize;
+            int to = Math.min(size, from + chunkSize);
+            candidates[chunk] = routeLocalSurvivors(cars, from, to, partitionCount);
+        });
+
+        // 2. global first occurrence per partition, scanning chunks in order
+        boolean[] survives = new boolean[size];
+        forkJoin(pool, partitionCount, partition -> {
+            int total = 0;
+            for (int[][] chunk : candidates) {
+                total += chunk[partition].length;
+            }
+            int[] indices = new int[total];
+            int offset = 0;
+            for (int[][] chunk : candidates) {
+                System.arraycopy(chunk[partition], 0, indices, offset, chunk[partition].length);
+                offset += chunk[partition].length;
+            }
+            Deduplicator deduplicator = new Deduplicator();
+            deduplicator.dedup(new IndexedView(cars, indices, total));
+            for (int i = 0; i < total; i++) {
+                if (deduplicator.survives(i)) {
+                    survives[indices[i]] = true;
+                }
+            }
+        });
+        run.stage(Stage.DEDUP);
+
+        // 3. chunk-local bucketing of survivors
+        int[][][] chunkBuckets = new int[chunkCount][][];
+        forkJoin(pool, chunkCount, chunk -> {
+            int from = chunk * chunkSize;
+            int to = Math.min(size, from + chunkSize);
+            chunkBuckets[chunk] = bucketSurvivors(cars, survives, from, to);
+        });
+        run.stage(Stage.PARTITION);
+
+        // 4. assemble each bucket in chunk order and sort it
+        CarResult[][] sorted = new CarResult[BucketedPipeline.BUCKETS][];
+        forkJoin(pool, BucketedPipeline.BUCKETS, bucket -> {
+            int total = 0;
+            for (int[][] chunk : chunkBuckets) {
+                total += chunk[bucket].length;
+            }
+            CarResult[] bucketCars = new CarResult[total];
+            int offset = 0;
+            for (int[][] chunk : chunkBuckets) {
+                for (int index : chunk[bucket]) {
+                    bucketCars[offset++] = cars.get(index);
+                }
+            }
+            new MergeSort(bucketCars, new CarResult[total], 0, total).invoke();
+            sorted[bucket] = bucketCars;
+        });
+        List<CarResult> result = new ArrayList<>(size);
+        for (CarResult[] bucketCars : sorted) {
+            result.addAll(Arrays.asList(bucketCars));
+        }
+        run.stage(Stage.SORT);
+        run.finish(size, result.size());
+        return result;
+    }
+
+    private static int[][] routeLocalSurvivors(List<CarResult> cars, int from, int to, int partitionCount) {
+        List<CarResult> chunk = cars.subList(from, to);
+        Deduplicator deduplicator = new Deduplicator();
+        deduplicator.dedup(chunk);
+        int[] partitions = new int[to - from];
+        int[] counts = new int[partitionCount];
+        for (int i = 0; i < partitions.length; i++) {
+            if (deduplicator.survives(i)) {
+                partitions[i] = (int) (Deduplicator.key(chunk.get(i)) >>> 32) & (partitionCount - 1);
+                counts[partitions[i]]++;
+            } else {
+                partitions[i] = -1;
+            }
+        }
+        int[][] routed = new int[partitionCount][];
+        for (int p = 0; p < partitionCount; p++) {
+            routed[p] = new int[counts[p]];
+            counts[p] = 0;
+        }
+        for (int i = 0; i < partitions.length; i++) {
+            int p = partitions[i];
+            if (p >= 0) {
+                routed[p][counts[p]++] = from + i;
+            }
+        }
+        return routed;
+    }
+
+    private static int[][] bucketSurvivors(List<CarResult> cars, boolean[] survives, int from, int to) {
+        int[] buckets = new int[to - from];
+        int[] counts = new int[BucketedPipeline.BUCKETS];
+        for (int i = from; i < to; i++) {
+            if (survives[i]) {
+                buckets[i - from] = BucketedPipeline.bucketOf(cars.get(i));
+                counts[buckets[i - from]]++;
+            }
+        }
+        int[][] result = new int[BucketedPipeline.BUCKETS][];
+        for (int b = 0; b < result.length; b++) {
+            result[b] = new int[counts[b]];
+            counts[b] = 0;
+        }
+        for (int i = from; i < to; i++) {
+            if (survives[i]) {
+                int b = buckets[i - from];
+                result[b][counts[b]++] = i;
+            }
+        }
+        return result;
+    }
+
+    private static void forkJoin(ForkJoinPool pool, int tasks, IntConsumer body) {
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            List<ForkJoinTask<?>> forks = new ArrayList<>(tasks);
+            for (int t = 0; t < tasks; t++) {
+                int task = t;
+                forks.add(ForkJoinTask.adapt(() -> body.accept(task)));
+            }
+            ForkJoinTask.invokeAll(forks);
+        }));
+    }
+
+    /**
+     * Stable merge sort by rental cost: ranges above {@link #SORT_THRESHOLD}
+     * sort their halves as subtasks in the current pool and merge them.
+     */
+    private static final class MergeSort extends RecursiveAction {
+        private final CarResult[] cars;
+        private final CarResult[] buffer;
+        private final int from;
+        private final int to;
+
+        private MergeSort(CarResult[] cars, CarResult[] buffer, int from, int to) {
+            this.cars = cars;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SORT_THRESHOLD) {
+                Arrays.sort(cars, from, to, BY_COST);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeSort(cars, buffer, from, mid), new MergeSort(cars, buffer, mid, to));
+            if (BY_COST.compare(cars[mid - 1], cars[mid]) <= 0) {
+                return;
+            }
+            // on equal costs the left half goes first, which keeps the sort stable
+            int left = from;
+            int right = mid;
+            int out = from;
+            while (left < mid && right < to) {
+                buffer[out++] = BY_COST.compare(cars[right], cars[left]) < 0 ? cars[right++] : cars[left++];
+            }
+            System.arraycopy(cars, left, buffer, out, mid - left);
+            out += mid - left;
+            System.arraycopy(buffer, from, cars, from, out - from);
+        }
+    }
+
+    /** The cars at the given indices, as a list for {@link Deduplicator}. */
+    private static final class IndexedView extends AbstractList<CarResult> implements RandomAccess {
+        private final List<CarResult> cars;
+        private final int[] indices;
+        private final int size;
+
+        private IndexedView(List<CarResult> cars, int[] indices, int size) {
+            this.cars = cars;
+            this.indices = indices;
+            this.size = size;
+        }
+
+        @Override
+        public CarResult get(int index) {
+            return cars.get(indices[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.dedup.Deduplicator;
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import com.cartrawler.assessment.metrics.PipelineOperation;
+import com.cartrawler.assessment.metrics.PipelineRun;
+import com.cartrawler.assessment.metrics.Stage;
+import com.cartrawler.assessment.util.IndexSort;
+import com.cartrawler.assessment.util.QuickSelect;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.BUCKETS;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CATEGORIES;
+
+/**
+ * Reusable scratch space for the {@link BucketedPipeline}: a
+ * {@link Deduplicator}, primitive per-row arrays (bucket, cost, row order
+ * and a merge buffer) and the bucket offsets. The arrays grow to the
+ * largest input seen and are then reused, so once a context is warm,
+ * {@link #process(List, List)} and
+ * {@link #filterFullAboveMedianPrice(List, int, List)} allocate nothing but
+ * the growth of the caller's output list.
+ * <p>
+ * Buckets are laid out with a counting sort of row indices and sorted by
+ * cost with {@link IndexSort}, which is stable like the comparator sort it
+ * replaces, so the output is identical to {@link BucketedPipeline#run(List)}.
+ * <p>
+ * Contexts are pooled rather than thread-local, since searches run on
+ * short-lived virtual threads: {@link #acquire()} takes one from a small
+ * shared pool and {@link #close()} returns it. Contexts that grew beyond
+ * {@value #MAX_POOLED_ROWS} rows are dropped on close so a single huge
+ * input does not stay pinned in the pool. A context is not thread-safe.
+ */
+@Slf4j
+public final class PipelineContext implements AutoCloseable {
+
+    static final int MAX_POOLED_ROWS = 1 << 16;
+
+    private static final ArrayBlockingQueue<PipelineContext> POOL =
+            new ArrayBlockingQueue<>(2 * Runtime.getRuntime().availableProcessors());
+
+    private final Deduplicator deduplicator = new Deduplicator();
+    private final int[] starts = new int[BUCKETS + 1];
+    private int[] bucketOf = new int[0];
+    private double[] costs = new double[0];
+    private int[] rows = new int[0];
+    private int[] buffer = new int[0];
+    private boolean released;
+
+    private PipelineContext() {
+    }
+
+    /**
+     * @return a pooled context, or a new one when the pool is empty
+     */
+    public static PipelineContext acquire() {
+        PipelineContext context = POOL.poll();
+        if (context == null) {
+            return new PipelineContext();
+        }
+        context.released = false;
+        return context;
+    }
+
+    /**
+     * Deduplicates, buckets and sorts {@code cars} into {@code out}, which
+     * is cleared first; an {@link ArrayList} is sized once to the number of
+     * survivors.
+     *
+     * @return the number of corporate cars at the head of {@code out}
+     */
+    public int process(List<CarResult> cars, List<CarResult> out) {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.PROCESS);
+        int survivors = sort(cars, run);
+        out.clear();
+        if (out instanceof ArrayList<CarResult> list) {
+            list.ensureCapacity(survivors);
+        }
+        for (int i = 0; i < survivors; i++) {
+            out.add(cars.get(rows[i]));
+        }
+        run.stage(Stage.SORT);
+        run.finish(cars.size(), survivors);
+        return starts[CATEGORIES - 1];
+    }
+
+    /**
+     * Same as {@link #process(List, List)} for callers that keep the cars
+     * themselves, such as a shard answering with positions only: writes the
+     * input indices of the survivors in output order to {@code rows}, and
+     * where every bucket starts, followed by the end of the last one, to
+     * {@code bucketStarts}.
+     *
+     * @param rows at least {@code cars.size()} long
+     * @param bucketStarts at least {@code BUCKETS + 1} long
+     * @return the number of survivors
+     */
+    public int sortRows(List<CarResult> cars, int[] rows, int[] bucketStarts) {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.PROCESS);
+        int survivors = sort(cars, run);
+        System.arraycopy(this.rows, 0, rows, 0, survivors);
+        bucketStarts[0] = 0;
+        System.arraycopy(starts, 0, bucketStarts, 1, BUCKETS);
+        run.stage(Stage.SORT);
+        run.finish(cars.size(), survivors);
+        return survivors;
+    }
+
+    /**
+     * Leaves the survivors' input indices in output order in {@code rows}
+     * and the end of every bucket in {@code starts}.
+     *
+     * @return the number of survivors
+     */
+    private int sort(List<CarResult> cars, PipelineRun run) {
+        int size = cars.size();
+        ensureCapacity(size);
+        int survivors = deduplicator.dedup(cars);
+        run.stage(Stage.DEDUP);
+
+        Arrays.fill(starts, 0);
+        for (int i = 0; i < size; i++) {
+            if (deduplicator.survives(i)) {
+                CarResult car = cars.get(i);
+                int bucket = BucketedPipeline.bucketOf(car);
+                bucketOf[i] = bucket;
+                costs[i] = car.getRentalCost();
+                starts[bucket + 1]++;
+            }
+        }
+        for (int b = 0; b < BUCKETS; b++) {
+            starts[b + 1] += starts[b];
+        }
+        // starts[b] doubles as the write cursor of bucket b and ends up at its end
+        for (int i = 0; i < size; i++) {
+            if (deduplicator.survives(i)) {
+                rows[starts[bucketOf[i]]++] = i;
+            }
+        }
+        run.stage(Stage.PARTITION);
+
+        int from = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            IndexSort.sortByKey(rows, from, starts[b], costs, buffer);
+            from = starts[b];
+        }
+        return survivors;
+    }
+
+    /**
+     * Writes the cars of an already segmented list (such as the output of
+     * {@link #process(List, List)}) into {@code out}, which is cleared
+     * first, without the FULLFULL cars priced strictly above their segment
+     * median. Skipped cars are logged at debug level only, since formatting
+     * them would allocate.
+     *
+     * @see com.cartrawler.assessment.util.CarsUtils#filterFullAboveMedianPrice(List, int)
+     */
+    public int filterFullAboveMedianPrice(List<CarResult> cars, int corporateCount, List<CarResult> out) {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.FILTER);
+        int size = cars.size();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            costs[i] = cars.get(i).getRentalCost();
+        }
+        double medianCorporate = segmentMedian(0, corporateCount);
+        double medianNonCorporate = segmentMedian(corporateCount, size);
+        run.stage(Stage.MEDIAN);
+
+        out.clear();
+        if (out instanceof ArrayList<CarResult> list) {
+            list.ensureCapacity(size);
+        }
+        for (int i = 0; i < size; i++) {
+            CarResult car = cars.get(i);
+            double threshold = i < corporateCount ? medianCorporate : medianNonCorporate;
+            if (car.getFuelPolicy() == CarResult.FuelPolicy.FULLFULL && car.getRentalCost() > threshold) {
+                if (log.isDebugEnabled()) {
+                    log.debug("{} will be skipped", car);
+                }
+            } else {
+                out.add(car);
+            }
+        }
+        run.stage(Stage.FILTER);
+        run.finish(size, out.size());
+        return out.size();
+    }
+
+    /**
+     * Returns the context to the pool; it must not be used afterwards.
+     * Closing it again does nothing, so it is never pooled twice.
+     */
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        released = true;
+        if (costs.length <= MAX_POOLED_ROWS) {
+            POOL.offer(this);
+        }
+    }
+
+    private double segmentMedian(int from, int to) {
+        return from == to ? Double.POSITIVE_INFINITY : QuickSelect.median(costs, from, to);
+    }
+
+    private void ensureCapacity(int size) {
+        if (costs.length < size) {
+            int capacity = Math.max(size, costs.length + (costs.length >> 1));
+            bucketOf = new int[capacity];
+            costs = new double[capacity];
+            rows = new int[capacity];
+            buffer = new int[capacity];
+        }
+    }
+}
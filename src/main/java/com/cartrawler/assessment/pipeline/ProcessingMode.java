@@ -0,0 +1,14 @@
+package com.cartrawler.assessment.pipeline;
+
+/**
+ * How {@code AssessmentRunner.process} executes the pipeline.
+ */
+public enum ProcessingMode {
+    /** Single-threaded {@link BucketedPipeline}. */
+    SEQUENTIAL,
+    /**
+     * {@link ParallelPipeline} on the common fork-join pool; inputs below its
+     * threshold still run sequentially.
+     */
+    PARALLEL
+}
@@ -0,0 +1,256 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Paginated and top-K access to the processed order without sorting the
+ * whole result.
+ * <p>
+ * Building a query deduplicates and buckets the cars exactly as
+ * {@link BucketedPipeline} does, in O(n), but leaves every bucket unsorted.
+ * {@link #topK(int, int)} and {@link #page(int, int)} select only the
+ * requested prefix of a bucket with a bounded max-heap, in
+ * O(n<sub>bucket</sub> log K), and a {@link Cursor} heapifies each bucket
+ * once when it first reaches it and then pops one car at a time, so later
+ * pages never re-sort earlier ones.
+ * <p>
+ * Ties in cost keep their input order, so any page equals the same slice of
+ * {@link BucketedPipeline#process(List)}. A query is immutable and can be
+ * shared; each cursor is single-threaded.
+ */
+public final class ResultQuery {
+
+    private final CarResult[][] cars = new CarResult[BucketedPipeline.BUCKETS][];
+    private final double[][] costs = new double[BucketedPipeline.BUCKETS][];
+    private final int size;
+
+    private ResultQuery(List<List<CarResult>> buckets) {
+        int total = 0;
+        for (int bucket = 0; bucket < BucketedPipeline.BUCKETS; bucket++) {
+            List<CarResult> list = buckets.get(bucket);
+            cars[bucket] = list.toArray(new CarResult[0]);
+            costs[bucket] = new double[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                costs[bucket][i] = list.get(i).getRentalCost();
+            }
+            total += list.size();
+        }
+        this.size = total;
+    }
+
+    public static ResultQuery of(List<CarResult> cars) {
+        return new ResultQuery(BucketedPipeline.bucket(cars));
+    }
+
+    /**
+     * @return the number of distinct cars
+     */
+    public int size() {
+        return size;
+    }
+
+    public int bucketSize(int bucket) {
+        return cars[bucket].length;
+    }
+
+    /**
+     * @return the {@code k} cheapest cars of a bucket in processed order
+     */
+    public List<CarResult> topK(int bucket, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K must not be negative: " + k);
+        }
+        int[] rows = select(bucket, Math.min(k, cars[bucket].length));
+        return toList(bucket, rows, 0, rows.length);
+    }
+
+    /**
+     * @return the {@code k} cheapest cars of every bucket, indexed by bucket
+     */
+    public List<List<CarResult>> topK(int k) {
+        List<List<CarResult>> result = new ArrayList<>(BucketedPipeline.BUCKETS);
+        for (int bucket = 0; bucket < BucketedPipeline.BUCKETS; bucket++) {
+            result.add(topK(bucket, k));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @param page     zero-based page number
+     * @param pageSize cars per page
+     * @return the cars at positions {@code [page·pageSize, (page+1)·pageSize)}
+     * of the processed order; shorter or empty past the end
+     */
+    public List<CarResult> page(int page, int pageSize) {
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Invalid page " + page + " of size " + pageSize);
+        }
+        long from = (long) page * pageSize;
+        long to = Math.min(from + pageSize, size);
+        List<CarResult> result = new ArrayList<>((int) Math.max(0, to - from));
+        long bucketStart = 0;
+        for (int bucket = 0; bucket < BucketedPipeline.BUCKETS && bucketStart < to; bucket++) {
+            long bucketEnd = bucketStart + cars[bucket].length;
+            if (bucketEnd > from) {
+                int lo = (int) (Math.max(from, bucketStart) - bucketStart);
+                int hi = (int) (Math.min(to, bucketEnd) - bucketStart);
+                int[] rows = select(bucket, hi);
+                result.addAll(toList(bucket, rows, lo, hi));
+            }
+            bucketStart = bucketEnd;
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @return a cursor positioned at the start of the processed order
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Lazily continues the processed order page after page.
+     */
+    public final class Cursor {
+
+        private int bucket;
+        private int[] heap;
+        private int heapSize;
+        private int position;
+
+        private Cursor() {
+        }
+
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        /**
+         * @return the next car of the processed order
+         */
+        public CarResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (heap == null || heapSize == 0) {
+                if (heap != null) {
+                    bucket++;
+                }
+                heap = heapify(bucket);
+                heapSize = heap.length;
+            }
+            int row = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(bucket, heap, 0, heapSize, true);
+            position++;
+            return cars[bucket][row];
+        }
+
+        /**
+         * @return up to {@code pageSize} next cars, empty at the end
+         */
+        public List<CarResult> next(int pageSize) {
+            List<CarResult> page = new ArrayList<>(Math.min(pageSize, size - position));
+            while (page.size() < pageSize && hasNext()) {
+                page.add(next());
+            }
+            return page;
+        }
+
+        /**
+         * @return the number of cars returned so far
+         */
+        public int position() {
+            return position;
+        }
+
+        private int[] heapify(int bucket) {
+            int[] rows = new int[cars[bucket].length];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = i;
+            }
+            for (int i = rows.length / 2 - 1; i >= 0; i--) {
+                siftDown(bucket, rows, i, rows.length, true);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Rows of the {@code k} first cars of a bucket, in processed order.
+     */
+    private int[] select(int bucket, int k) {
+        int[] heap = new int[k];
+        if (k == 0) {
+            return heap;
+        }
+        int length = cars[bucket].length;
+        for (int row = 0; row < k; row++) {
+            heap[row] = row;
+        }
+        // max-heap of the k best rows seen so far; its root is the worst of them
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            siftDown(bucket, heap, i, k, false);
+        }
+        for (int row = k; row < length; row++) {
+            if (before(bucket, row, heap[0])) {
+                heap[0] = row;
+                siftDown(bucket, heap, 0, k, false);
+            }
+        }
+        for (int end = k - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(bucket, heap, 0, end, false);
+        }
+        return heap;
+    }
+
+    private void siftDown(int bucket, int[] heap, int i, int heapSize, boolean minHeap) {
+        int row = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && ranksHigher(bucket, heap[child + 1], heap[child], minHeap)) {
+                child++;
+            }
+            if (!ranksHigher(bucket, heap[child], row, minHeap)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = row;
+    }
+
+    private boolean ranksHigher(int bucket, int a, int b, boolean minHeap) {
+        return minHeap ? before(bucket, a, b) : before(bucket, b, a);
+    }
+
+    /**
+     * Processed order within a bucket: cost, then input order.
+     */
+    private boolean before(int bucket, int a, int b) {
+        int c = Double.compare(costs[bucket][a], costs[bucket][b]);
+        return c < 0 || c == 0 && a < b;
+    }
+
+    private List<CarResult> toList(int bucket, int[] rows, int from, int to) {
+        CarResult[] bucketCars = cars[bucket];
+        CarResult[] selected = new CarResult[to - from];
+        for (int i = from; i < to; i++) {
+            selected[i - from] = bucketCars[rows[i]];
+        }
+        return Collections.unmodifiableList(Arrays.asList(selected));
+    }
+}
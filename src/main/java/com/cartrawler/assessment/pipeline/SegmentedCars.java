@@ -0,0 +1,32 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.util.CarsUtils;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Output of {@link BucketedPipeline#run(List)}: the ordered cars together with
+ * the size of the leading corporate segment, so post-stages can reuse the
+ * segmentation instead of classifying suppliers again.
+ */
+@Getter
+public class SegmentedCars {
+    private final List<CarResult> cars;
+    private final int corporateCount;
+
+    public SegmentedCars(List<CarResult> cars, int corporateCount) {
+        this.cars = cars;
+        this.corporateCount = corporateCount;
+    }
+
+    /**
+     * Removes FULLFULL cars priced strictly above their segment median.
+     *
+     * @see CarsUtils#filterFullAboveMedianPrice(List, int)
+     */
+    public List<CarResult> filterFullAboveMedianPrice() {
+        return CarsUtils.filterFullAboveMedianPrice(cars, corporateCount);
+    }
+}
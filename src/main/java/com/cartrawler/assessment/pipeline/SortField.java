@@ -0,0 +1,105 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.enums.Category;
+import com.cartrawler.assessment.sipp.Drive;
+import com.cartrawler.assessment.sipp.Fuel;
+import com.cartrawler.assessment.sipp.SippDecoder;
+import com.cartrawler.assessment.sipp.Transmission;
+import com.cartrawler.assessment.sipp.VehicleType;
+
+/**
+ * Attributes a {@link SortSpec} can order by, each encoded as an unsigned
+ * integer of {@link #bits()} bits whose natural order is the field's
+ * ascending order.
+ * <p>
+ * Enum-valued fields sort in declaration order with unknown values (an
+ * unrecognised SIPP letter, a {@code null} fuel policy) last; the rental
+ * cost sorts like {@link Double#compare(double, double)}.
+ */
+public enum SortField {
+    /** Corporate suppliers first. */
+    SEGMENT(1) {
+        @Override
+        long encode(CarResult car) {
+            return BucketedPipeline.segmentOf(car);
+        }
+    },
+    CATEGORY(bitsFor(Category.values().length)) {
+        @Override
+        long encode(CarResult car) {
+            return car.getCategory().ordinal();
+        }
+    },
+    VEHICLE_TYPE(bitsFor(VehicleType.values().length + 1)) {
+        @Override
+        long encode(CarResult car) {
+            return ordinalOrLast(SippDecoder.vehicleType(car.getSippAttributes()), bits());
+        }
+    },
+    TRANSMISSION(bitsFor(Transmission.values().length + 1)) {
+        @Override
+        long encode(CarResult car) {
+            return ordinalOrLast(SippDecoder.transmission(car.getSippAttributes()), bits());
+        }
+    },
+    DRIVE(bitsFor(Drive.values().length + 1)) {
+        @Override
+        long encode(CarResult car) {
+            return ordinalOrLast(SippDecoder.drive(car.getSippAttributes()), bits());
+        }
+    },
+    FUEL(bitsFor(Fuel.values().length + 1)) {
+        @Override
+        long encode(CarResult car) {
+            return ordinalOrLast(SippDecoder.fuel(car.getSippAttributes()), bits());
+        }
+    },
+    FUEL_POLICY(bitsFor(CarResult.FuelPolicy.values().length + 1)) {
+        @Override
+        long encode(CarResult car) {
+            return ordinalOrLast(car.getFuelPolicy(), bits());
+        }
+    },
+    RENTAL_COST(Long.SIZE) {
+        @Override
+        long encode(CarResult car) {
+            return sortableBits(car.getRentalCost());
+        }
+    };
+
+    private final int bits;
+
+    SortField(int bits) {
+        this.bits = bits;
+    }
+
+    public int bits() {
+        return bits;
+    }
+
+    /**
+     * @return the field of {@code car} as an unsigned value below {@code 2^bits()}
+     */
+    abstract long encode(CarResult car);
+
+    /**
+     * Maps a double to a long whose unsigned order matches
+     * {@link Double#compare(double, double)}: {@code -0.0} before {@code 0.0}
+     * and NaN after positive infinity. Positive values only get their sign
+     * bit set; negative values have all bits flipped so larger magnitudes
+     * come first.
+     */
+    public static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ (bits >> 63 | Long.MIN_VALUE);
+    }
+
+    private static long ordinalOrLast(Enum<?> value, int bits) {
+        return value == null ? (1L << bits) - 1 : value.ordinal();
+    }
+
+    private static int bitsFor(int values) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(values - 1));
+    }
+}
@@ -0,0 +1,174 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Declarative ordering of offers, e.g. corporate first, then transmission,
+ * then category, then cheapest:
+ * <pre>
+ * SortSpec.by(SortField.SEGMENT).then(SortField.TRANSMISSION).then(SortField.CATEGORY).then(SortField.RENTAL_COST)
+ * SortSpec.parse("segment, transmission, category, rental_cost")
+ * </pre>
+ * A spec compiles into a packed key of at most {@value #MAX_BITS} bits per
+ * offer: the fields are laid out from the most significant bit down, in
+ * spec order, each in its {@link SortField#bits()} bits and complemented
+ * when descending, so comparing two keys as unsigned integers compares the
+ * offers field by field. Keys are right-aligned: a spec that fits in 64
+ * bits leaves the high word zero. {@link SortedPipeline} sorts the keys
+ * with {@link com.cartrawler.assessment.util.RadixSort} instead of a
+ * comparator chain.
+ * <p>
+ * Offers whose keys are equal keep their input order. Instances are
+ * immutable.
+ */
+public final class SortSpec {
+
+    public static final int MAX_BITS = 2 * Long.SIZE;
+
+    /** The assessment ordering: segment, category, then ascending rental cost. */
+    public static final SortSpec DEFAULT = by(SortField.SEGMENT).then(SortField.CATEGORY).then(SortField.RENTAL_COST);
+
+    private final SortField[] fields;
+    private final boolean[] descending;
+    /** Position of each field's least significant bit within the key. */
+    private final int[] shifts;
+    private final int bits;
+
+    private SortSpec(SortField[] fields, boolean[] descending) {
+        int total = 0;
+        for (int i = 0; i < fields.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (fields[j] == fields[i]) {
+                    throw new IllegalArgumentException("Field " + fields[i] + " is already part of the sort");
+                }
+            }
+            total += fields[i].bits();
+        }
+        if (total > MAX_BITS) {
+            throw new IllegalArgumentException("Sort key needs " + total + " bits, more than " + MAX_BITS);
+        }
+        this.fields = fields;
+        this.descending = descending;
+        this.bits = total;
+        this.shifts = new int[fields.length];
+        int shift = total;
+        for (int i = 0; i < fields.length; i++) {
+            shift -= fields[i].bits();
+            shifts[i] = shift;
+        }
+    }
+
+    public static SortSpec by(SortField field) {
+        return new SortSpec(new SortField[]{field}, new boolean[]{false});
+    }
+
+    public static SortSpec byDescending(SortField field) {
+        return new SortSpec(new SortField[]{field}, new boolean[]{true});
+    }
+
+    /**
+     * Parses comma-separated {@link SortField} names, each optionally
+     * followed by {@code asc} or {@code desc}; names are case-insensitive.
+     */
+    public static SortSpec parse(String spec) {
+        List<SortField> fields = new ArrayList<>();
+        List<Boolean> descending = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] words = part.strip().split("\\s+");
+            if (words.length == 0 || words[0].isEmpty() || words.length > 2) {
+                throw new IllegalArgumentException("Invalid sort field '" + part.strip() + "' in: " + spec);
+            }
+            try {
+                fields.add(SortField.valueOf(words[0].toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown sort field '" + words[0] + "', expected one of "
+                        + Arrays.toString(SortField.values()));
+            }
+            String direction = words.length == 2 ? words[1].toLowerCase(Locale.ROOT) : "asc";
+            if (!direction.equals("asc") && !direction.equals("desc")) {
+                throw new IllegalArgumentException("Invalid sort direction '" + words[1] + "' in: " + spec);
+            }
+            descending.add(direction.equals("desc"));
+        }
+        SortField[] fieldArray = fields.toArray(new SortField[0]);
+        boolean[] descendingArray = new boolean[fieldArray.length];
+        for (int i = 0; i < descendingArray.length; i++) {
+            descendingArray[i] = descending.get(i);
+        }
+        return new SortSpec(fieldArray, descendingArray);
+    }
+
+    public SortSpec then(SortField field) {
+        return append(field, false);
+    }
+
+    public SortSpec thenDescending(SortField field) {
+        return append(field, true);
+    }
+
+    public List<SortField> fields() {
+        return List.of(fields);
+    }
+
+    public boolean isDescending(int position) {
+        return descending[position];
+    }
+
+    /**
+     * @return the width of the compiled key
+     */
+    public int bits() {
+        return bits;
+    }
+
+    /**
+     * Writes the key of {@code car} to {@code high[index]} and {@code low[index]}.
+     */
+    public void encode(CarResult car, long[] high, long[] low, int index) {
+        long hi = 0;
+        long lo = 0;
+        for (int i = 0; i < fields.length; i++) {
+            int width = fields[i].bits();
+            long value = fields[i].encode(car);
+            if (descending[i]) {
+                value = ~value & (width == Long.SIZE ? -1L : (1L << width) - 1);
+            }
+            int shift = shifts[i];
+            if (shift >= Long.SIZE) {
+                hi |= value << (shift - Long.SIZE);
+            } else {
+                lo |= value << shift;
+                if (shift + width > Long.SIZE) {
+                    hi |= value >>> (Long.SIZE - shift);
+                }
+            }
+        }
+        high[index] = hi;
+        low[index] = lo;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(fields[i].name().toLowerCase(Locale.ROOT)).append(descending[i] ? " desc" : " asc");
+        }
+        return out.toString();
+    }
+
+    private SortSpec append(SortField field, boolean fieldDescending) {
+        SortField[] appendedFields = Arrays.copyOf(fields, fields.length + 1);
+        boolean[] appendedDescending = Arrays.copyOf(descending, descending.length + 1);
+        appendedFields[fields.length] = field;
+        appendedDescending[fields.length] = fieldDescending;
+        return new SortSpec(appendedFields, appendedDescending);
+    }
+}
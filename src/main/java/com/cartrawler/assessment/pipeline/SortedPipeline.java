@@ -0,0 +1,54 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.dedup.Deduplicator;
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import com.cartrawler.assessment.metrics.PipelineOperation;
+import com.cartrawler.assessment.metrics.PipelineRun;
+import com.cartrawler.assessment.metrics.Stage;
+import com.cartrawler.assessment.util.RadixSort;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processing with a configurable {@link SortSpec}: the first occurrence of
+ * every car is encoded once into its packed sort key and all keys are
+ * ordered by a single {@link RadixSort}, with ties kept in input order.
+ * With {@link SortSpec#DEFAULT} the output is identical to
+ * {@link BucketedPipeline}; encoding the keys is reported as the
+ * {@link Stage#PARTITION} stage.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SortedPipeline {
+
+    public static List<CarResult> process(List<CarResult> cars, SortSpec spec) {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.PROCESS);
+        Deduplicator deduplicator = new Deduplicator();
+        int count = deduplicator.dedup(cars);
+        run.stage(Stage.DEDUP);
+
+        long[] high = new long[count];
+        long[] low = new long[count];
+        int[] rows = new int[count];
+        int next = 0;
+        for (int i = 0; i < cars.size(); i++) {
+            if (deduplicator.survives(i)) {
+                spec.encode(cars.get(i), high, low, next);
+                rows[next++] = i;
+            }
+        }
+        run.stage(Stage.PARTITION);
+
+        RadixSort.sort(high, low, rows);
+        List<CarResult> result = new ArrayList<>(count);
+        for (int row : rows) {
+            result.add(cars.get(row));
+        }
+        run.stage(Stage.SORT);
+        run.finish(cars.size(), result.size());
+        return result;
+    }
+}
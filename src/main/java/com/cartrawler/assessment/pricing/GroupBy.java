@@ -0,0 +1,15 @@
+package com.cartrawler.assessment.pricing;
+
+/**
+ * Dimensions that partition offers into groups for {@link GroupStatistics}.
+ * A statistic grouped by several dimensions is computed per combination,
+ * e.g. per (segment, category).
+ */
+public enum GroupBy {
+    /** Corporate vs non-corporate supplier, as in {@code Supplier.isCorporate}. */
+    SEGMENT,
+    /** SIPP {@code Category}. */
+    CATEGORY,
+    /** Exact supplier name. */
+    SUPPLIER
+}
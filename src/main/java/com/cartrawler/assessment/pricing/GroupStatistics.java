@@ -0,0 +1,240 @@
+package com.cartrawler.assessment.pricing;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.util.QuantileSketch;
+import com.cartrawler.assessment.util.QuickSelect;
+import com.cartrawler.assessment.util.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes several {@link Statistic}s over a list of offers at once.
+ * <p>
+ * One pass over the offers reads each cost, segment, category and (when a
+ * statistic needs it) supplier id once into primitive arrays and assigns
+ * every offer its group id for each distinct grouping. Per grouping, the
+ * costs are then laid out group by group in one {@code double[]} with a
+ * counting sort, and every group answers all percentiles asked of that
+ * grouping with a single {@link QuickSelect#selectAll multi-select}.
+ * Groups larger than the sketch threshold are summarised in a mergeable
+ * {@link QuantileSketch} instead, trading exactness (within the configured
+ * relative accuracy) for not buffering their prices.
+ * <p>
+ * Instances are immutable results; {@link #value(int, int)} looks up the
+ * statistic of an offer's group in O(1).
+ */
+public final class GroupStatistics {
+
+    /** Accuracy of group sketches unless configured otherwise. */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private static final int SEGMENTS = BucketedPipeline.SEGMENTS;
+    private static final int CATEGORIES = BucketedPipeline.CATEGORIES;
+
+    /** Group id of every offer, per distinct grouping. */
+    private final int[][] groupOf;
+    /** Grouping index of every statistic. */
+    private final int[] groupingOf;
+    /** Value of every statistic per group. */
+    private final double[][] values;
+
+    private GroupStatistics(int[][] groupOf, int[] groupingOf, double[][] values) {
+        this.groupOf = groupOf;
+        this.groupingOf = groupingOf;
+        this.values = values;
+    }
+
+    /**
+     * Exact statistics for every group.
+     */
+    public static GroupStatistics compute(List<CarResult> cars, List<Statistic> statistics) {
+        return compute(cars, statistics, Integer.MAX_VALUE, DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * @param sketchThreshold groups with more offers than this are estimated with a {@link QuantileSketch}
+     */
+    public static GroupStatistics compute(List<CarResult> cars, List<Statistic> statistics,
+                                          int sketchThreshold, double relativeAccuracy) {
+        List<Set<GroupBy>> groupings = new ArrayList<>();
+        int[] groupingOf = new int[statistics.size()];
+        boolean bySupplier = false;
+        for (int i = 0; i < statistics.size(); i++) {
+            Set<GroupBy> grouping = statistics.get(i).getGrouping();
+            int index = groupings.indexOf(grouping);
+            if (index < 0) {
+                index = groupings.size();
+                groupings.add(grouping);
+            }
+            groupingOf[i] = index;
+            bySupplier |= grouping.contains(GroupBy.SUPPLIER);
+        }
+
+        int[] masks = new int[groupings.size()];
+        for (int g = 0; g < masks.length; g++) {
+            for (GroupBy dimension : groupings.get(g)) {
+                masks[g] |= 1 << dimension.ordinal();
+            }
+        }
+
+        int size = cars.size();
+        double[] costs = new double[size];
+        int[][] groupOf = new int[groupings.size()][size];
+        StringDictionary suppliers = bySupplier ? new StringDictionary() : null;
+        for (int i = 0; i < size; i++) {
+            CarResult car = cars.get(i);
+            costs[i] = car.getRentalCost();
+            int segment = BucketedPipeline.segmentOf(car);
+            int category = car.getCategory().ordinal();
+            int supplier = bySupplier ? suppliers.encode(car.getSupplierName()) : 0;
+            for (int g = 0; g < groupOf.length; g++) {
+                groupOf[g][i] = groupId(masks[g], segment, category, supplier);
+            }
+        }
+
+        int supplierIds = bySupplier ? suppliers.size() + 1 : 1;
+        double[][] values = new double[statistics.size()][];
+        double[] buffer = null;
+        for (int g = 0; g < groupings.size(); g++) {
+            Set<GroupBy> grouping = groupings.get(g);
+            int groupCount = (grouping.contains(GroupBy.SUPPLIER) ? supplierIds : 1)
+                    * (grouping.contains(GroupBy.SEGMENT) ? SEGMENTS : 1)
+                    * (grouping.contains(GroupBy.CATEGORY) ? CATEGORIES : 1);
+            List<Integer> members = new ArrayList<>();
+            for (int s = 0; s < statistics.size(); s++) {
+                if (groupingOf[s] == g) {
+                    members.add(s);
+                }
+            }
+            double[] percentiles = new double[members.size()];
+            for (int m = 0; m < percentiles.length; m++) {
+                percentiles[m] = statistics.get(members.get(m)).getPercentile();
+            }
+            if (buffer == null) {
+                buffer = new double[size];
+            }
+            double[][] groupValues = computeGrouping(costs, groupOf[g], groupCount, percentiles,
+                    sketchThreshold, relativeAccuracy, buffer);
+            for (int m = 0; m < percentiles.length; m++) {
+                values[members.get(m)] = groupValues[m];
+            }
+        }
+        return new GroupStatistics(groupOf, groupingOf, values);
+    }
+
+    /**
+     * @return statistic {@code statistic} (an index into the list it was
+     * computed for) of the group that offer {@code offer} belongs to
+     */
+    public double value(int statistic, int offer) {
+        return values[statistic][groupOf[groupingOf[statistic]][offer]];
+    }
+
+    /**
+     * @return the number of groups of the statistic's grouping, including empty ones
+     */
+    public int groupCount(int statistic) {
+        return values[statistic].length;
+    }
+
+    /**
+     * Linearly interpolated percentile of {@code values[from, to)}, given
+     * the order statistics at its two nearest ranks are already in place.
+     */
+    static double interpolate(double[] sorted, int from, int to, double percentile) {
+        double rank = (to - from - 1) * percentile / 100;
+        int lower = (int) rank;
+        double fraction = rank - lower;
+        double value = sorted[from + lower];
+        // (1 - f)·a + f·b keeps the exact (a + b) / 2 of an even-sized median
+        return fraction == 0 ? value : (1 - fraction) * value + fraction * sorted[from + lower + 1];
+    }
+
+    private static double[][] computeGrouping(double[] costs, int[] groupOf, int groupCount, double[] percentiles,
+                                              int sketchThreshold, double relativeAccuracy, double[] buffer) {
+        int[] starts = new int[groupCount + 1];
+        for (int group : groupOf) {
+            starts[group + 1]++;
+        }
+        QuantileSketch[] sketches = new QuantileSketch[groupCount];
+        for (int group = 0; group < groupCount; group++) {
+            if (starts[group + 1] > sketchThreshold) {
+                sketches[group] = new QuantileSketch(relativeAccuracy);
+            }
+            starts[group + 1] += starts[group];
+        }
+        int[] next = Arrays.copyOf(starts, groupCount);
+        for (int i = 0; i < groupOf.length; i++) {
+            int group = groupOf[i];
+            if (sketches[group] != null) {
+                sketches[group].add(costs[i]);
+            } else {
+                buffer[next[group]++] = costs[i];
+            }
+        }
+
+        double[][] result = new double[percentiles.length][groupCount];
+        int[] ranks = new int[2 * percentiles.length];
+        for (int group = 0; group < groupCount; group++) {
+            int from = starts[group];
+            int to = starts[group + 1];
+            if (from == to) {
+                for (double[] values : result) {
+                    values[group] = Double.POSITIVE_INFINITY;
+                }
+            } else if (sketches[group] != null) {
+                for (int p = 0; p < percentiles.length; p++) {
+                    result[p][group] = sketches[group].quantile(percentiles[p] / 100);
+                }
+            } else {
+                int rankCount = ranks(from, to, percentiles, ranks);
+                QuickSelect.selectAll(buffer, from, to, Arrays.copyOf(ranks, rankCount));
+                for (int p = 0; p < percentiles.length; p++) {
+                    result[p][group] = interpolate(buffer, from, to, percentiles[p]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects the ascending, distinct ranks the percentiles interpolate between.
+     */
+    private static int ranks(int from, int to, double[] percentiles, int[] ranks) {
+        int count = 0;
+        for (double percentile : percentiles) {
+            double rank = (to - from - 1) * percentile / 100;
+            int lower = (int) rank;
+            ranks[count++] = from + lower;
+            if (rank > lower) {
+                ranks[count++] = from + lower + 1;
+            }
+        }
+        Arrays.sort(ranks, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ranks[i] != ranks[distinct - 1]) {
+                ranks[distinct++] = ranks[i];
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Mixed-radix id over the grouped dimensions, supplier most significant.
+     */
+    private static int groupId(int mask, int segment, int category, int supplier) {
+        int id = (mask & 1 << GroupBy.SUPPLIER.ordinal()) != 0 ? supplier : 0;
+        if ((mask & 1 << GroupBy.SEGMENT.ordinal()) != 0) {
+            id = id * SEGMENTS + segment;
+        }
+        if ((mask & 1 << GroupBy.CATEGORY.ordinal()) != 0) {
+            id = id * CATEGORIES + category;
+        }
+        return id;
+    }
+}
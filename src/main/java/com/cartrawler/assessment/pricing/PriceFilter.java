@@ -0,0 +1,112 @@
+package com.cartrawler.assessment.pricing;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import com.cartrawler.assessment.metrics.PipelineOperation;
+import com.cartrawler.assessment.metrics.PipelineRun;
+import com.cartrawler.assessment.metrics.Stage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Applies a set of {@link PriceRule}s: the thresholds of all rules come
+ * from one {@link GroupStatistics} computation (rules sharing a statistic
+ * share its value) and a single pass then drops every offer that any
+ * applicable rule prices out. Input order is preserved. Immutable and
+ * thread-safe.
+ */
+@Slf4j
+public final class PriceFilter {
+
+    /** FULLFULL offers above their segment median, the assessment filter. */
+    public static final PriceFilter DEFAULT = of(PriceRule.FULL_FULL_ABOVE_SEGMENT_MEDIAN);
+
+    private final List<PriceRule> rules;
+    private final List<Statistic> statistics;
+    /** Index into {@link #statistics} of every rule's threshold. */
+    private final int[] statisticOf;
+    private final int sketchThreshold;
+    private final double relativeAccuracy;
+
+    private PriceFilter(List<PriceRule> rules, int sketchThreshold, double relativeAccuracy) {
+        this.rules = List.copyOf(rules);
+        this.statistics = new ArrayList<>();
+        this.statisticOf = new int[rules.size()];
+        for (int r = 0; r < rules.size(); r++) {
+            Statistic statistic = rules.get(r).getThreshold();
+            int index = statistics.indexOf(statistic);
+            if (index < 0) {
+                index = statistics.size();
+                statistics.add(statistic);
+            }
+            statisticOf[r] = index;
+        }
+        this.sketchThreshold = sketchThreshold;
+        this.relativeAccuracy = relativeAccuracy;
+    }
+
+    public static PriceFilter of(PriceRule... rules) {
+        return of(List.of(rules));
+    }
+
+    public static PriceFilter of(List<PriceRule> rules) {
+        return new PriceFilter(rules, Integer.MAX_VALUE, GroupStatistics.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * A filter that estimates the statistics of groups larger than
+     * {@code groupSize} with sketches accurate to {@code relativeAccuracy}.
+     */
+    public PriceFilter withSketchesAbove(int groupSize, double relativeAccuracy) {
+        if (groupSize < 0) {
+            throw new IllegalArgumentException("Group size must not be negative: " + groupSize);
+        }
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        return new PriceFilter(rules, groupSize, relativeAccuracy);
+    }
+
+    public List<PriceRule> rules() {
+        return rules;
+    }
+
+    public List<CarResult> apply(List<CarResult> cars) {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.FILTER);
+        GroupStatistics thresholds = GroupStatistics.compute(cars, statistics, sketchThreshold, relativeAccuracy);
+        run.stage(Stage.MEDIAN);
+
+        List<CarResult> kept = new ArrayList<>(cars.size());
+        for (int i = 0; i < cars.size(); i++) {
+            CarResult car = cars.get(i);
+            if (isPricedOut(car, i, thresholds)) {
+                log.atInfo()
+                        .addArgument(car)
+                        .log("{} will be skipped");
+            } else {
+                kept.add(car);
+            }
+        }
+        run.stage(Stage.FILTER);
+        run.finish(cars.size(), kept.size());
+        return Collections.unmodifiableList(kept);
+    }
+
+    @Override
+    public String toString() {
+        return rules.toString();
+    }
+
+    private boolean isPricedOut(CarResult car, int index, GroupStatistics thresholds) {
+        for (int r = 0; r < statisticOf.length; r++) {
+            if (rules.get(r).appliesTo(car.getFuelPolicy())
+                    && car.getRentalCost() > thresholds.value(statisticOf[r], index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.cartrawler.assessment.pricing;
+
+import com.cartrawler.assessment.car.CarResult;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Declarative price rule: drop offers with a given fuel policy (or any)
+ * whose rental cost is strictly above a {@link Statistic} of their group,
+ * computed over all offers of that group. Rules can be written as text,
+ * e.g. for configuration:
+ * <pre>
+ * FULLFULL above median per segment
+ * FULLFULL above p75 per category
+ * any above p99 per segment+supplier
+ * </pre>
+ */
+@Getter
+@EqualsAndHashCode
+public final class PriceRule {
+
+    /** The assessment rule behind {@code CarsUtils.filterFullAboveMedianPrice}. */
+    public static final PriceRule FULL_FULL_ABOVE_SEGMENT_MEDIAN =
+            dropAbove(CarResult.FuelPolicy.FULLFULL, Statistic.median(GroupBy.SEGMENT));
+
+    /** Fuel policy the rule applies to; {@code null} for every offer. */
+    private final CarResult.FuelPolicy fuelPolicy;
+    private final Statistic threshold;
+
+    private PriceRule(CarResult.FuelPolicy fuelPolicy, Statistic threshold) {
+        this.fuelPolicy = fuelPolicy;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param fuelPolicy offers the rule applies to; {@code null} for all
+     */
+    public static PriceRule dropAbove(CarResult.FuelPolicy fuelPolicy, Statistic threshold) {
+        return new PriceRule(fuelPolicy, threshold);
+    }
+
+    /**
+     * Parses {@code <FULLFULL|FULLEMPTY|ANY> above <median|pNN> [per <dimension>[+<dimension>...]]},
+     * case-insensitively; dimensions are {@link GroupBy} names.
+     */
+    public static PriceRule parse(String rule) {
+        String[] words = rule.strip().toUpperCase(Locale.ROOT).split("\\s+");
+        if (words.length != 3 && !(words.length == 5 && words[3].equals("PER")) || !words[1].equals("ABOVE")) {
+            throw new IllegalArgumentException("Expected '<fuel policy> above <median|pNN> [per <groups>]': " + rule);
+        }
+        CarResult.FuelPolicy fuelPolicy = words[0].equals("ANY") ? null : parseEnum(CarResult.FuelPolicy.class, words[0], rule);
+        double percentile;
+        if (words[2].equals("MEDIAN")) {
+            percentile = 50;
+        } else if (words[2].startsWith("P")) {
+            try {
+                percentile = Double.parseDouble(words[2].substring(1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid percentile '" + words[2] + "' in: " + rule);
+            }
+        } else {
+            throw new IllegalArgumentException("Invalid statistic '" + words[2] + "' in: " + rule);
+        }
+        List<GroupBy> grouping = new ArrayList<>();
+        if (words.length == 5) {
+            for (String dimension : words[4].split("\\+")) {
+                grouping.add(parseEnum(GroupBy.class, dimension, rule));
+            }
+        }
+        return dropAbove(fuelPolicy, Statistic.percentile(percentile, grouping.toArray(new GroupBy[0])));
+    }
+
+    public boolean appliesTo(CarResult.FuelPolicy policy) {
+        return fuelPolicy == null || fuelPolicy == policy;
+    }
+
+    @Override
+    public String toString() {
+        return (fuelPolicy == null ? "any" : fuelPolicy.name().toLowerCase(Locale.ROOT)) + " above " + threshold;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String rule) {
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " '" + name + "' in: " + rule);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cartrawler.assessment.pricing;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A price percentile computed per group, e.g. the 75th percentile of every
+ * category. Percentiles interpolate linearly between the two nearest ranks,
+ * so the 50th percentile of an even-sized group is the average of its two
+ * middle prices, like {@code CarsUtils.median}. An empty grouping makes the
+ * whole input a single group.
+ */
+@Getter
+@EqualsAndHashCode
+public final class Statistic {
+
+    private final double percentile;
+    private final Set<GroupBy> grouping;
+
+    private Statistic(double percentile, Set<GroupBy> grouping) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+        this.percentile = percentile;
+        this.grouping = grouping;
+    }
+
+    public static Statistic percentile(double percentile, GroupBy... grouping) {
+        Set<GroupBy> dimensions = EnumSet.noneOf(GroupBy.class);
+        dimensions.addAll(List.of(grouping));
+        return new Statistic(percentile, Collections.unmodifiableSet(dimensions));
+    }
+
+    public static Statistic median(GroupBy... grouping) {
+        return percentile(50, grouping);
+    }
+
+    public boolean isGroupedBy(GroupBy dimension) {
+        return grouping.contains(dimension);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("p").append(formatPercentile());
+        String separator = " per ";
+        for (GroupBy dimension : GroupBy.values()) {
+            if (grouping.contains(dimension)) {
+                out.append(separator).append(dimension.name().toLowerCase(Locale.ROOT));
+                separator = "+";
+            }
+        }
+        return out.toString();
+    }
+
+    private String formatPercentile() {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+}
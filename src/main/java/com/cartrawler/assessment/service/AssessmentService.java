@@ -0,0 +1,31 @@
+package com.cartrawler.assessment.service;
+
+import com.cartrawler.assessment.cache.CachedResult;
+import com.cartrawler.assessment.cache.ResultCache;
+import com.cartrawler.assessment.car.CarResult;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The pipeline as a bean for request serving. It holds no per-request
+ * state: every search runs the static pipeline stages on its own input,
+ * and the only shared structure, the {@link ResultCache}, is safe for
+ * concurrent use. Identical searches are answered from the cache.
+ */
+@Service
+public class AssessmentService {
+
+    private final ResultCache cache;
+
+    public AssessmentService(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @return the processed and the FULLFULL-filtered results for the offers
+     */
+    public CachedResult search(List<CarResult> cars) {
+        return cache.get(cars);
+    }
+}
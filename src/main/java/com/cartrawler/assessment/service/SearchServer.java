@@ -0,0 +1,152 @@
+package com.cartrawler.assessment.service;
+
+import com.cartrawler.assessment.cache.CachedResult;
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.source.CarResultSource;
+import com.cartrawler.assessment.source.CsvCarResultSource;
+import com.cartrawler.assessment.source.JsonLinesCarResultSource;
+import com.cartrawler.assessment.view.MemorySink;
+import com.cartrawler.assessment.view.OfferRenderer;
+import com.cartrawler.assessment.view.OutputFormat;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP endpoint for {@link AssessmentService}, on the JDK's built-in
+ * server with one virtual thread per request.
+ * <p>
+ * {@code POST /search} takes the offers of one search as CSV with a header
+ * line ({@code Content-Type: text/csv}) or as JSON lines (any other type)
+ * and answers with the ordered result as JSON lines; {@code ?filtered=true}
+ * returns the list without over-priced FULLFULL cars. Malformed input is
+ * answered with 400 and the parser's message. Every request parses into
+ * its own buffers, so handlers share nothing but the service.
+ */
+@Slf4j
+public class SearchServer implements AutoCloseable {
+
+    public static final String SEARCH_PATH = "/search";
+
+    private static final int BATCH_SIZE = 1024;
+
+    private final AssessmentService service;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param backlog pending connections the socket queues before refusing; {@code 0} for the system default
+     */
+    public SearchServer(AssessmentService service, InetSocketAddress address, int backlog) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(address, backlog);
+        server.createContext(SEARCH_PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        log.atInfo()
+                .addArgument(address())
+                .log("Serving searches on {}");
+    }
+
+    /**
+     * @return the bound address, with the actual port when started on port 0
+     */
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                respond(exchange);
+            } catch (RuntimeException e) {
+                log.atError()
+                        .setCause(e)
+                        .log("Search failed");
+                // a response already under way can only be cut short
+                if (exchange.getResponseCode() == -1) {
+                    send(exchange, 500, "Search failed\n");
+                }
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().add("Allow", "POST");
+            send(exchange, 405, "Use POST\n");
+            return;
+        }
+        List<CarResult> cars;
+        try {
+            cars = read(exchange);
+        } catch (IOException e) {
+            send(exchange, 400, e.getMessage() + "\n");
+            return;
+        }
+        CachedResult result = service.search(cars);
+        List<CarResult> body = isFiltered(exchange) ? result.getFiltered() : result.getProcessed();
+        MemorySink json = new MemorySink(body.size() * 128);
+        try (OfferRenderer renderer = new OfferRenderer(json, OutputFormat.JSON_LINES)) {
+            renderer.render(body);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson; charset=utf-8");
+        exchange.sendResponseHeaders(200, json.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            json.writeTo(out);
+        }
+    }
+
+    private static List<CarResult> read(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8);
+        List<CarResult> cars = new ArrayList<>();
+        try (CarResultSource source = contentType != null && contentType.startsWith("text/csv")
+                ? new CsvCarResultSource(reader, true)
+                : new JsonLinesCarResultSource(reader)) {
+            source.forEachBatch(BATCH_SIZE, cars::addAll);
+        }
+        return cars;
+    }
+
+    private static boolean isFiltered(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return false;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.equals("filtered=true")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
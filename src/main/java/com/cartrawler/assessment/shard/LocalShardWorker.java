@@ -0,0 +1,47 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.PipelineContext;
+import com.cartrawler.assessment.util.QuantileSketch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.BUCKETS;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CATEGORIES;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.SEGMENTS;
+
+/**
+ * In-process {@link ShardWorker}; also what a {@link ShardServer} runs for
+ * every request.
+ */
+final class LocalShardWorker implements ShardWorker {
+
+    @Override
+    public ShardResult process(List<CarResult> cars, double relativeAccuracy) {
+        return compute(cars, relativeAccuracy);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    static ShardResult compute(List<CarResult> cars, double relativeAccuracy) {
+        int[] rows = new int[cars.size()];
+        int[] bucketStarts = new int[BUCKETS + 1];
+        int survivors;
+        try (PipelineContext context = PipelineContext.acquire()) {
+            survivors = context.sortRows(cars, rows, bucketStarts);
+        }
+        List<QuantileSketch> sketches = new ArrayList<>(SEGMENTS);
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            QuantileSketch sketch = new QuantileSketch(relativeAccuracy);
+            for (int i = bucketStarts[segment * CATEGORIES]; i < bucketStarts[(segment + 1) * CATEGORIES]; i++) {
+                sketch.add(cars.get(rows[i]).getRentalCost());
+            }
+            sketches.add(sketch);
+        }
+        return new ShardResult(Arrays.copyOf(rows, survivors), bucketStarts, sketches);
+    }
+}
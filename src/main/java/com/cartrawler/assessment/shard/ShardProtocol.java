@@ -0,0 +1,193 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.util.QuantileSketch;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.BUCKETS;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.SEGMENTS;
+
+/**
+ * Wire format between {@link SocketShardWorker} and {@link ShardServer}.
+ * <p>
+ * A request is the car count, the sketch accuracy and the cars; strings
+ * are sent once per request and then referred to by index, since suppliers,
+ * SIPP codes and descriptions repeat heavily. A response is a status byte
+ * followed by either the error message or the {@link ShardResult}: rows,
+ * bucket starts and one sketch per segment. A connection carries any
+ * number of request/response pairs.
+ * <p>
+ * Counts and lengths read off the wire are checked against
+ * {@link #MAX_CARS} and {@link #MAX_STRING_BYTES} before anything is
+ * allocated for them, so a corrupt frame fails with an
+ * {@link IOException} instead of exhausting the heap.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ShardProtocol {
+
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    static final int MAX_CARS = 1 << 24;
+    static final int MAX_STRING_BYTES = 1 << 16;
+
+    private static final int NULL = -1;
+
+    /**
+     * Writes a whole request; the count goes first so a server can tell a
+     * new request from the end of the stream.
+     */
+    static void writeRequest(DataOutput out, List<CarResult> cars, double relativeAccuracy) throws IOException {
+        if (cars.size() > MAX_CARS) {
+            throw new IOException("Shard of " + cars.size() + " cars exceeds " + MAX_CARS);
+        }
+        out.writeInt(cars.size());
+        out.writeDouble(relativeAccuracy);
+        Map<String, Integer> strings = new HashMap<>();
+        for (CarResult car : cars) {
+            writeString(out, car.getDescription(), strings);
+            writeString(out, car.getSupplierName(), strings);
+            writeString(out, car.getSippCode(), strings);
+            out.writeDouble(car.getRentalCost());
+            out.writeByte(car.getFuelPolicy() == null ? NULL : car.getFuelPolicy().ordinal());
+        }
+    }
+
+    /**
+     * Reads the cars of a request whose count was already read.
+     */
+    static List<CarResult> readCars(DataInput in, int count) throws IOException {
+        if (count < 0 || count > MAX_CARS) {
+            throw new IOException("Malformed request: " + count + " cars");
+        }
+        List<CarResult> cars = new ArrayList<>(count);
+        List<String> strings = new ArrayList<>();
+        CarResult.FuelPolicy[] policies = CarResult.FuelPolicy.values();
+        for (int i = 0; i < count; i++) {
+            String description = readString(in, strings);
+            String supplierName = readString(in, strings);
+            String sippCode = readString(in, strings);
+            double rentalCost = in.readDouble();
+            int policy = in.readByte();
+            if (policy < NULL || policy >= policies.length) {
+                throw new IOException("Malformed request: fuel policy " + policy);
+            }
+            cars.add(new CarResult(description, supplierName, sippCode, rentalCost,
+                    policy == NULL ? null : policies[policy]));
+        }
+        return cars;
+    }
+
+    static void writeResult(DataOutput out, ShardResult result) throws IOException {
+        out.writeByte(OK);
+        int[] rows = result.getRows();
+        out.writeInt(rows.length);
+        for (int row : rows) {
+            out.writeInt(row);
+        }
+        for (int start : result.getBucketStarts()) {
+            out.writeInt(start);
+        }
+        for (QuantileSketch sketch : result.getSegmentSketches()) {
+            sketch.writeTo(out);
+        }
+    }
+
+    static void writeError(DataOutput out, String message) throws IOException {
+        out.writeByte(ERROR);
+        out.writeUTF(message == null ? "" : message);
+    }
+
+    /**
+     * Reads the response to a request of {@code count} cars, checking that
+     * the rows and bucket starts describe a valid partition of them.
+     */
+    static ShardResult readResponse(DataInput in, int count) throws IOException {
+        byte status = in.readByte();
+        if (status == ERROR) {
+            throw new IOException("Shard worker failed: " + in.readUTF());
+        }
+        if (status != OK) {
+            throw new IOException("Malformed response: status " + status);
+        }
+        int survivors = in.readInt();
+        if (survivors < 0 || survivors > count) {
+            throw new IOException("Malformed response: " + survivors + " rows for " + count + " cars");
+        }
+        int[] rows = new int[survivors];
+        for (int i = 0; i < survivors; i++) {
+            rows[i] = in.readInt();
+            if (rows[i] < 0 || rows[i] >= count) {
+                throw new IOException("Malformed response: row " + rows[i]);
+            }
+        }
+        int[] bucketStarts = new int[BUCKETS + 1];
+        for (int b = 0; b <= BUCKETS; b++) {
+            bucketStarts[b] = in.readInt();
+            if (b == 0 ? bucketStarts[b] != 0 : bucketStarts[b] < bucketStarts[b - 1]) {
+                throw new IOException("Malformed response: bucket starts");
+            }
+        }
+        if (bucketStarts[BUCKETS] != survivors) {
+            throw new IOException("Malformed response: bucket starts");
+        }
+        List<QuantileSketch> sketches = new ArrayList<>(SEGMENTS);
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            sketches.add(QuantileSketch.readFrom(in));
+        }
+        return new ShardResult(rows, bucketStarts, sketches);
+    }
+
+    private static void writeString(DataOutput out, String value, Map<String, Integer> strings) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL);
+            return;
+        }
+        Integer id = strings.get(value);
+        if (id != null) {
+            out.writeInt(id);
+            return;
+        }
+        // a new string takes the next index and follows it
+        out.writeInt(strings.size());
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IOException("String of " + bytes.length + " bytes exceeds " + MAX_STRING_BYTES);
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in, List<String> strings) throws IOException {
+        int id = in.readInt();
+        if (id == NULL) {
+            return null;
+        }
+        if (id < 0 || id > strings.size()) {
+            throw new IOException("Malformed request: string " + id);
+        }
+        if (id < strings.size()) {
+            return strings.get(id);
+        }
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Malformed request: string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.util.QuantileSketch;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * What one shard returns for its slice of a search: positions only, since
+ * the coordinator still holds the cars it sent.
+ * <p>
+ * {@link #getRows()} lists the indices (within the slice) of the cars that
+ * survived deduplication, grouped into (segment × category) buckets and
+ * sorted by rental cost within each; bucket {@code b} is
+ * {@code rows[bucketStarts[b], bucketStarts[b + 1])}. The sketches hold the
+ * rental costs of each segment's survivors, so the coordinator can merge
+ * them into global median estimates.
+ */
+@Getter
+public final class ShardResult {
+    private final int[] rows;
+    private final int[] bucketStarts;
+    private final List<QuantileSketch> segmentSketches;
+
+    public ShardResult(int[] rows, int[] bucketStarts, List<QuantileSketch> segmentSketches) {
+        this.rows = rows;
+        this.bucketStarts = bucketStarts;
+        this.segmentSketches = List.copyOf(segmentSketches);
+    }
+}
@@ -0,0 +1,134 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.car.CarResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shard worker endpoint on the loopback interface, so a
+ * {@link ShardedPipeline} can spread a search over several local JVMs
+ * without any external service. Each connection is served on its own
+ * virtual thread and may carry any number of requests, see
+ * {@link ShardProtocol}.
+ * <p>
+ * Run {@link #main(String[])} to start a worker JVM; it logs the port it
+ * listens on and serves until the process is stopped.
+ */
+@Slf4j
+public final class ShardServer implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+    private ShardServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.acceptor = Thread.ofPlatform().name("shard-acceptor").start(this::accept);
+    }
+
+    /**
+     * @param port port on the loopback interface; {@code 0} for any free port
+     */
+    public static ShardServer start(int port) throws IOException {
+        return new ShardServer(new ServerSocket(port, 0, InetAddress.getLoopbackAddress()));
+    }
+
+    /**
+     * Starts a worker on the port given as the only argument, or on any
+     * free port.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ShardServer server = start(args.length > 0 ? Integer.parseInt(args[0]) : 0);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        log.atInfo()
+                .addArgument(server.address())
+                .log("Shard worker listening on {}");
+        server.acceptor.join();
+    }
+
+    /**
+     * @return the bound address, with the actual port when started on port 0
+     */
+    public InetSocketAddress address() {
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    /**
+     * Stops accepting and drops open connections.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+            for (Socket connection : connections) {
+                connection.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close shard server", e);
+        }
+        executor.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                connection.setTcpNoDelay(true);
+                connections.add(connection);
+                executor.execute(() -> serve(connection));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Failed to accept a shard connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), BUFFER_SIZE));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream(), BUFFER_SIZE));
+            while (true) {
+                int count;
+                try {
+                    count = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                double relativeAccuracy = in.readDouble();
+                List<CarResult> cars = ShardProtocol.readCars(in, count);
+                try {
+                    ShardProtocol.writeResult(out, LocalShardWorker.compute(cars, relativeAccuracy));
+                } catch (RuntimeException e) {
+                    log.warn("Shard request failed", e);
+                    ShardProtocol.writeError(out, e.getMessage());
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) {
+                log.debug("Shard connection closed", e);
+            }
+        } finally {
+            connections.remove(connection);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.car.CarResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Processes one shard of a search for a {@link ShardedPipeline}:
+ * deduplicates, buckets and sorts the cars and sketches each segment's
+ * rental costs.
+ */
+public interface ShardWorker extends Closeable {
+
+    /**
+     * @param cars the shard's cars, in input order
+     * @param relativeAccuracy accuracy of the returned segment sketches
+     */
+    ShardResult process(List<CarResult> cars, double relativeAccuracy) throws IOException;
+
+    /**
+     * A worker that processes shards on the calling thread.
+     */
+    static ShardWorker local() {
+        return new LocalShardWorker();
+    }
+
+    /**
+     * A worker that sends shards to a {@link ShardServer}, typically in
+     * another JVM, over one connection; connecting times out after 5 seconds
+     * and waiting for a response after 60.
+     */
+    static ShardWorker connect(InetSocketAddress address) throws IOException {
+        return connect(address, SocketShardWorker.DEFAULT_CONNECT_TIMEOUT, SocketShardWorker.DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * A worker that sends shards to a {@link ShardServer} over one connection.
+     *
+     * @param connectTimeout how long to wait for each connection to open
+     * @param readTimeout how long a request may wait for data from the server
+     *                    before it fails with a
+     *                    {@link java.net.SocketTimeoutException}
+     */
+    static ShardWorker connect(InetSocketAddress address, Duration connectTimeout, Duration readTimeout)
+            throws IOException {
+        return new SocketShardWorker(address, connectTimeout, readTimeout);
+    }
+}
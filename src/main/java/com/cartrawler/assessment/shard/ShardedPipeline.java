@@ -0,0 +1,375 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.dedup.Deduplicator;
+import com.cartrawler.assessment.util.QuantileSketch;
+import com.cartrawler.assessment.util.QuickSelect;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.BUCKETS;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CATEGORIES;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.SEGMENTS;
+
+/**
+ * Coordinator of the partitioned pipeline, for searches too large for one
+ * JVM:
+ * <ol>
+ *     <li>cars are hash-sharded by their dedup key, so all copies of a car
+ *     go to the same shard, in input order;</li>
+ *     <li>every {@link ShardWorker} deduplicates, buckets and sorts its
+ *     shard and sketches the rental costs of each segment;</li>
+ *     <li>the shards' buckets are k-way merged by cost, ties broken by input
+ *     position, while the merged sketches narrow each segment's median down
+ *     to the few costs near it;</li>
+ *     <li>the FULLFULL filter runs with the exact medians.</li>
+ * </ol>
+ * The ordered and filtered lists are identical to
+ * {@link com.cartrawler.assessment.pipeline.BucketedPipeline}. The median
+ * band costs the coordinator a pass over the merged cars it emits anyway; if
+ * a band misses the middle ranks, which the sketch accuracy rules out up to
+ * rounding, the segment falls back to a full selection.
+ * <p>
+ * Workers are called in parallel on virtual threads and are closed with the
+ * pipeline. A pipeline can run any number of searches, one at a time per
+ * worker.
+ */
+@Slf4j
+public final class ShardedPipeline implements AutoCloseable {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final List<ShardWorker> workers;
+    private final double relativeAccuracy;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedPipeline(List<ShardWorker> workers) {
+        this(workers, DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * @param relativeAccuracy accuracy of the shard sketches; a finer one
+     *                         narrows the median band at the cost of bigger sketches
+     */
+    public ShardedPipeline(List<ShardWorker> workers, double relativeAccuracy) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard worker is required");
+        }
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.workers = List.copyOf(workers);
+        this.relativeAccuracy = relativeAccuracy;
+    }
+
+    /**
+     * A pipeline over {@code shards} in-process workers.
+     */
+    public static ShardedPipeline local(int shards) {
+        List<ShardWorker> workers = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            workers.add(ShardWorker.local());
+        }
+        return new ShardedPipeline(workers);
+    }
+
+    public int shards() {
+        return workers.size();
+    }
+
+    public ShardedResult run(List<CarResult> cars) throws IOException {
+        int shardCount = workers.size();
+        int size = cars.size();
+
+        // 1. route cars to shards, remembering each one's input position
+        int[] shardOf = new int[size];
+        int[] counts = new int[shardCount];
+        for (int i = 0; i < size; i++) {
+            shardOf[i] = shardOf(cars.get(i), shardCount);
+            counts[shardOf[i]]++;
+        }
+        int[][] positions = new int[shardCount][];
+        List<List<CarResult>> shards = new ArrayList<>(shardCount);
+        for (int s = 0; s < shardCount; s++) {
+            positions[s] = new int[counts[s]];
+            shards.add(new ArrayList<>(counts[s]));
+            counts[s] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            int s = shardOf[i];
+            positions[s][counts[s]++] = i;
+            shards.get(s).add(cars.get(i));
+        }
+
+        // 2. process the shards in parallel
+        List<Future<ShardResult>> futures = new ArrayList<>(shardCount);
+        for (int s = 0; s < shardCount; s++) {
+            ShardWorker worker = workers.get(s);
+            List<CarResult> shard = shards.get(s);
+            futures.add(executor.submit(() -> worker.process(shard, relativeAccuracy)));
+        }
+        ShardResult[] results = new ShardResult[shardCount];
+        for (int s = 0; s < shardCount; s++) {
+            results[s] = await(futures.get(s));
+        }
+
+        // 3. merge the buckets, collecting the costs around each median estimate
+        MedianBand[] bands = new MedianBand[SEGMENTS];
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            QuantileSketch merged = new QuantileSketch(relativeAccuracy);
+            for (ShardResult result : results) {
+                merged.merge(result.getSegmentSketches().get(segment));
+            }
+            bands[segment] = new MedianBand(merged, relativeAccuracy);
+        }
+        List<CarResult> ordered = new ArrayList<>(size);
+        int[] segmentEnds = new int[SEGMENTS];
+        KWayMerge merge = new KWayMerge(cars, results, positions);
+        for (int b = 0; b < BUCKETS; b++) {
+            MedianBand band = bands[b / CATEGORIES];
+            merge.bucket(b, car -> {
+                ordered.add(car);
+                band.accept(car.getRentalCost());
+            });
+            segmentEnds[b / CATEGORIES] = ordered.size();
+        }
+        int corporateCount = segmentEnds[0];
+
+        // 4. exact medians and the FULLFULL filter
+        double[] medians = new double[SEGMENTS];
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            int from = segment == 0 ? 0 : segmentEnds[segment - 1];
+            medians[segment] = bands[segment].median(ordered, from, segmentEnds[segment]);
+        }
+        List<CarResult> filtered = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            CarResult car = ordered.get(i);
+            double median = medians[i < corporateCount ? 0 : 1];
+            if (car.getFuelPolicy() == CarResult.FuelPolicy.FULLFULL && car.getRentalCost() > median) {
+                if (log.isDebugEnabled()) {
+                    log.debug("{} will be skipped", car);
+                }
+            } else {
+                filtered.add(car);
+            }
+        }
+        return new ShardedResult(ordered, corporateCount, filtered, medians);
+    }
+
+    /**
+     * Closes the workers.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.close();
+        IOException failure = null;
+        for (ShardWorker worker : workers) {
+            try {
+                worker.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Shard of a car among {@code shards}: the high half of its dedup key
+     * scaled to the shard count, so duplicates always share a shard.
+     */
+    static int shardOf(CarResult car, int shards) {
+        return (int) (((Deduplicator.key(car) >>> 32) * shards) >>> 32);
+    }
+
+    private static ShardResult await(Future<ShardResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a shard", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Shard failed", cause);
+        }
+    }
+
+    /**
+     * Merges one bucket at a time across shards with a binary heap of shard
+     * cursors ordered by (cost, input position), which is the order of the
+     * stable per-bucket sort of the sequential pipeline.
+     */
+    private static final class KWayMerge {
+        private final List<CarResult> cars;
+        private final ShardResult[] results;
+        private final int[][] positions;
+        private final int[] cursors;
+        private final int[] ends;
+        private final double[] headCosts;
+        private final int[] headPositions;
+        private final int[] heap;
+
+        private KWayMerge(List<CarResult> cars, ShardResult[] results, int[][] positions) {
+            this.cars = cars;
+            this.results = results;
+            this.positions = positions;
+            this.cursors = new int[results.length];
+            this.ends = new int[results.length];
+            this.headCosts = new double[results.length];
+            this.headPositions = new int[results.length];
+            this.heap = new int[results.length];
+        }
+
+        private void bucket(int bucket, Consumer<CarResult> sink) {
+            int heapSize = 0;
+            for (int s = 0; s < results.length; s++) {
+                int[] starts = results[s].getBucketStarts();
+                cursors[s] = starts[bucket];
+                ends[s] = starts[bucket + 1];
+                if (cursors[s] < ends[s]) {
+                    loadHead(s);
+                    heap[heapSize++] = s;
+                }
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(i, heapSize);
+            }
+            while (heapSize > 0) {
+                int s = heap[0];
+                sink.accept(cars.get(headPositions[s]));
+                if (++cursors[s] < ends[s]) {
+                    loadHead(s);
+                } else {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(0, heapSize);
+            }
+        }
+
+        private void loadHead(int shard) {
+            int position = positions[shard][results[shard].getRows()[cursors[shard]]];
+            headPositions[shard] = position;
+            headCosts[shard] = cars.get(position).getRentalCost();
+        }
+
+        private void siftDown(int index, int heapSize) {
+            int shard = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!before(heap[child], shard)) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = shard;
+        }
+
+        private boolean before(int a, int b) {
+            int byCost = Double.compare(headCosts[a], headCosts[b]);
+            return byCost != 0 ? byCost < 0 : headPositions[a] < headPositions[b];
+        }
+    }
+
+    /**
+     * Counts the costs of a segment below a band around the merged sketch's
+     * median estimate, keeps those inside it and the smallest one above, so
+     * the exact middle ranks are read from the sorted band.
+     */
+    private static final class MedianBand {
+        private final double low;
+        private final double high;
+        private int below;
+        private double[] inside = new double[16];
+        private int insideCount;
+        private double smallestAbove = Double.POSITIVE_INFINITY;
+        private int count;
+
+        private MedianBand(QuantileSketch sketch, double relativeAccuracy) {
+            if (sketch.isEmpty()) {
+                low = Double.POSITIVE_INFINITY;
+                high = Double.POSITIVE_INFINITY;
+                return;
+            }
+            // the sketch's lower middle is within α of the true one; 2α leaves room for rounding
+            double estimate = sketch.quantile(0.5);
+            if (estimate <= 0) {
+                low = Double.NEGATIVE_INFINITY;
+                high = 0;
+            } else {
+                low = estimate / (1 + 2 * relativeAccuracy);
+                high = 2 * relativeAccuracy < 1 ? estimate / (1 - 2 * relativeAccuracy) : Double.POSITIVE_INFINITY;
+            }
+        }
+
+        private void accept(double cost) {
+            count++;
+            if (cost < low) {
+                below++;
+            } else if (cost <= high) {
+                if (insideCount == inside.length) {
+                    inside = Arrays.copyOf(inside, insideCount * 2);
+                }
+                inside[insideCount++] = cost;
+            } else {
+                smallestAbove = Math.min(smallestAbove, cost);
+            }
+        }
+
+        /**
+         * The median with {@link QuickSelect#median(double[], int, int)}
+         * semantics; {@code ordered[from, to)} is the segment, used only when
+         * the band missed the middle ranks.
+         */
+        private double median(List<CarResult> ordered, int from, int to) {
+            if (count == 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            int upperRank = count / 2;
+            int lowerRank = count % 2 == 1 ? upperRank : upperRank - 1;
+            if (below <= lowerRank && lowerRank < below + insideCount) {
+                Arrays.sort(inside, 0, insideCount);
+                double lower = inside[lowerRank - below];
+                double upper;
+                if (upperRank < below + insideCount) {
+                    upper = inside[upperRank - below];
+                } else {
+                    upper = smallestAbove;
+                }
+                return count % 2 == 1 ? upper : (lower + upper) / 2.0;
+            }
+            log.debug("Median band missed the middle ranks, selecting over {} costs", to - from);
+            double[] costs = new double[to - from];
+            for (int i = from; i < to; i++) {
+                costs[i - from] = ordered.get(i).getRentalCost();
+            }
+            return QuickSelect.median(costs, 0, costs.length);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.car.CarResult;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Output of {@link ShardedPipeline#run(List)}: the ordered cars, the size
+ * of the leading corporate segment, the cars without over-priced FULLFULL
+ * offers and the exact segment medians used to filter them.
+ */
+public final class ShardedResult {
+    @Getter
+    private final List<CarResult> cars;
+    @Getter
+    private final int corporateCount;
+    @Getter
+    private final List<CarResult> filtered;
+    private final double[] medians;
+
+    ShardedResult(List<CarResult> cars, int corporateCount, List<CarResult> filtered, double[] medians) {
+        this.cars = cars;
+        this.corporateCount = corporateCount;
+        this.filtered = filtered;
+        this.medians = medians;
+    }
+
+    /**
+     * @return the median rental cost of a segment; {@code +Infinity} when it is empty
+     */
+    public double median(int segment) {
+        return medians[segment];
+    }
+}
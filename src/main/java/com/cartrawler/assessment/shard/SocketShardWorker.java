@@ -0,0 +1,129 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.car.CarResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ShardWorker} backed by one connection to a {@link ShardServer};
+ * requests on the same worker are serialized. The lock is a
+ * {@link ReentrantLock} rather than a monitor so a virtual thread waiting
+ * for the response does not pin its carrier, which would starve an
+ * in-process server of carriers.
+ * <p>
+ * A request that fails part-way leaves the stream at an unknown position,
+ * so the connection is dropped and the next request opens a new one. That
+ * includes a request that times out: a shard server that stops answering
+ * fails the request with a {@link SocketTimeoutException} instead of hanging
+ * the search.
+ */
+final class SocketShardWorker implements ShardWorker {
+
+    static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InetSocketAddress address;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Connection connection;
+    private volatile boolean closed;
+
+    SocketShardWorker(InetSocketAddress address, Duration connectTimeout, Duration readTimeout) throws IOException {
+        this.address = address;
+        this.connectTimeoutMillis = toMillis(connectTimeout);
+        this.readTimeoutMillis = toMillis(readTimeout);
+        this.connection = new Connection(address, connectTimeoutMillis, readTimeoutMillis);
+    }
+
+    @Override
+    public ShardResult process(List<CarResult> cars, double relativeAccuracy) throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Shard worker is closed");
+            }
+            if (connection == null) {
+                connection = new Connection(address, connectTimeoutMillis, readTimeoutMillis);
+                // a close() that missed the new connection is seen here
+                if (closed) {
+                    connection.socket.close();
+                    throw new IOException("Shard worker is closed");
+                }
+            }
+            try {
+                ShardProtocol.writeRequest(connection.out, cars, relativeAccuracy);
+                connection.out.flush();
+                return ShardProtocol.readResponse(connection.in, cars.size());
+            } catch (IOException | RuntimeException e) {
+                Connection failed = connection;
+                connection = null;
+                try {
+                    failed.socket.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closing the socket also interrupts a request blocked on it, which then
+     * fails with an {@link IOException}.
+     */
+    @Override
+    public void close() throws IOException {
+        Connection current = connection;
+        closed = true;
+        if (current != null) {
+            current.socket.close();
+        }
+    }
+
+    /**
+     * Zero would mean no timeout to the socket, so it is rejected along with
+     * negative durations.
+     */
+    private static int toMillis(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        return (int) Math.min(Math.max(timeout.toMillis(), 1), Integer.MAX_VALUE);
+    }
+
+    private static final class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        private Connection(InetSocketAddress address, int connectTimeoutMillis, int readTimeoutMillis)
+                throws IOException {
+            this.socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(readTimeoutMillis);
+                socket.connect(address, connectTimeoutMillis);
+                this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+                this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.cartrawler.assessment.sipp;
+
+/**
+ * Drive part of the third SIPP letter.
+ */
+public enum Drive {
+    UNSPECIFIED,
+    FOUR_WHEEL,
+    ALL_WHEEL
+}
@@ -0,0 +1,16 @@
+package com.cartrawler.assessment.sipp;
+
+/**
+ * Fuel part of the fourth SIPP letter; the letter also encodes air conditioning.
+ */
+public enum Fuel {
+    UNSPECIFIED,
+    DIESEL,
+    HYBRID,
+    ELECTRIC,
+    LPG,
+    HYDROGEN,
+    MULTI_FUEL,
+    PETROL,
+    ETHANOL
+}
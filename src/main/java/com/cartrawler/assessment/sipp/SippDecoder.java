@@ -0,0 +1,153 @@
+package com.cartrawler.assessment.sipp;
+
+import com.cartrawler.assessment.enums.Category;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Decodes four-letter SIPP (ACRISS) codes into a packed {@code int}.
+ * <p>
+ * Each SIPP position has a 256-entry table holding that letter's
+ * contribution, already shifted into place, so decoding is four array
+ * lookups OR-ed together and never allocates. Letters are case-insensitive;
+ * unknown letters, characters outside Latin-1 and missing positions decode
+ * as "unknown" ({@code null} from the accessors), except the category which
+ * falls back to {@link Category#OTHER}.
+ * <p>
+ * Layout, low bits first: category ordinal (2 bits), vehicle type (5),
+ * transmission (2), drive (2), fuel (4), air conditioning (2). Attribute
+ * fields store {@code ordinal + 1} so that zero means unknown.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SippDecoder {
+
+    private static final int CATEGORY_SHIFT = 0;
+    private static final int CATEGORY_MASK = 0b11;
+    private static final int TYPE_SHIFT = 2;
+    private static final int TYPE_MASK = 0b11111;
+    private static final int TRANSMISSION_SHIFT = 7;
+    private static final int TRANSMISSION_MASK = 0b11;
+    private static final int DRIVE_SHIFT = 9;
+    private static final int DRIVE_MASK = 0b11;
+    private static final int FUEL_SHIFT = 11;
+    private static final int FUEL_MASK = 0b1111;
+    private static final int AIR_CON_SHIFT = 15;
+    private static final int AIR_CON_MASK = 0b11;
+    private static final int AIR_CON_YES = 1;
+    private static final int AIR_CON_NO = 2;
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final VehicleType[] TYPES = VehicleType.values();
+    private static final Transmission[] TRANSMISSIONS = Transmission.values();
+    private static final Drive[] DRIVES = Drive.values();
+    private static final Fuel[] FUELS = Fuel.values();
+
+    private static final int[] FIRST = new int[256];
+    private static final int[] SECOND = new int[256];
+    private static final int[] THIRD = new int[256];
+    private static final int[] FOURTH = new int[256];
+
+    /** Packed value of a null, blank or unrecognised code. */
+    public static final int UNKNOWN = Category.OTHER.ordinal() << CATEGORY_SHIFT;
+
+    static {
+        Arrays.fill(FIRST, UNKNOWN);
+        for (Category category : CATEGORIES) {
+            if (category.sippPrefix() != null) {
+                letter(FIRST, category.sippPrefix(), category.ordinal() << CATEGORY_SHIFT);
+            }
+        }
+
+        for (VehicleType type : TYPES) {
+            letter(SECOND, type.code(), (type.ordinal() + 1) << TYPE_SHIFT);
+        }
+
+        putTransmission(THIRD, 'M', Transmission.MANUAL, Drive.UNSPECIFIED);
+        putTransmission(THIRD, 'N', Transmission.MANUAL, Drive.FOUR_WHEEL);
+        putTransmission(THIRD, 'C', Transmission.MANUAL, Drive.ALL_WHEEL);
+        putTransmission(THIRD, 'A', Transmission.AUTOMATIC, Drive.UNSPECIFIED);
+        putTransmission(THIRD, 'B', Transmission.AUTOMATIC, Drive.FOUR_WHEEL);
+        putTransmission(THIRD, 'D', Transmission.AUTOMATIC, Drive.ALL_WHEEL);
+
+        putFuel(FOURTH, 'R', 'N', Fuel.UNSPECIFIED);
+        putFuel(FOURTH, 'D', 'Q', Fuel.DIESEL);
+        putFuel(FOURTH, 'H', 'I', Fuel.HYBRID);
+        putFuel(FOURTH, 'E', 'C', Fuel.ELECTRIC);
+        putFuel(FOURTH, 'L', 'S', Fuel.LPG);
+        putFuel(FOURTH, 'A', 'B', Fuel.HYDROGEN);
+        putFuel(FOURTH, 'M', 'F', Fuel.MULTI_FUEL);
+        putFuel(FOURTH, 'V', 'Z', Fuel.PETROL);
+        putFuel(FOURTH, 'U', 'X', Fuel.ETHANOL);
+    }
+
+    public static int decode(String sipp) {
+        if (sipp == null) {
+            return UNKNOWN;
+        }
+        int length = sipp.length();
+        int packed = length > 0 ? lookup(FIRST, sipp.charAt(0), UNKNOWN) : UNKNOWN;
+        if (length > 1) {
+            packed |= lookup(SECOND, sipp.charAt(1), 0);
+        }
+        if (length > 2) {
+            packed |= lookup(THIRD, sipp.charAt(2), 0);
+        }
+        if (length > 3) {
+            packed |= lookup(FOURTH, sipp.charAt(3), 0);
+        }
+        return packed;
+    }
+
+    public static Category category(int packed) {
+        return CATEGORIES[(packed >>> CATEGORY_SHIFT) & CATEGORY_MASK];
+    }
+
+    public static VehicleType vehicleType(int packed) {
+        return field(TYPES, (packed >>> TYPE_SHIFT) & TYPE_MASK);
+    }
+
+    public static Transmission transmission(int packed) {
+        return field(TRANSMISSIONS, (packed >>> TRANSMISSION_SHIFT) & TRANSMISSION_MASK);
+    }
+
+    public static Drive drive(int packed) {
+        return field(DRIVES, (packed >>> DRIVE_SHIFT) & DRIVE_MASK);
+    }
+
+    public static Fuel fuel(int packed) {
+        return field(FUELS, (packed >>> FUEL_SHIFT) & FUEL_MASK);
+    }
+
+    /**
+     * @return {@code true} only when the fourth letter is known and declares air conditioning
+     */
+    public static boolean airConditioned(int packed) {
+        return ((packed >>> AIR_CON_SHIFT) & AIR_CON_MASK) == AIR_CON_YES;
+    }
+
+    private static int lookup(int[] table, char c, int unknown) {
+        return c < table.length ? table[c] : unknown;
+    }
+
+    private static <T> T field(T[] values, int stored) {
+        return stored == 0 ? null : values[stored - 1];
+    }
+
+    private static void letter(int[] table, char upper, int value) {
+        table[upper] = value;
+        table[Character.toLowerCase(upper)] = value;
+    }
+
+    private static void putTransmission(int[] table, char code, Transmission transmission, Drive drive) {
+        letter(table, code, (transmission.ordinal() + 1) << TRANSMISSION_SHIFT
+                | (drive.ordinal() + 1) << DRIVE_SHIFT);
+    }
+
+    private static void putFuel(int[] table, char withAirCon, char withoutAirCon, Fuel fuel) {
+        int value = (fuel.ordinal() + 1) << FUEL_SHIFT;
+        letter(table, withAirCon, value | AIR_CON_YES << AIR_CON_SHIFT);
+        letter(table, withoutAirCon, value | AIR_CON_NO << AIR_CON_SHIFT);
+    }
+}
@@ -0,0 +1,9 @@
+package com.cartrawler.assessment.sipp;
+
+/**
+ * Transmission part of the third SIPP letter.
+ */
+public enum Transmission {
+    MANUAL,
+    AUTOMATIC
+}
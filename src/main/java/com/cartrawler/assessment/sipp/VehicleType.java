@@ -0,0 +1,39 @@
+package com.cartrawler.assessment.sipp;
+
+/**
+ * ACRISS vehicle type, the second SIPP letter.
+ */
+public enum VehicleType {
+    TWO_THREE_DOOR('B'),
+    TWO_FOUR_DOOR('C'),
+    FOUR_FIVE_DOOR('D'),
+    WAGON('W'),
+    PASSENGER_VAN('V'),
+    LIMOUSINE('L'),
+    SPORT('S'),
+    CONVERTIBLE('T'),
+    SUV('F'),
+    OPEN_AIR_ALL_TERRAIN('J'),
+    SPECIAL('X'),
+    PICK_UP_REGULAR_CAB('P'),
+    PICK_UP_EXTENDED_CAB('Q'),
+    SPECIAL_OFFER('Z'),
+    COUPE('E'),
+    MONOSPACE('M'),
+    RECREATIONAL_VEHICLE('R'),
+    MOTOR_HOME('H'),
+    TWO_WHEEL_VEHICLE('Y'),
+    ROADSTER('N'),
+    CROSSOVER('G'),
+    COMMERCIAL_VAN('K');
+
+    private final char code;
+
+    VehicleType(char code) {
+        this.code = code;
+    }
+
+    public char code() {
+        return code;
+    }
+}
@@ -0,0 +1,66 @@
+package com.cartrawler.assessment.source;
+
+import com.cartrawler.assessment.car.CarResult;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+
+/**
+ * Reads a {@link CarResultSource} on the calling thread and hands its
+ * batches to a consumer running on an executor, through a
+ * {@link SubmissionPublisher} with a bounded buffer.
+ * <p>
+ * When the consumer falls behind and {@code maxBufferedBatches} batches are
+ * waiting, {@link SubmissionPublisher#submit(Object)} blocks the reader, so
+ * at most that many batches are in memory at any time however large the
+ * feed is. Batches are delivered in feed order to a single consumer.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BatchPublisher {
+
+    /**
+     * Publishes the whole feed and waits until the consumer has handled
+     * every batch. Each batch is a new list the consumer may keep.
+     *
+     * @param maxBufferedBatches batches that may wait for the consumer, rounded up to a power of two
+     * @return the number of cars read
+     * @throws RuntimeException the consumer's exception, after which reading stops
+     */
+    public static long publish(CarResultSource source, int batchSize, int maxBufferedBatches,
+                               Executor executor, Consumer<List<CarResult>> consumer) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        long total = 0;
+        CompletableFuture<Void> consumed;
+        try (SubmissionPublisher<List<CarResult>> publisher = new SubmissionPublisher<>(executor, maxBufferedBatches)) {
+            consumed = publisher.consume(consumer);
+            while (!consumed.isDone()) {
+                List<CarResult> batch = new ArrayList<>(batchSize);
+                int read = source.read(batch, batchSize);
+                if (read == 0) {
+                    break;
+                }
+                publisher.submit(batch);
+                total += read;
+            }
+        }
+        try {
+            consumed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return total;
+    }
+}
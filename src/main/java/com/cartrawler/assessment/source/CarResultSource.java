@@ -0,0 +1,74 @@
+package com.cartrawler.assessment.source;
+
+import com.cartrawler.assessment.car.CarResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A feed of car results that is read in bounded batches.
+ * <p>
+ * Sources are pulled: nothing is read until the consumer asks for the next
+ * batch, so a consumer that falls behind slows the reader down instead of
+ * letting records pile up in memory. {@link BatchPublisher} adds a bounded
+ * hand-off for consumers on another thread.
+ */
+public interface CarResultSource extends Closeable {
+
+    /**
+     * Appends up to {@code max} cars to {@code batch}.
+     *
+     * @return the number of cars appended, {@code 0} once the feed is exhausted
+     */
+    int read(List<CarResult> batch, int max) throws IOException;
+
+    /**
+     * Reads the whole feed, handing each batch of at most {@code batchSize}
+     * cars to {@code consumer}. One list is reused for every batch, so the
+     * consumer must copy what it keeps and memory stays bounded by the batch
+     * size.
+     *
+     * @return the number of cars read
+     */
+    default long forEachBatch(int batchSize, Consumer<List<CarResult>> consumer) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        List<CarResult> batch = new ArrayList<>(batchSize);
+        long total = 0;
+        int read;
+        while ((read = read(batch, batchSize)) > 0) {
+            consumer.accept(batch);
+            total += read;
+            batch.clear();
+        }
+        return total;
+    }
+
+    /**
+     * A source over cars that are already in memory, such as
+     * {@link com.cartrawler.assessment.data.CarDataProvider#loadAllCars()}.
+     */
+    static CarResultSource of(List<CarResult> cars) {
+        return new CarResultSource() {
+            private int position;
+
+            @Override
+            public int read(List<CarResult> batch, int max) {
+                int end = Math.min(cars.size(), position + max);
+                batch.addAll(cars.subList(position, end));
+                int read = end - position;
+                position = end;
+                return read;
+            }
+
+            @Override
+            public void close() {
+                // nothing to release
+            }
+        };
+    }
+}
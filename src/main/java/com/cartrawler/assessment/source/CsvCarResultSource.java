@@ -0,0 +1,152 @@
+package com.cartrawler.assessment.source;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.util.DoubleParser;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams cars from CSV with the columns
+ * {@code description,supplierName,sippCode,rentalCost,fuelPolicy}, one car
+ * per line.
+ * <p>
+ * Fields may be quoted, with {@code ""} escaping a quote, so descriptions
+ * can contain commas; quoted fields cannot span lines. An empty unquoted
+ * field reads as {@code null} and an empty quoted one as the empty string.
+ * Costs are parsed straight from the line buffer by {@link DoubleParser}.
+ */
+public class CsvCarResultSource extends LineCarResultSource {
+
+    private static final int COLUMNS = 5;
+
+    private boolean skipHeader;
+
+    private String description;
+    private String supplierName;
+    private String sippCode;
+    private double rentalCost;
+    private boolean hasRentalCost;
+    private CarResult.FuelPolicy fuelPolicy;
+
+    /**
+     * @param header whether the first non-blank line is a header to skip
+     */
+    public CsvCarResultSource(Reader reader, boolean header) {
+        super(reader);
+        this.skipHeader = header;
+    }
+
+    /**
+     * Opens a UTF-8 CSV file whose first line is a header.
+     */
+    public static CsvCarResultSource open(Path path) throws IOException {
+        return new CsvCarResultSource(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), true);
+    }
+
+    @Override
+    protected CarResult parse(char[] chars, int from, int to) throws IOException {
+        if (skipHeader) {
+            skipHeader = false;
+            return null;
+        }
+        description = null;
+        supplierName = null;
+        sippCode = null;
+        hasRentalCost = false;
+        fuelPolicy = null;
+
+        int column = 0;
+        int i = from;
+        while (true) {
+            if (column == COLUMNS) {
+                throw error("more than " + COLUMNS + " columns");
+            }
+            if (i < to && chars[i] == '"') {
+                int close = i + 1;
+                boolean escaped = false;
+                while (close < to) {
+                    if (chars[close] == '"') {
+                        if (close + 1 < to && chars[close + 1] == '"') {
+                            escaped = true;
+                            close += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    close++;
+                }
+                if (close >= to) {
+                    throw error("unterminated quoted field");
+                }
+                if (escaped) {
+                    char[] unescaped = scratch(close - i);
+                    int length = 0;
+                    for (int j = i + 1; j < close; j++) {
+                        unescaped[length++] = chars[j];
+                        if (chars[j] == '"') {
+                            j++;
+                        }
+                    }
+                    field(column, unescaped, 0, length, true);
+                } else {
+                    field(column, chars, i + 1, close, true);
+                }
+                i = close + 1;
+                if (i < to && chars[i] != ',') {
+                    throw error("unexpected character after quoted field");
+                }
+            } else {
+                int comma = i;
+                while (comma < to && chars[comma] != ',') {
+                    comma++;
+                }
+                field(column, chars, i, comma, false);
+                i = comma;
+            }
+            column++;
+            if (i >= to) {
+                break;
+            }
+            i++;
+        }
+        if (column != COLUMNS) {
+            throw error("expected " + COLUMNS + " columns but found " + column);
+        }
+        if (!hasRentalCost) {
+            throw error("missing rental cost");
+        }
+        return new CarResult(description, supplierName, sippCode, rentalCost, fuelPolicy);
+    }
+
+    private void field(int column, char[] chars, int from, int to, boolean quoted) throws IOException {
+        switch (column) {
+            case 0 -> description = string(chars, from, to, quoted);
+            case 1 -> supplierName = string(chars, from, to, quoted);
+            case 2 -> sippCode = string(chars, from, to, quoted);
+            case 3 -> {
+                if (from < to) {
+                    rentalCost = cost(chars, from, to);
+                    hasRentalCost = true;
+                }
+            }
+            default -> fuelPolicy = fuelPolicy(chars, from, to);
+        }
+    }
+
+    private String string(char[] chars, int from, int to, boolean quoted) {
+        return from == to && !quoted ? null : pool.get(chars, from, to);
+    }
+
+    private double cost(char[] chars, int from, int to) throws IOException {
+        try {
+            return DoubleParser.parse(chars, from, to);
+        } catch (NumberFormatException e) {
+            throw error("invalid rental cost '" + new String(chars, from, to - from) + "'");
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.cartrawler.assessment.source;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.util.DoubleParser;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams cars from JSON lines: one object per line with the
+ * {@link CarResult} property names, e.g.
+ * <pre>
+ * {"description":"Volkswagen Polo","supplierName":"NIZA","sippCode":"EDMR","rentalCost":12.81,"fuelPolicy":"FULLEMPTY"}
+ * </pre>
+ * Properties may come in any order; missing ones and JSON {@code null} read
+ * as {@code null}, except {@code rentalCost} which is required. Unknown
+ * properties are skipped whatever their type. The parser works on the line
+ * buffer directly: property names are compared in place and only string
+ * values that contain escapes are copied before pooling.
+ */
+public class JsonLinesCarResultSource extends LineCarResultSource {
+
+    private static final char[] DESCRIPTION = "description".toCharArray();
+    private static final char[] SUPPLIER_NAME = "supplierName".toCharArray();
+    private static final char[] SIPP_CODE = "sippCode".toCharArray();
+    private static final char[] RENTAL_COST = "rentalCost".toCharArray();
+    private static final char[] FUEL_POLICY = "fuelPolicy".toCharArray();
+    private static final char[] NULL = "null".toCharArray();
+
+    private char[] chars;
+    private int lineStart;
+    private int position;
+    private int limit;
+    /** Range of the last string read; {@code stringChars} is the line or the scratch buffer. */
+    private char[] stringChars;
+    private int stringFrom;
+    private int stringTo;
+
+    public JsonLinesCarResultSource(Reader reader) {
+        super(reader);
+    }
+
+    /**
+     * Opens a UTF-8 JSON-lines file.
+     */
+    public static JsonLinesCarResultSource open(Path path) throws IOException {
+        return new JsonLinesCarResultSource(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected CarResult parse(char[] line, int from, int to) throws IOException {
+        chars = line;
+        lineStart = from;
+        position = from;
+        limit = to;
+        String description = null;
+        String supplierName = null;
+        String sippCode = null;
+        double rentalCost = 0;
+        boolean hasRentalCost = false;
+        CarResult.FuelPolicy fuelPolicy = null;
+
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+        } else {
+            while (true) {
+                skipWhitespace();
+                readString();
+                int keyFrom = stringFrom;
+                int keyTo = stringTo;
+                char[] key = stringChars;
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (matches(DESCRIPTION, key, keyFrom, keyTo)) {
+                    description = readNullableString();
+                } else if (matches(SUPPLIER_NAME, key, keyFrom, keyTo)) {
+                    supplierName = readNullableString();
+                } else if (matches(SIPP_CODE, key, keyFrom, keyTo)) {
+                    sippCode = readNullableString();
+                } else if (matches(RENTAL_COST, key, keyFrom, keyTo)) {
+                    rentalCost = readNumber();
+                    hasRentalCost = true;
+                } else if (matches(FUEL_POLICY, key, keyFrom, keyTo)) {
+                    if (!readNull()) {
+                        readString();
+                        fuelPolicy = fuelPolicy(stringChars, stringFrom, stringTo);
+                    }
+                } else {
+                    skipValue();
+                }
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or '}' at column " + column());
+                }
+            }
+        }
+        skipWhitespace();
+        if (position != limit) {
+            throw error("unexpected content after object at column " + column());
+        }
+        if (!hasRentalCost) {
+            throw error("missing rentalCost");
+        }
+        return new CarResult(description, supplierName, sippCode, rentalCost, fuelPolicy);
+    }
+
+    private String readNullableString() throws IOException {
+        if (readNull()) {
+            return null;
+        }
+        readString();
+        return pool.get(stringChars, stringFrom, stringTo);
+    }
+
+    private boolean readNull() {
+        if (position + NULL.length <= limit && matches(NULL, chars, position, position + NULL.length)) {
+            position += NULL.length;
+            return true;
+        }
+        return false;
+    }
+
+    private double readNumber() throws IOException {
+        int from = position;
+        while (position < limit && isNumberChar(chars[position])) {
+            position++;
+        }
+        if (from == position) {
+            throw error("expected a number at column " + column());
+        }
+        try {
+            return DoubleParser.parse(chars, from, position);
+        } catch (NumberFormatException e) {
+            throw error("invalid number '" + new String(chars, from, position - from) + "'");
+        }
+    }
+
+    /**
+     * Reads a string into {@code stringChars[stringFrom, stringTo)}, in place
+     * unless it contains escapes.
+     */
+    private void readString() throws IOException {
+        expect('"');
+        int from = position;
+        while (position < limit && chars[position] != '"' && chars[position] != '\\') {
+            position++;
+        }
+        if (position < limit && chars[position] == '"') {
+            stringChars = chars;
+            stringFrom = from;
+            stringTo = position++;
+            return;
+        }
+        char[] unescaped = scratch(limit - from);
+        int length = position - from;
+        System.arraycopy(chars, from, unescaped, 0, length);
+        while (true) {
+            if (position >= limit) {
+                throw error("unterminated string");
+            }
+            char c = chars[position++];
+            if (c == '"') {
+                break;
+            }
+            if (c == '\\') {
+                unescaped[length++] = unescape();
+            } else {
+                unescaped[length++] = c;
+            }
+        }
+        stringChars = unescaped;
+        stringFrom = 0;
+        stringTo = length;
+    }
+
+    private char unescape() throws IOException {
+        if (position >= limit) {
+            throw error("unterminated string");
+        }
+        char c = chars[position++];
+        return switch (c) {
+            case '"', '\\', '/' -> c;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                if (position + 4 > limit) {
+                    throw error("truncated unicode escape");
+                }
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(chars[position++], 16);
+                    if (digit < 0) {
+                        throw error("invalid unicode escape at column " + column());
+                    }
+                    code = code << 4 | digit;
+                }
+                yield (char) code;
+            }
+            default -> throw error("invalid escape '\\" + c + "' at column " + column());
+        };
+    }
+
+    private void skipValue() throws IOException {
+        char c = peek();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = peek();
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                position++;
+            } while (depth > 0);
+        } else {
+            int from = position;
+            while (position < limit && chars[position] != ',' && chars[position] != '}'
+                    && !Character.isWhitespace(chars[position])) {
+                position++;
+            }
+            if (from == position) {
+                throw error("expected a value at column " + column());
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (next() != expected) {
+            throw error("expected '" + expected + "' at column " + column());
+        }
+    }
+
+    private char next() throws IOException {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private char peek() throws IOException {
+        if (position >= limit) {
+            throw error("unexpected end of line");
+        }
+        return chars[position];
+    }
+
+    private void skipWhitespace() {
+        while (position < limit && Character.isWhitespace(chars[position])) {
+            position++;
+        }
+    }
+
+    private int column() {
+        return position - lineStart + 1;
+    }
+
+    private static boolean isNumberChar(char c) {
+        return c >= '0' && c <= '9' || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+}
@@ -0,0 +1,103 @@
+package com.cartrawler.assessment.source;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.util.StringPool;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Base of the text feeds that hold one car per line. Lines are parsed in
+ * place in the reader's buffer; strings go through a {@link StringPool} and
+ * fuel policies are matched without creating a string. Blank lines are
+ * skipped.
+ */
+abstract class LineCarResultSource implements CarResultSource {
+
+    private static final int POOL_SIZE = 4096;
+    private static final char[] FULLFULL = "FULLFULL".toCharArray();
+    private static final char[] FULLEMPTY = "FULLEMPTY".toCharArray();
+
+    private final LineReader lines;
+    protected final StringPool pool = new StringPool(POOL_SIZE);
+    /** Reusable buffer for values that need unescaping. */
+    protected char[] scratch = new char[256];
+
+    LineCarResultSource(Reader reader) {
+        this.lines = new LineReader(reader);
+    }
+
+    @Override
+    public int read(List<CarResult> batch, int max) throws IOException {
+        int read = 0;
+        while (read < max && lines.next()) {
+            char[] chars = lines.buffer();
+            int from = lines.start();
+            int to = lines.end();
+            while (from < to && Character.isWhitespace(chars[from])) {
+                from++;
+            }
+            if (from == to) {
+                continue;
+            }
+            CarResult car = parse(chars, from, to);
+            if (car != null) {
+                batch.add(car);
+                read++;
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lines.close();
+    }
+
+    /**
+     * Parses one non-blank line.
+     *
+     * @return the car, or {@code null} to skip the line
+     */
+    protected abstract CarResult parse(char[] chars, int from, int to) throws IOException;
+
+    /**
+     * @return the policy named by {@code chars[from, to)}, {@code null} for an empty range
+     */
+    protected CarResult.FuelPolicy fuelPolicy(char[] chars, int from, int to) throws IOException {
+        if (from == to) {
+            return null;
+        }
+        if (matches(FULLFULL, chars, from, to)) {
+            return CarResult.FuelPolicy.FULLFULL;
+        }
+        if (matches(FULLEMPTY, chars, from, to)) {
+            return CarResult.FuelPolicy.FULLEMPTY;
+        }
+        throw error("unknown fuel policy '" + new String(chars, from, to - from) + "'");
+    }
+
+    protected char[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new char[Math.max(length, scratch.length * 2)];
+        }
+        return scratch;
+    }
+
+    protected IOException error(String reason) {
+        return new IOException("Malformed record at line " + lines.lineNumber() + ": " + reason);
+    }
+
+    protected static boolean matches(char[] expected, char[] chars, int from, int to) {
+        if (to - from != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (chars[from + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package com.cartrawler.assessment.source;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a character stream into lines inside one reusable buffer. The
+ * current line is {@code buffer()[start(), end())} without its terminator
+ * and stays valid until the next call to {@link #next()}.
+ */
+final class LineReader {
+
+    static final int MAX_LINE_LENGTH = 1 << 20;
+
+    private final Reader reader;
+    private char[] buffer = new char[8192];
+    private int position;
+    private int scanFrom;
+    private int limit;
+    private boolean eof;
+    private int start;
+    private int end;
+    private long lineNumber;
+
+    LineReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return {@code false} at the end of the stream
+     */
+    boolean next() throws IOException {
+        while (true) {
+            for (int i = scanFrom; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    accept(i);
+                    position = i + 1;
+                    scanFrom = position;
+                    return true;
+                }
+            }
+            scanFrom = limit;
+            if (eof) {
+                if (position == limit) {
+                    return false;
+                }
+                accept(limit);
+                position = limit;
+                return true;
+            }
+            fill();
+        }
+    }
+
+    char[] buffer() {
+        return buffer;
+    }
+
+    int start() {
+        return start;
+    }
+
+    int end() {
+        return end;
+    }
+
+    /**
+     * @return the one-based number of the current line
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    void close() throws IOException {
+        reader.close();
+    }
+
+    private void accept(int terminator) {
+        start = position;
+        end = terminator > start && buffer[terminator - 1] == '\r' ? terminator - 1 : terminator;
+        lineNumber++;
+    }
+
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            scanFrom -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            if (buffer.length >= MAX_LINE_LENGTH) {
+                throw new IOException("Line " + (lineNumber + 1) + " is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            char[] grown = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, limit);
+            buffer = grown;
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.cartrawler.assessment.supplier;
+
+import com.cartrawler.assessment.enums.Supplier;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Case-insensitive, allocation-free lookup of corporate suppliers.
+ * <p>
+ * Names are stored upper-cased in an open-addressing table whose hash seed
+ * is chosen at build time so that no two names share a slot (a perfect
+ * hash): a lookup hashes the name once, folding case per character, and
+ * compares against a single candidate. The search for such a seed is
+ * bounded; when it fails, e.g. for names whose hashes collide under every
+ * seed, names are placed by linear probing and a lookup compares the few
+ * candidates up to the longest probe. Unknown and {@code null} names are
+ * not corporate.
+ * <p>
+ * Instances are immutable. The registry used by {@link Supplier#isCorporate(String)}
+ * can be replaced at runtime with {@link #install(SupplierRegistry)}, e.g.
+ * from configuration, without a redeploy.
+ */
+public final class SupplierRegistry {
+
+    private static final int MAX_SEEDS_PER_SIZE = 64;
+    private static final int MAX_GROWTH_SHIFTS = 3;
+
+    private static volatile SupplierRegistry current = defaults();
+
+    private final String[] slots;
+    private final int mask;
+    private final int seed;
+    private final int maxProbe;
+    private final Set<String> names;
+
+    private SupplierRegistry(String[] slots, int seed, int maxProbe, Set<String> names) {
+        this.slots = slots;
+        this.mask = slots.length - 1;
+        this.seed = seed;
+        this.maxProbe = maxProbe;
+        this.names = names;
+    }
+
+    /**
+     * The corporate suppliers declared by the {@link Supplier} enum.
+     */
+    public static SupplierRegistry defaults() {
+        Set<String> corporate = new LinkedHashSet<>();
+        for (Supplier supplier : Supplier.values()) {
+            if (supplier.isCorporate()) {
+                corporate.add(supplier.name());
+            }
+        }
+        return of(corporate);
+    }
+
+    /**
+     * Builds a registry with the given corporate supplier names.
+     */
+    public static SupplierRegistry of(Collection<String> corporateNames) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : corporateNames) {
+            if (name != null && !name.isBlank()) {
+                names.add(upperCase(name.strip()));
+            }
+        }
+        int minCapacity = Integer.highestOneBit(Math.max(1, names.size()) * 2 - 1) << 1;
+        for (int shift = 0; shift <= MAX_GROWTH_SHIFTS; shift++) {
+            int capacity = minCapacity << shift;
+            for (int seed = 0; seed < MAX_SEEDS_PER_SIZE; seed++) {
+                String[] slots = place(names, capacity, seed);
+                if (slots != null) {
+                    return new SupplierRegistry(slots, seed, 0, Set.copyOf(names));
+                }
+            }
+        }
+        return probed(names, minCapacity);
+    }
+
+    public static SupplierRegistry current() {
+        return current;
+    }
+
+    public static void install(SupplierRegistry registry) {
+        current = registry;
+    }
+
+    public boolean isCorporate(String supplierName) {
+        if (supplierName == null) {
+            return false;
+        }
+        int slot = hash(supplierName, seed);
+        for (int probe = 0; probe <= maxProbe; probe++, slot++) {
+            String candidate = slots[slot & mask];
+            if (candidate == null) {
+                return false;
+            }
+            if (equalsIgnoreCase(candidate, supplierName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Upper-cased corporate supplier names.
+     */
+    public Set<String> corporateNames() {
+        return names;
+    }
+
+    private static String[] place(Set<String> names, int capacity, int seed) {
+        String[] slots = new String[capacity];
+        for (String name : names) {
+            int slot = hash(name, seed) & (capacity - 1);
+            if (slots[slot] != null) {
+                return null;
+            }
+            slots[slot] = name;
+        }
+        return slots;
+    }
+
+    private static SupplierRegistry probed(Set<String> names, int capacity) {
+        String[] slots = new String[capacity];
+        int maxProbe = 0;
+        for (String name : names) {
+            int slot = hash(name, 0);
+            int probe = 0;
+            while (slots[(slot + probe) & (capacity - 1)] != null) {
+                probe++;
+            }
+            slots[(slot + probe) & (capacity - 1)] = name;
+            maxProbe = Math.max(maxProbe, probe);
+        }
+        return new SupplierRegistry(slots, 0, maxProbe, Set.copyOf(names));
+    }
+
+    /**
+     * Murmur3-style: the seed is the initial state and every character is
+     * mixed into it, so names colliding under one seed are unlikely to
+     * collide under the next.
+     */
+    private static int hash(String name, int seed) {
+        int h = seed;
+        for (int i = 0; i < name.length(); i++) {
+            int k = fold(name.charAt(i)) * 0xCC9E2D51;
+            k = Integer.rotateLeft(k, 15) * 0x1B873593;
+            h = Integer.rotateLeft(h ^ k, 13) * 5 + 0xE6546B64;
+        }
+        h ^= name.length();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(String upper, String name) {
+        if (upper.length() != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (upper.charAt(i) != fold(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String upperCase(String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+        }
+        return Character.toUpperCase(c);
+    }
+}
@@ -1,15 +1,21 @@
 package com.cartrawler.assessment.util;
 
 import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.dedup.Deduplicator;
 import com.cartrawler.assessment.enums.Category;
 import com.cartrawler.assessment.enums.Supplier;
+import com.cartrawler.assessment.metrics.PipelineMetrics;
+import com.cartrawler.assessment.metrics.PipelineOperation;
+import com.cartrawler.assessment.metrics.PipelineRun;
+import com.cartrawler.assessment.metrics.Stage;
+import com.cartrawler.assessment.pricing.PriceFilter;
+import com.cartrawler.assessment.pricing.PriceRule;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.List;
 
 
@@ -17,15 +23,20 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class CarsUtils {
 
+    /**
+     * Keeps the first occurrence of every car, in input order.
+     *
+     * @see Deduplicator
+     */
     public static List<CarResult> removeDuplicates(List<CarResult> cars) {
-        return new ArrayList<>(new LinkedHashSet<>(cars));
+        return Deduplicator.removeDuplicates(cars);
     }
 
     /**
      * Derives a SIPP category label for a CarResult based on the first SIPP character.
      */
     public static Category categoryOf(CarResult car) {
-        return Category.fromSipp(car.getSippCode());
+        return car.getCategory();
     }
 
     /**
@@ -33,45 +44,74 @@ public class CarsUtils {
      * *strictly above* the median price of its own group
      * (corporate vs non-corporate).
      * <p>
+     * This is {@link PriceFilter#DEFAULT}, the
+     * {@link PriceRule#FULL_FULL_ABOVE_SEGMENT_MEDIAN} rule; other thresholds
+     * (percentiles, per category or supplier) are expressed as
+     * {@link PriceRule}s. An empty segment has a median of
+     * {@link Double#POSITIVE_INFINITY}, so nothing in it is removed.
+     * <p>
      * The input list order is preserved.
      */
     public static List<CarResult> filterFullAboveMedianPrice(List<CarResult> cars) {
+        return PriceFilter.DEFAULT.apply(cars);
+    }
 
-        List<CarResult> corporate = cars.stream()
-                .filter(car -> Supplier.isCorporate(car.getSupplierName()))
-                .toList();
-        List<CarResult> nonCorporate = cars.stream()
-                .filter(car -> !Supplier.isCorporate(car.getSupplierName()))
-                .toList();
-
+    /**
+     * {@link #filterFullAboveMedianPrice(List)} for a list that is already
+     * segmented, such as the output of
+     * {@link com.cartrawler.assessment.pipeline.BucketedPipeline}: the first
+     * {@code corporateCount} cars are corporate and the rest are not, so no
+     * supplier lookups are needed.
+     */
+    public static List<CarResult> filterFullAboveMedianPrice(List<CarResult> cars, int corporateCount) {
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.FILTER);
+        int size = cars.size();
+        double[] costs = new double[size];
+        for (int i = 0; i < size; i++) {
+            costs[i] = cars.get(i).getRentalCost();
+        }
+        double medianCorporate = segmentMedian(costs, 0, corporateCount);
+        double medianNonCorporate = segmentMedian(costs, corporateCount, size);
+        run.stage(Stage.MEDIAN);
 
-        double medianCorporate = corporate.isEmpty()
-                ? Double.POSITIVE_INFINITY
-                : median(corporate.stream()
-                .map(CarResult::getRentalCost)
-                .toList());
+        return removeFullAbove(cars, corporateCount, medianCorporate, medianNonCorporate, run);
+    }
 
-        double medianNonCorporate = nonCorporate.isEmpty()
-                ? Double.POSITIVE_INFINITY
-                : median(nonCorporate.stream()
-                .map(CarResult::getRentalCost)
-                .toList());
+    /**
+     * Approximate variant of {@link #filterFullAboveMedianPrice(List)} for very
+     * large feeds: segment medians come from {@link QuantileSketch}es fed in a
+     * single pass, so prices are never materialised. Each median averages the
+     * sketch estimates of the two middle ranks and is within
+     * {@code relativeAccuracy} of the exact one.
+     * <p>
+     * The input list order is preserved.
+     */
+    public static List<CarResult> filterFullAboveApproximateMedianPrice(List<CarResult> cars,
+                                                                        double relativeAccuracy) {
+        QuantileSketch corporate = new QuantileSketch(relativeAccuracy);
+        QuantileSketch nonCorporate = new QuantileSketch(relativeAccuracy);
+        boolean[] isCorporate = new boolean[cars.size()];
+        for (int i = 0; i < isCorporate.length; i++) {
+            CarResult car = cars.get(i);
+            isCorporate[i] = Supplier.isCorporate(car.getSupplierName());
+            (isCorporate[i] ? corporate : nonCorporate).add(car.getRentalCost());
+        }
+        double medianCorporate = corporate.isEmpty() ? Double.POSITIVE_INFINITY : corporate.median();
+        double medianNonCorporate = nonCorporate.isEmpty() ? Double.POSITIVE_INFINITY : nonCorporate.median();
 
-        // Single pass over the already-ordered list
-        return cars.stream()
-                .filter(car -> {
-                    boolean fullFull = car.getFuelPolicy() == CarResult.FuelPolicy.FULLFULL;
-                    boolean corporateFlag = Supplier.isCorporate(car.getSupplierName());
-                    double threshold = corporateFlag ? medianCorporate : medianNonCorporate;
-                    boolean isRemoved = fullFull && car.getRentalCost() > threshold;
-                    if (isRemoved) {
-                        log.atInfo()
-                                .addArgument(car)
-                                .log("{} will be skipped");
-                    }
-                    return !isRemoved;
-                })
-                .toList();
+        List<CarResult> kept = new ArrayList<>(isCorporate.length);
+        for (int i = 0; i < isCorporate.length; i++) {
+            CarResult car = cars.get(i);
+            double threshold = isCorporate[i] ? medianCorporate : medianNonCorporate;
+            if (car.getFuelPolicy() == CarResult.FuelPolicy.FULLFULL && car.getRentalCost() > threshold) {
+                log.atInfo()
+                        .addArgument(car)
+                        .log("{} will be skipped");
+            } else {
+                kept.add(car);
+            }
+        }
+        return Collections.unmodifiableList(kept);
     }
 
     /**
@@ -82,15 +122,44 @@ public class CarsUtils {
         if (values == null || values.isEmpty()) {
             throw new IllegalArgumentException("List must not be null or empty");
         }
-        List<Double> sorted = new ArrayList<>(values);
-        Collections.sort(sorted);
-        int n = sorted.size();
-        if (n % 2 == 1) {
-            return sorted.get(n / 2);
-        } else {
-            return (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2.0;
+        double[] copy = new double[values.size()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = values.get(i);
         }
+        return median(copy, copy.length);
     }
 
+    /**
+     * Computes the median of the first {@code length} values in O(n) expected
+     * time using in-place selection; the array is reordered.
+     *
+     * @see QuickSelect#median(double[], int)
+     */
+    public static double median(double[] values, int length) {
+        return QuickSelect.median(values, length);
+    }
+
+    private static double segmentMedian(double[] costs, int from, int to) {
+        return from == to ? Double.POSITIVE_INFINITY : QuickSelect.median(costs, from, to);
+    }
 
+    private static List<CarResult> removeFullAbove(List<CarResult> cars, int corporateCount,
+                                                   double medianCorporate, double medianNonCorporate,
+                                                   PipelineRun run) {
+        List<CarResult> kept = new ArrayList<>(cars.size());
+        for (int i = 0; i < cars.size(); i++) {
+            CarResult car = cars.get(i);
+            double threshold = i < corporateCount ? medianCorporate : medianNonCorporate;
+            if (car.getFuelPolicy() == CarResult.FuelPolicy.FULLFULL && car.getRentalCost() > threshold) {
+                log.atInfo()
+                        .addArgument(car)
+                        .log("{} will be skipped");
+            } else {
+                kept.add(car);
+            }
+        }
+        run.stage(Stage.FILTER);
+        run.finish(cars.size(), kept.size());
+        return Collections.unmodifiableList(kept);
+    }
 }
@@ -0,0 +1,92 @@
+package com.cartrawler.assessment.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Writes doubles as ASCII straight into a byte array, with exactly the
+ * output of {@link Double#toString(double)}.
+ * <p>
+ * Prices ({@code 12.81}, {@code 350.0}) take the fast path: a magnitude in
+ * {@code [1e-3, 1e7)}, where {@code Double.toString} uses plain notation,
+ * and a value that is the correctly rounded double of a decimal with at
+ * most {@value #MAX_FAST_FRACTION_DIGITS} fraction digits. The first digit
+ * count {@code k} for which {@code round(v·10^k) / 10^k == v} gives the
+ * shortest decimal, and in that range no other decimal with {@code k}
+ * fraction digits rounds to the same double, so it is the one
+ * {@code Double.toString} picks. Everything else (more digits, tiny or huge
+ * magnitudes, {@code NaN}, infinities) falls back to
+ * {@code Double.toString}, which allocates.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DoubleFormatter {
+
+    /** Longest output of {@link Double#toString(double)}, e.g. {@code -2.2250738585072014E-308}. */
+    public static final int MAX_LENGTH = 24;
+
+    private static final int MAX_FAST_FRACTION_DIGITS = 6;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6};
+    private static final long[] LONG_POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    /**
+     * Writes {@code value} at {@code out[offset]}; at most {@link #MAX_LENGTH} bytes.
+     *
+     * @return the offset after the last byte written
+     */
+    public static int format(double value, byte[] out, int offset) {
+        double magnitude = Math.abs(value);
+        if (magnitude == 0) {
+            return value == 0 && 1 / value < 0 ? putAscii("-0.0", out, offset) : putAscii("0.0", out, offset);
+        }
+        if (magnitude >= 1e-3 && magnitude < 1e7) {
+            for (int digits = 0; digits <= MAX_FAST_FRACTION_DIGITS; digits++) {
+                long scaled = Math.round(magnitude * POWERS_OF_TEN[digits]);
+                if (scaled / POWERS_OF_TEN[digits] == magnitude) {
+                    if (value < 0) {
+                        out[offset++] = '-';
+                    }
+                    return putDecimal(scaled, digits, out, offset);
+                }
+            }
+        }
+        return putAscii(Double.toString(value), out, offset);
+    }
+
+    /**
+     * Writes {@code scaled / 10^digits} with at least one fraction digit.
+     */
+    private static int putDecimal(long scaled, int digits, byte[] out, int offset) {
+        long integer = scaled / LONG_POWERS_OF_TEN[digits];
+        long fraction = scaled - integer * LONG_POWERS_OF_TEN[digits];
+        offset = putLong(integer, out, offset);
+        out[offset++] = '.';
+        if (digits == 0) {
+            out[offset++] = '0';
+            return offset;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            out[offset + i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        return offset + digits;
+    }
+
+    private static int putLong(long value, byte[] out, int offset) {
+        int length = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            length++;
+        }
+        for (int i = offset + length - 1; i >= offset; i--) {
+            out[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + length;
+    }
+
+    private static int putAscii(String text, byte[] out, int offset) {
+        for (int i = 0; i < text.length(); i++) {
+            out[offset++] = (byte) text.charAt(i);
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,84 @@
+package com.cartrawler.assessment.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parses decimal numbers straight from a character range.
+ * <p>
+ * Plain decimals such as prices ({@code 12.81}, {@code -3}, {@code 1.5e2})
+ * with at most 15 significant digits and a small decimal exponent take the
+ * exact fast path: the digits are accumulated into a {@code long} that fits
+ * a {@code double} exactly and scaled by one exact power of ten, which
+ * rounds correctly. Everything else (long mantissas, large exponents,
+ * {@code NaN}, hexadecimal) falls back to {@link Double#parseDouble(String)},
+ * so results are always identical to it.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DoubleParser {
+
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * @throws NumberFormatException if {@code chars[from, to)} is not a number
+     */
+    public static double parse(char[] chars, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean anyDigit = false;
+        for (; i < to && isDigit(chars[i]); i++) {
+            anyDigit = true;
+            if (mantissa != 0 || chars[i] != '0') {
+                mantissa = mantissa * 10 + (chars[i] - '0');
+                digits++;
+            }
+        }
+        if (i < to && chars[i] == '.') {
+            for (i++; i < to && isDigit(chars[i]); i++) {
+                anyDigit = true;
+                if (mantissa != 0 || chars[i] != '0') {
+                    mantissa = mantissa * 10 + (chars[i] - '0');
+                    digits++;
+                }
+                scale--;
+            }
+        }
+        if (anyDigit && digits <= MAX_FAST_DIGITS && i < to && (chars[i] == 'e' || chars[i] == 'E')) {
+            int e = i + 1;
+            boolean negativeExponent = false;
+            if (e < to && (chars[e] == '-' || chars[e] == '+')) {
+                negativeExponent = chars[e] == '-';
+                e++;
+            }
+            int exponent = 0;
+            int exponentStart = e;
+            for (; e < to && isDigit(chars[e]) && exponent < 1000; e++) {
+                exponent = exponent * 10 + (chars[e] - '0');
+            }
+            if (e > exponentStart) {
+                scale += negativeExponent ? -exponent : exponent;
+                i = e;
+            }
+        }
+        if (!anyDigit || i != to || digits > MAX_FAST_DIGITS
+                || scale < -(POWERS_OF_TEN.length - 1) || scale > POWERS_OF_TEN.length - 1) {
+            return Double.parseDouble(new String(chars, from, to - from));
+        }
+        double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,97 @@
+package com.cartrawler.assessment.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stable sort of row indices by a primitive {@code double} column, ordered
+ * like {@link Double#compare(double, double)}. Bottom-up merge sort over
+ * insertion-sorted runs; equal keys keep their relative order, matching
+ * {@code List.sort(Comparator.comparingDouble(...))} without boxing or
+ * comparator calls.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class IndexSort {
+
+    private static final int RUN = 32;
+
+    /**
+     * Sorts {@code rows[from, to)} by {@code keys[row]}.
+     *
+     * @param buffer scratch space of at least {@code to - from} elements
+     */
+    public static void sortByKey(int[] rows, int from, int to, double[] keys, int[] buffer) {
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+        for (int start = from; start < to; start += RUN) {
+            insertionSort(rows, start, Math.min(start + RUN, to), keys);
+        }
+        if (length <= RUN) {
+            return;
+        }
+        int[] src = rows;
+        int[] dst = buffer;
+        int srcOffset = from;
+        int dstOffset = 0;
+        for (int width = RUN; width < length; width <<= 1) {
+            for (int left = 0; left < length; left += width << 1) {
+                int mid = Math.min(left + width, length);
+                int right = Math.min(left + (width << 1), length);
+                merge(src, srcOffset, dst, dstOffset, left, mid, right, keys);
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+            int swapOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = swapOffset;
+        }
+        if (src != rows) {
+            System.arraycopy(src, srcOffset, rows, from, length);
+        }
+    }
+
+    public static void sortByKey(int[] rows, int from, int to, double[] keys) {
+        sortByKey(rows, from, to, keys, new int[to - from]);
+    }
+
+    private static void merge(int[] src, int srcOffset, int[] dst, int dstOffset,
+                              int left, int mid, int right, double[] keys) {
+        int i = left;
+        int j = mid;
+        int k = left;
+        while (i < mid && j < right) {
+            int a = src[srcOffset + i];
+            int b = src[srcOffset + j];
+            // take from the right run only when strictly smaller: keeps the sort stable
+            if (Double.compare(keys[b], keys[a]) < 0) {
+                dst[dstOffset + k++] = b;
+                j++;
+            } else {
+                dst[dstOffset + k++] = a;
+                i++;
+            }
+        }
+        while (i < mid) {
+            dst[dstOffset + k++] = src[srcOffset + i++];
+        }
+        while (j < right) {
+            dst[dstOffset + k++] = src[srcOffset + j++];
+        }
+    }
+
+    private static void insertionSort(int[] rows, int from, int to, double[] keys) {
+        for (int i = from + 1; i < to; i++) {
+            int row = rows[i];
+            double key = keys[row];
+            int j = i - 1;
+            while (j >= from && Double.compare(keys[rows[j]], key) > 0) {
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            rows[j + 1] = row;
+        }
+    }
+}
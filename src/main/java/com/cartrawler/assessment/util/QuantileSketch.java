@@ -0,0 +1,196 @@
+package com.cartrawler.assessment.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streaming quantile sketch with a relative-error guarantee (the DDSketch
+ * layout): positive values are counted in logarithmic bins of ratio
+ * {@code γ = (1 + α) / (1 - α)}, so any quantile is answered within a
+ * relative error of {@code α} using memory proportional to
+ * {@code log(max / min) / log(γ)} rather than to the number of values.
+ * <p>
+ * Sketches with the same accuracy are mergeable, also across processes
+ * through {@link #writeTo(DataOutput)} and {@link #readFrom(DataInput)}.
+ * Values that are zero or negative are counted together and reported as
+ * {@code 0}. Not thread-safe.
+ */
+public final class QuantileSketch {
+
+    private static final int INITIAL_BINS = 64;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private int[] bins = new int[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    /**
+     * @param relativeAccuracy the maximum relative error α of any quantile, in (0, 1)
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void add(double value) {
+        count++;
+        if (!(value > 0)) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureIndex(index);
+        bins[index - offset]++;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with accuracy "
+                    + relativeAccuracy + " and " + other.relativeAccuracy);
+        }
+        if (other.bins.length > 0) {
+            ensureIndex(other.offset);
+            ensureIndex(other.offset + other.bins.length - 1);
+            for (int i = 0; i < other.bins.length; i++) {
+                bins[other.offset + i - offset] += other.bins[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * @param quantile in [0, 1]
+     * @return the approximate value at the given quantile
+     */
+    public double quantile(double quantile) {
+        if (count == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + quantile);
+        }
+        return valueAtRank((long) (quantile * (count - 1)));
+    }
+
+    /**
+     * The average of the estimates at the two middle ranks, so for an even
+     * count it is within {@code α} of the exact median rather than of the
+     * lower middle value.
+     */
+    public double median() {
+        if (count == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+        return (valueAtRank((count - 1) / 2) + valueAtRank(count / 2)) / 2.0;
+    }
+
+    private double valueAtRank(long rank) {
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (rank < seen) {
+                return 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+            }
+        }
+        throw new IllegalStateException("Rank " + rank + " beyond count " + count);
+    }
+
+    /**
+     * Writes the accuracy, the counts and the used range of bins.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        int first = 0;
+        int last = bins.length - 1;
+        while (first <= last && bins[first] == 0) {
+            first++;
+        }
+        while (last >= first && bins[last] == 0) {
+            last--;
+        }
+        out.writeDouble(relativeAccuracy);
+        out.writeLong(count);
+        out.writeLong(zeroCount);
+        out.writeInt(offset + first);
+        out.writeInt(last - first + 1);
+        for (int i = first; i <= last; i++) {
+            out.writeInt(bins[i]);
+        }
+    }
+
+    /**
+     * Reads a sketch written by {@link #writeTo(DataOutput)}.
+     */
+    public static QuantileSketch readFrom(DataInput in) throws IOException {
+        double relativeAccuracy = in.readDouble();
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IOException("Malformed sketch: accuracy " + relativeAccuracy);
+        }
+        QuantileSketch sketch = new QuantileSketch(relativeAccuracy);
+        sketch.count = in.readLong();
+        sketch.zeroCount = in.readLong();
+        int offset = in.readInt();
+        int length = in.readInt();
+        // no sketch needs more bins than span the positive doubles
+        double maxBins = (Math.log(Double.MAX_VALUE) - Math.log(Double.MIN_VALUE)) / sketch.logGamma + 1;
+        if (length < 0 || length > maxBins || sketch.zeroCount < 0 || sketch.zeroCount > sketch.count) {
+            throw new IOException("Malformed sketch");
+        }
+        long binned = 0;
+        if (length > 0) {
+            sketch.bins = new int[length];
+            sketch.offset = offset;
+            for (int i = 0; i < length; i++) {
+                sketch.bins[i] = in.readInt();
+                binned += sketch.bins[i];
+            }
+        }
+        if (binned != sketch.count - sketch.zeroCount) {
+            throw new IOException("Malformed sketch");
+        }
+        return sketch;
+    }
+
+    private void ensureIndex(int index) {
+        if (bins.length == 0) {
+            bins = new int[INITIAL_BINS];
+            offset = index - INITIAL_BINS / 2;
+            return;
+        }
+        if (index < offset) {
+            int grow = Math.max(offset - index, bins.length / 2);
+            int[] grown = new int[bins.length + grow];
+            System.arraycopy(bins, 0, grown, grow, bins.length);
+            bins = grown;
+            offset -= grow;
+        } else if (index >= offset + bins.length) {
+            int grow = Math.max(index - offset - bins.length + 1, bins.length / 2);
+            bins = Arrays.copyOf(bins, bins.length + grow);
+        }
+    }
+}
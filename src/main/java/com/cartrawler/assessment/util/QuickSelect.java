@@ -0,0 +1,188 @@
+package com.cartrawler.assessment.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * In-place selection of order statistics over primitive {@code double} arrays.
+ * <p>
+ * Introselect: a median-of-three quickselect with three-way partitioning, so
+ * runs of equal prices do not degrade it, that falls back to sorting the
+ * remaining range once the recursion depth exceeds {@code 2·log2(n)}. Expected
+ * time is O(n) and the worst case is bounded by O(n log n).
+ * <p>
+ * NaN values are not supported.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class QuickSelect {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Reorders {@code values[from, to)} so that {@code values[k]} holds the value
+     * it would have if the range were sorted, every element before it is not
+     * greater and every element after it is not smaller.
+     *
+     * @return the selected value {@code values[k]}
+     */
+    public static double select(double[] values, int from, int to, int k) {
+        if (k < from || k >= to) {
+            throw new IllegalArgumentException("k=" + k + " outside [" + from + ", " + to + ")");
+        }
+        int depthLimit = depthLimit(to - from);
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                Arrays.sort(values, from, to);
+                return values[k];
+            }
+            long bounds = partition(values, from, to);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            if (k < lt) {
+                to = lt;
+            } else if (k > gt) {
+                from = gt + 1;
+            } else {
+                return values[k];
+            }
+        }
+        insertionSort(values, from, to);
+        return values[k];
+    }
+
+    /**
+     * Multi-select: places every rank of {@code ranks} like
+     * {@link #select(double[], int, int, int)} in one recursive partitioning,
+     * so {@code r} order statistics cost about {@code O(n log r)} rather than
+     * {@code r} separate selections. Each partition step only descends into
+     * the sides that still contain a requested rank.
+     *
+     * @param ranks ascending indices within {@code [from, to)}
+     */
+    public static void selectAll(double[] values, int from, int to, int[] ranks) {
+        for (int i = 0; i < ranks.length; i++) {
+            if (ranks[i] < from || ranks[i] >= to || i > 0 && ranks[i] < ranks[i - 1]) {
+                throw new IllegalArgumentException("Ranks must be ascending within [" + from + ", " + to + ")");
+            }
+        }
+        selectAll(values, from, to, ranks, 0, ranks.length, depthLimit(to - from));
+    }
+
+    /**
+     * Median of the first {@code length} values; the average of the two middle
+     * values when {@code length} is even. Reorders the array.
+     */
+    public static double median(double[] values, int length) {
+        if (length <= 0 || length > values.length) {
+            throw new IllegalArgumentException("Length must be in [1, " + values.length + "]: " + length);
+        }
+        return median(values, 0, length);
+    }
+
+    /**
+     * Median of {@code values[from, to)}; reorders that range only.
+     */
+    public static double median(double[] values, int from, int to) {
+        if (from < 0 || to > values.length || from >= to) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ")");
+        }
+        int length = to - from;
+        int mid = from + length / 2;
+        double upper = select(values, from, to, mid);
+        if (length % 2 == 1) {
+            return upper;
+        }
+        // select leaves every value below mid not greater than the upper middle
+        double lower = values[from];
+        for (int i = from + 1; i < mid; i++) {
+            if (values[i] > lower) {
+                lower = values[i];
+            }
+        }
+        return (lower + upper) / 2.0;
+    }
+
+    private static void selectAll(double[] values, int from, int to, int[] ranks, int firstRank, int endRank,
+                                  int depthLimit) {
+        while (firstRank < endRank) {
+            if (to - from <= INSERTION_SORT_THRESHOLD) {
+                insertionSort(values, from, to);
+                return;
+            }
+            if (depthLimit-- == 0) {
+                Arrays.sort(values, from, to);
+                return;
+            }
+            long bounds = partition(values, from, to);
+            int lt = (int) (bounds >>> 32);
+            int gt = (int) bounds;
+            int leftEnd = firstRank;
+            while (leftEnd < endRank && ranks[leftEnd] < lt) {
+                leftEnd++;
+            }
+            int rightStart = leftEnd;
+            while (rightStart < endRank && ranks[rightStart] <= gt) {
+                rightStart++;
+            }
+            selectAll(values, from, lt, ranks, firstRank, leftEnd, depthLimit);
+            from = gt + 1;
+            firstRank = rightStart;
+        }
+    }
+
+    /**
+     * Three-way partition around a median-of-three pivot:
+     * {@code [from, lt) < pivot}, {@code [lt, gt] == pivot},
+     * {@code (gt, to) > pivot}.
+     *
+     * @return {@code lt << 32 | gt}
+     */
+    private static long partition(double[] values, int from, int to) {
+        double pivot = medianOfThree(values[from], values[(from + to) >>> 1], values[to - 1]);
+        int lt = from;
+        int i = from;
+        int gt = to - 1;
+        while (i <= gt) {
+            double v = values[i];
+            if (v < pivot) {
+                swap(values, lt++, i++);
+            } else if (v > pivot) {
+                swap(values, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        return (long) lt << 32 | gt & 0xFFFFFFFFL;
+    }
+
+    private static int depthLimit(int length) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(length));
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        if (a < b) {
+            return b < c ? b : Math.max(a, c);
+        }
+        return a < c ? a : Math.max(b, c);
+    }
+
+    private static void insertionSort(double[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double v = values[i];
+            int j = i - 1;
+            while (j >= from && values[j] > v) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = v;
+        }
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+}
@@ -0,0 +1,121 @@
+package com.cartrawler.assessment.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stable LSD radix sort of rows by 128-bit unsigned keys held in two
+ * parallel {@code long} arrays, as compiled by
+ * {@link com.cartrawler.assessment.pipeline.SortSpec}.
+ * <p>
+ * One pass over the keys builds the byte histograms of all sixteen digits;
+ * digits that are the same for every key (the unused high word of a narrow
+ * key, the top bytes of a bounded price range) are skipped, so a typical
+ * sort needs only a handful of scatter passes. Each pass moves keys and
+ * rows together into a scratch copy and is stable, so rows with equal keys
+ * keep their original relative order. Short inputs use insertion sort.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RadixSort {
+
+    private static final int INSERTION_THRESHOLD = 64;
+    private static final int DIGITS = 2 * Long.BYTES;
+    private static final int RADIX = 256;
+
+    /**
+     * Sorts {@code high}, {@code low} and {@code rows} together by
+     * {@code (high, low)}, compared as one unsigned 128-bit value.
+     */
+    public static void sort(long[] high, long[] low, int[] rows) {
+        int length = rows.length;
+        if (high.length != length || low.length != length) {
+            throw new IllegalArgumentException("Keys and rows must have the same length");
+        }
+        if (length < INSERTION_THRESHOLD) {
+            insertionSort(high, low, rows);
+            return;
+        }
+        int[][] counts = new int[DIGITS][RADIX];
+        for (int i = 0; i < length; i++) {
+            long lo = low[i];
+            long hi = high[i];
+            for (int digit = 0; digit < Long.BYTES; digit++) {
+                counts[digit][(int) (lo >>> (digit << 3)) & 0xFF]++;
+                counts[Long.BYTES + digit][(int) (hi >>> (digit << 3)) & 0xFF]++;
+            }
+        }
+
+        long[] srcHigh = high;
+        long[] srcLow = low;
+        int[] srcRows = rows;
+        long[] dstHigh = null;
+        long[] dstLow = null;
+        int[] dstRows = null;
+        int[] offsets = new int[RADIX];
+        for (int digit = 0; digit < DIGITS; digit++) {
+            int[] count = counts[digit];
+            if (count[digit(high[0], low[0], digit)] == length) {
+                continue;
+            }
+            if (dstRows == null) {
+                dstHigh = new long[length];
+                dstLow = new long[length];
+                dstRows = new int[length];
+            }
+            int offset = 0;
+            for (int value = 0; value < RADIX; value++) {
+                offsets[value] = offset;
+                offset += count[value];
+            }
+            for (int i = 0; i < length; i++) {
+                int target = offsets[digit(srcHigh[i], srcLow[i], digit)]++;
+                dstHigh[target] = srcHigh[i];
+                dstLow[target] = srcLow[i];
+                dstRows[target] = srcRows[i];
+            }
+            long[] swapHigh = srcHigh;
+            long[] swapLow = srcLow;
+            int[] swapRows = srcRows;
+            srcHigh = dstHigh;
+            srcLow = dstLow;
+            srcRows = dstRows;
+            dstHigh = swapHigh;
+            dstLow = swapLow;
+            dstRows = swapRows;
+        }
+        if (srcRows != rows) {
+            System.arraycopy(srcHigh, 0, high, 0, length);
+            System.arraycopy(srcLow, 0, low, 0, length);
+            System.arraycopy(srcRows, 0, rows, 0, length);
+        }
+    }
+
+    private static int digit(long hi, long lo, int digit) {
+        return digit < Long.BYTES
+                ? (int) (lo >>> (digit << 3)) & 0xFF
+                : (int) (hi >>> ((digit - Long.BYTES) << 3)) & 0xFF;
+    }
+
+    private static void insertionSort(long[] high, long[] low, int[] rows) {
+        for (int i = 1; i < rows.length; i++) {
+            long hi = high[i];
+            long lo = low[i];
+            int row = rows[i];
+            int j = i - 1;
+            while (j >= 0 && compare(high[j], low[j], hi, lo) > 0) {
+                high[j + 1] = high[j];
+                low[j + 1] = low[j];
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            high[j + 1] = hi;
+            low[j + 1] = lo;
+            rows[j + 1] = row;
+        }
+    }
+
+    private static int compare(long highA, long lowA, long highB, long lowB) {
+        int compare = Long.compareUnsigned(highA, highB);
+        return compare != 0 ? compare : Long.compareUnsigned(lowA, lowB);
+    }
+}
@@ -0,0 +1,108 @@
+package com.cartrawler.assessment.util;
+
+import java.util.TreeMap;
+
+/**
+ * Median of a multiset of values that grows and shrinks over time.
+ * <p>
+ * Two sorted multisets hold the lower and the upper half; the lower half has
+ * the same size as the upper half or one more. Adding or removing a value is
+ * O(log n) and the median is read from the two boundary keys, with the same
+ * definition as {@link QuickSelect#median(double[], int)}: the average of
+ * the two middle values when the size is even.
+ * <p>
+ * NaN values are not supported. Not thread-safe.
+ */
+public final class RunningMedian {
+
+    private final TreeMap<Double, Integer> lower = new TreeMap<>();
+    private final TreeMap<Double, Integer> upper = new TreeMap<>();
+    private int lowerSize;
+    private int upperSize;
+
+    public int size() {
+        return lowerSize + upperSize;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void add(double value) {
+        if (lowerSize == 0 || value <= lower.lastKey()) {
+            increment(lower, value);
+            lowerSize++;
+        } else {
+            increment(upper, value);
+            upperSize++;
+        }
+        rebalance();
+    }
+
+    /**
+     * Removes one occurrence of {@code value}.
+     *
+     * @return {@code false} when the value is not present
+     */
+    public boolean remove(double value) {
+        if (lowerSize > 0 && value <= lower.lastKey()) {
+            if (!decrement(lower, value)) {
+                return false;
+            }
+            lowerSize--;
+        } else {
+            if (!decrement(upper, value)) {
+                return false;
+            }
+            upperSize--;
+        }
+        rebalance();
+        return true;
+    }
+
+    /**
+     * @return the median, or {@link Double#POSITIVE_INFINITY} when empty so
+     * that a threshold against it removes nothing
+     */
+    public double median() {
+        if (lowerSize == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return lowerSize > upperSize
+                ? lower.lastKey()
+                : (lower.lastKey() + upper.firstKey()) / 2.0;
+    }
+
+    private void rebalance() {
+        if (lowerSize > upperSize + 1) {
+            double moved = lower.lastKey();
+            decrement(lower, moved);
+            increment(upper, moved);
+            lowerSize--;
+            upperSize++;
+        } else if (upperSize > lowerSize) {
+            double moved = upper.firstKey();
+            decrement(upper, moved);
+            increment(lower, moved);
+            upperSize--;
+            lowerSize++;
+        }
+    }
+
+    private static void increment(TreeMap<Double, Integer> half, double value) {
+        half.merge(value, 1, Integer::sum);
+    }
+
+    private static boolean decrement(TreeMap<Double, Integer> half, double value) {
+        Integer count = half.get(value);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            half.remove(value);
+        } else {
+            half.put(value, count - 1);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,143 @@
+package com.cartrawler.assessment.util;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary-encodes strings into dense ids using open addressing over
+ * parallel arrays, so no per-entry objects are created. Each slot packs the
+ * string's hash with its id into one {@code long}, so a probe only
+ * dereferences a stored string when the hashes match. {@code null} is
+ * always id {@code 0}; other strings get ids from {@code 1} in first-seen
+ * order. {@link #clear()} keeps the arrays for reuse. Not thread-safe.
+ */
+public final class StringDictionary {
+
+    public static final int NULL_ID = 0;
+
+    private String[] keys;
+    /** {@code hash << 32 | id} per slot; id 0 marks an empty slot. */
+    private long[] entries;
+    private String[] values;
+    private int size;
+
+    public StringDictionary() {
+        this(16);
+    }
+
+    public StringDictionary(int expectedSize) {
+        int capacity = tableSizeFor(expectedSize);
+        keys = new String[capacity];
+        entries = new long[capacity];
+        values = new String[Math.max(16, expectedSize + 1)];
+    }
+
+    /**
+     * @return the id of the string, assigning the next id if it is new
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        int hash = value.hashCode();
+        int mask = entries.length - 1;
+        int slot = mix(hash) & mask;
+        long entry;
+        while ((entry = entries[slot]) != 0) {
+            if ((int) (entry >>> 32) == hash && value.equals(keys[slot])) {
+                return (int) entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int id = ++size;
+        keys[slot] = value;
+        entries[slot] = (long) hash << 32 | id;
+        if (id >= values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[id] = value;
+        if (size * 2 > entries.length) {
+            rehash(entries.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * @return the id of the string or {@code -1} if it has not been encoded
+     */
+    public int find(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        int hash = value.hashCode();
+        int mask = entries.length - 1;
+        int slot = mix(hash) & mask;
+        long entry;
+        while ((entry = entries[slot]) != 0) {
+            if ((int) (entry >>> 32) == hash && value.equals(keys[slot])) {
+                return (int) entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public String decode(int id) {
+        return values[id];
+    }
+
+    /**
+     * @return the strings indexed by id, with {@code null} at {@link #NULL_ID}
+     */
+    public String[] toArray() {
+        return Arrays.copyOf(values, size + 1);
+    }
+
+    /** Number of distinct non-null strings. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Grows the table up front so that {@code expectedSize} strings fit without rehashing.
+     */
+    public void ensureCapacity(int expectedSize) {
+        int capacity = tableSizeFor(expectedSize);
+        if (capacity > entries.length) {
+            rehash(capacity);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(entries, 0);
+        Arrays.fill(values, 0, size + 1, null);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        long[] oldEntries = entries;
+        keys = new String[capacity];
+        entries = new long[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldEntries.length; i++) {
+            if (oldEntries[i] != 0) {
+                int slot = mix((int) (oldEntries[i] >>> 32)) & mask;
+                while (entries[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                entries[slot] = oldEntries[i];
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize * 2) - 1) << 1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.cartrawler.assessment.util;
+
+/**
+ * Bounded, direct-mapped cache of strings keyed by their characters, for
+ * parsers that see the same values over and over (supplier names, SIPP
+ * codes, popular descriptions).
+ * <p>
+ * {@link #get(char[], int, int)} hashes a character range and returns the
+ * cached string when the slot holds an equal one, so repeated values cost
+ * no allocation. On a miss the new string replaces whatever the slot held;
+ * memory therefore stays constant however many distinct values a feed has.
+ * Not thread-safe.
+ */
+public final class StringPool {
+
+    private final String[] strings;
+    private final int[] hashes;
+    private final int mask;
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public StringPool(int capacity) {
+        int size = Math.max(16, Integer.highestOneBit(Math.max(1, capacity) - 1) << 1);
+        strings = new String[size];
+        hashes = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * @return a string equal to {@code chars[from, to)}
+     */
+    public String get(char[] chars, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String cached = strings[slot];
+        if (cached != null && hashes[slot] == hash && contentEquals(cached, chars, from, to)) {
+            return cached;
+        }
+        String value = new String(chars, from, to - from);
+        strings[slot] = value;
+        hashes[slot] = hash;
+        return value;
+    }
+
+    private static boolean contentEquals(String value, char[] chars, int from, int to) {
+        if (value.length() != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i - from) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,13 +1,39 @@
 package com.cartrawler.assessment.view;
 
 import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.offheap.OfferCursor;
 
-import java.util.Set;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
+/**
+ * Prints offers to standard output, one {@code CarResult.toString()} line
+ * each, through a buffered {@link OfferRenderer} so a whole result set
+ * takes a few writes instead of a {@code println} per offer.
+ */
 public class Display {
-    public void render(Set<CarResult> cars) {
-        for (CarResult car : cars) {
-            System.out.println(car);
+
+    /**
+     * Prints the cars in iteration order; lists need no copy into a set.
+     */
+    public void render(Iterable<? extends CarResult> cars) {
+        try (OfferRenderer renderer = new OfferRenderer(RenderSink.console(), OutputFormat.TEXT)) {
+            renderer.render(cars);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Prints the remaining offers of an off-heap cursor in the same format
+     * without materialising a {@link CarResult} per offer. The caller closes
+     * the cursor.
+     */
+    public void render(OfferCursor cursor) {
+        try (OfferRenderer renderer = new OfferRenderer(RenderSink.console(), OutputFormat.TEXT)) {
+            renderer.render(cursor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
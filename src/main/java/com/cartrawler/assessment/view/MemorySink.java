@@ -0,0 +1,62 @@
+package com.cartrawler.assessment.view;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Collects rendered bytes in a growable array, e.g. for an HTTP response
+ * body or a test. Can be {@link #reset()} and reused; not thread-safe.
+ */
+public final class MemorySink implements RenderSink {
+
+    private byte[] bytes;
+    private int size;
+
+    public MemorySink() {
+        this(8192);
+    }
+
+    public MemorySink(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        if (bytes.length - size < length) {
+            bytes = Arrays.copyOf(bytes, Math.max(size + length, bytes.length * 2));
+        }
+        buffer.get(bytes, size, length);
+        size += length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Copies the collected bytes to {@code out} without an intermediate array.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    /**
+     * @return the collected bytes decoded as UTF-8
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, 0, size, StandardCharsets.UTF_8);
+    }
+}
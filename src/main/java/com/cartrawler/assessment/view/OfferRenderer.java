@@ -0,0 +1,301 @@
+package com.cartrawler.assessment.view;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.offheap.OfferCursor;
+import com.cartrawler.assessment.util.DoubleFormatter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes offers as UTF-8 lines of an {@link OutputFormat} straight into
+ * one reusable byte buffer and hands it to a {@link RenderSink} whenever it
+ * fills up, so a large result set costs a few big writes rather than a
+ * {@code println} (lock, string concatenation, flush) per offer.
+ * <p>
+ * Strings are encoded char by char without intermediate copies, and costs
+ * go through {@link DoubleFormatter}, which writes the same digits as
+ * {@link Double#toString(double)}; the {@link OutputFormat#TEXT} output is
+ * byte for byte that of printing {@code CarResult.toString()}.
+ * <p>
+ * Nothing reaches the sink before the buffer fills, {@link #flush()} or
+ * {@link #close()}. Not thread-safe.
+ */
+public final class OfferRenderer implements AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] TEXT_SEPARATOR = ascii(" : ");
+    private static final byte[] CSV_HEADER = ascii("description,supplierName,sippCode,rentalCost,fuelPolicy\n");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] JSON_DESCRIPTION = ascii("{\"description\":");
+    private static final byte[] JSON_SUPPLIER_NAME = ascii(",\"supplierName\":");
+    private static final byte[] JSON_SIPP_CODE = ascii(",\"sippCode\":");
+    private static final byte[] JSON_RENTAL_COST = ascii(",\"rentalCost\":");
+    private static final byte[] JSON_FUEL_POLICY = ascii(",\"fuelPolicy\":");
+    private static final byte[] JSON_END = ascii("}\n");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+    /** Worst case of one encoded char: a JSON {@code \}{@code uXXXX} escape. */
+    private static final int MAX_CHAR_BYTES = 6;
+
+    private final RenderSink sink;
+    private final OutputFormat format;
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private int position;
+
+    public OfferRenderer(RenderSink sink, OutputFormat format) {
+        this(sink, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    public OfferRenderer(RenderSink sink, OutputFormat format, int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size must be at least 64: " + bufferSize);
+        }
+        this.sink = sink;
+        this.format = format;
+        this.bytes = new byte[bufferSize];
+        this.buffer = ByteBuffer.wrap(bytes);
+        if (format == OutputFormat.CSV) {
+            System.arraycopy(CSV_HEADER, 0, bytes, 0, CSV_HEADER.length);
+            position = CSV_HEADER.length;
+        }
+    }
+
+    public OfferRenderer render(Iterable<? extends CarResult> cars) throws IOException {
+        for (CarResult car : cars) {
+            render(car);
+        }
+        return this;
+    }
+
+    public OfferRenderer render(CarResult car) throws IOException {
+        encode(car.getDescription(), car.getSupplierName(), car.getSippCode(), car.getRentalCost(),
+                car.getFuelPolicy());
+        return this;
+    }
+
+    /**
+     * Renders the remaining offers of an off-heap cursor, decoding fields in
+     * place; the caller closes the cursor.
+     */
+    public OfferRenderer render(OfferCursor cursor) throws IOException {
+        while (cursor.next()) {
+            encode(cursor.description(), cursor.supplierName(), cursor.sippCode(), cursor.rentalCost(),
+                    cursor.fuelPolicy());
+        }
+        return this;
+    }
+
+    /**
+     * Writes the buffered lines to the sink and flushes it.
+     */
+    public void flush() throws IOException {
+        drain();
+        sink.flush();
+    }
+
+    /**
+     * Flushes and closes the sink.
+     */
+    @Override
+    public void close() throws IOException {
+        try (sink) {
+            flush();
+        }
+    }
+
+    private void encode(String description, String supplierName, String sippCode, double rentalCost,
+                        CarResult.FuelPolicy fuelPolicy) throws IOException {
+        switch (format) {
+            case TEXT -> {
+                putText(supplierName);
+                put(TEXT_SEPARATOR);
+                putText(description);
+                put(TEXT_SEPARATOR);
+                putText(sippCode);
+                put(TEXT_SEPARATOR);
+                putCost(rentalCost);
+                put(TEXT_SEPARATOR);
+                putText(fuelPolicy == null ? null : fuelPolicy.name());
+                putByte('\n');
+            }
+            case CSV -> {
+                putCsv(description);
+                putByte(',');
+                putCsv(supplierName);
+                putByte(',');
+                putCsv(sippCode);
+                putByte(',');
+                putCost(rentalCost);
+                putByte(',');
+                if (fuelPolicy != null) {
+                    putText(fuelPolicy.name());
+                }
+                putByte('\n');
+            }
+            case JSON_LINES -> {
+                put(JSON_DESCRIPTION);
+                putJson(description);
+                put(JSON_SUPPLIER_NAME);
+                putJson(supplierName);
+                put(JSON_SIPP_CODE);
+                putJson(sippCode);
+                put(JSON_RENTAL_COST);
+                putCost(rentalCost);
+                put(JSON_FUEL_POLICY);
+                putJson(fuelPolicy == null ? null : fuelPolicy.name());
+                put(JSON_END);
+            }
+        }
+    }
+
+    /**
+     * {@code String.valueOf} semantics: {@code null} prints as {@code null}.
+     */
+    private void putText(String value) throws IOException {
+        if (value == null) {
+            put(NULL);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            i = putChar(value, i);
+        }
+    }
+
+    /**
+     * {@code null} as an empty field, quoted (with {@code ""} escapes) when
+     * empty or containing a comma, quote or line break.
+     */
+    private void putCsv(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            putText(value);
+            return;
+        }
+        putByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                putByte('"');
+            }
+            i = putChar(value, i);
+        }
+        putByte('"');
+    }
+
+    private void putJson(String value) throws IOException {
+        if (value == null) {
+            put(NULL);
+            return;
+        }
+        putByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"', '\\' -> {
+                    putByte('\\');
+                    putByte(c);
+                }
+                case '\n' -> putEscape('n');
+                case '\r' -> putEscape('r');
+                case '\t' -> putEscape('t');
+                default -> {
+                    if (c < 0x20) {
+                        ensure(MAX_CHAR_BYTES);
+                        bytes[position++] = '\\';
+                        bytes[position++] = 'u';
+                        bytes[position++] = '0';
+                        bytes[position++] = '0';
+                        bytes[position++] = HEX[c >>> 4];
+                        bytes[position++] = HEX[c & 0xF];
+                    } else {
+                        i = putChar(value, i);
+                    }
+                }
+            }
+        }
+        putByte('"');
+    }
+
+    private void putEscape(char c) throws IOException {
+        putByte('\\');
+        putByte(c);
+    }
+
+    /**
+     * UTF-8 encodes the char at {@code index}, or the surrogate pair starting
+     * there; an unpaired surrogate becomes {@code '?'} like
+     * {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @return the index of the last char consumed
+     */
+    private int putChar(String value, int index) throws IOException {
+        ensure(4);
+        char c = value.charAt(index);
+        if (c < 0x80) {
+            bytes[position++] = (byte) c;
+        } else if (c < 0x800) {
+            bytes[position++] = (byte) (0xC0 | c >>> 6);
+            bytes[position++] = (byte) (0x80 | c & 0x3F);
+        } else if (!Character.isSurrogate(c)) {
+            bytes[position++] = (byte) (0xE0 | c >>> 12);
+            bytes[position++] = (byte) (0x80 | c >>> 6 & 0x3F);
+            bytes[position++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(++index));
+            bytes[position++] = (byte) (0xF0 | codePoint >>> 18);
+            bytes[position++] = (byte) (0x80 | codePoint >>> 12 & 0x3F);
+            bytes[position++] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+            bytes[position++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            bytes[position++] = '?';
+        }
+        return index;
+    }
+
+    private void putCost(double cost) throws IOException {
+        ensure(DoubleFormatter.MAX_LENGTH);
+        position = DoubleFormatter.format(cost, bytes, position);
+    }
+
+    private void putByte(char c) throws IOException {
+        ensure(1);
+        bytes[position++] = (byte) c;
+    }
+
+    private void put(byte[] ascii) throws IOException {
+        ensure(ascii.length);
+        System.arraycopy(ascii, 0, bytes, position, ascii.length);
+        position += ascii.length;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (bytes.length - position < length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            buffer.clear().limit(position);
+            sink.write(buffer);
+            position = 0;
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        byte[] ascii = new byte[text.length()];
+        for (int i = 0; i < ascii.length; i++) {
+            ascii[i] = (byte) text.charAt(i);
+        }
+        return ascii;
+    }
+}
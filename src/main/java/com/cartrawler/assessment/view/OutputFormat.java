@@ -0,0 +1,16 @@
+package com.cartrawler.assessment.view;
+
+/**
+ * Line formats written by {@link OfferRenderer}.
+ */
+public enum OutputFormat {
+    /** {@code supplierName : description : sippCode : rentalCost : fuelPolicy}, as {@code CarResult.toString()}. */
+    TEXT,
+    /**
+     * A header line, then {@code description,supplierName,sippCode,rentalCost,fuelPolicy}
+     * as read by {@link com.cartrawler.assessment.source.CsvCarResultSource}.
+     */
+    CSV,
+    /** One JSON object per line, as read by {@link com.cartrawler.assessment.source.JsonLinesCarResultSource}. */
+    JSON_LINES
+}
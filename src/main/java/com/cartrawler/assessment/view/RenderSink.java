@@ -0,0 +1,86 @@
+package com.cartrawler.assessment.view;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Destination of the bytes an {@link OfferRenderer} encodes. Writes come in
+ * large batches, one buffer at a time.
+ */
+public interface RenderSink extends AutoCloseable {
+
+    /**
+     * Writes all remaining bytes of {@code bytes}.
+     */
+    void write(ByteBuffer bytes) throws IOException;
+
+    default void flush() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * Standard output. Each batch takes the {@code System.out} lock once;
+     * closing the sink flushes but never closes {@code System.out}.
+     */
+    static RenderSink console() {
+        return new RenderSink() {
+            @Override
+            public void write(ByteBuffer bytes) {
+                PrintStream out = System.out;
+                if (bytes.hasArray()) {
+                    out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                    bytes.position(bytes.limit());
+                } else {
+                    byte[] copy = new byte[bytes.remaining()];
+                    bytes.get(copy);
+                    out.write(copy, 0, copy.length);
+                }
+            }
+
+            @Override
+            public void flush() {
+                System.out.flush();
+            }
+
+            @Override
+            public void close() {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * Writes to {@code channel}, which the sink closes.
+     */
+    static RenderSink channel(WritableByteChannel channel) {
+        return new RenderSink() {
+            @Override
+            public void write(ByteBuffer bytes) throws IOException {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * Creates or truncates {@code path} and writes to it through a {@link FileChannel}.
+     */
+    static RenderSink file(Path path) throws IOException {
+        return channel(FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+}
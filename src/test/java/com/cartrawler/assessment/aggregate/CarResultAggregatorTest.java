@@ -0,0 +1,135 @@
+package com.cartrawler.assessment.aggregate;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CORPORATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CarResultAggregatorTest {
+
+    @Test
+    public void testBatchesMatchOneShotProcessing() {
+        List<CarResult> cars = loadAllCars();
+        CarResultAggregator aggregator = new CarResultAggregator();
+        // uneven batches, the last one repeating cars that already arrived
+        aggregator.accept(cars.subList(0, 7));
+        aggregator.accept(cars.subList(7, 30));
+        aggregator.accept(cars.subList(30, cars.size()));
+        aggregator.accept(cars.subList(0, 10));
+
+        SegmentedCars expected = BucketedPipeline.run(cars);
+        SegmentedCars snapshot = aggregator.snapshot();
+
+        assertThat(snapshot.getCars()).containsExactlyElementsOf(expected.getCars());
+        assertThat(snapshot.getCorporateCount()).isEqualTo(expected.getCorporateCount());
+        assertThat(aggregator.filteredSnapshot()).containsExactlyElementsOf(expected.filterFullAboveMedianPrice());
+    }
+
+    @Test
+    public void testSnapshotsRefineAsBatchesArrive() {
+        CarResult early = new CarResult("A", "HERTZ", "EDMR", 30, FULLFULL);
+        CarResult tie = new CarResult("B", "HERTZ", "EDMR", 30, FULLEMPTY);
+        CarResult cheap = new CarResult("C", "HERTZ", "EDMR", 10, FULLEMPTY);
+        CarResultAggregator aggregator = new CarResultAggregator();
+
+        assertThat(aggregator.accept(List.of(early))).isEqualTo(1);
+        assertThat(aggregator.filteredSnapshot()).containsExactly(early);
+
+        assertThat(aggregator.accept(List.of(tie, cheap, early))).isEqualTo(2);
+        assertThat(aggregator.snapshot().getCars()).containsExactly(cheap, early, tie);
+        assertThat(aggregator.median(CORPORATE)).isEqualTo(30);
+        assertThat(aggregator.filteredSnapshot()).containsExactly(cheap, early, tie);
+    }
+
+    @Test
+    public void testDeltaMatchesOneShotProcessing() {
+        List<CarResult> cars = loadAllCars();
+        List<CarResult> current = new ArrayList<>(new LinkedHashSet<>(cars.subList(0, 40)));
+        CarResultAggregator aggregator = new CarResultAggregator();
+        aggregator.accept(current);
+
+        // a repriced car keeps its arrival position, added ones arrive last
+        CarResult repriced = current.get(3);
+        CarResult cheaper = new CarResult(repriced.getDescription(), repriced.getSupplierName(),
+                repriced.getSippCode(), repriced.getRentalCost() / 2, repriced.getFuelPolicy());
+        OfferDelta.Builder delta = OfferDelta.builder().remove(current.get(10)).reprice(cheaper);
+        cars.subList(40, cars.size()).forEach(delta::add);
+        current.set(3, cheaper);
+        current.remove(10);
+        current.addAll(cars.subList(40, cars.size()));
+
+        aggregator.apply(delta.build());
+
+        SegmentedCars expected = BucketedPipeline.run(current);
+        assertThat(aggregator.snapshot().getCars()).containsExactlyElementsOf(expected.getCars());
+        assertThat(aggregator.filteredSnapshot()).containsExactlyElementsOf(expected.filterFullAboveMedianPrice());
+    }
+
+    @Test
+    public void testChangeSetReportsMovedAndCrossedOffers() {
+        CarResult a = new CarResult("A", "HERTZ", "EDMR", 30, FULLFULL);
+        CarResult b = new CarResult("B", "HERTZ", "EDMR", 20, FULLEMPTY);
+        CarResult c = new CarResult("C", "HERTZ", "EDMR", 40, FULLFULL);
+        CarResult d = new CarResult("D", "HERTZ", "EDMR", 10, FULLEMPTY);
+        CarResult e = new CarResult("E", "HERTZ", "EDMR", 45, FULLFULL);
+        CarResult dearerB = new CarResult("B", "HERTZ", "EDMR", 50, FULLEMPTY);
+        CarResultAggregator aggregator = new CarResultAggregator();
+        aggregator.accept(List.of(a, b, c, d));
+        assertThat(aggregator.filteredSnapshot()).containsExactly(d, b);
+
+        // the median moves from 25 to 42.5, past A and C
+        ChangeSet changes = aggregator.apply(OfferDelta.builder().remove(d).reprice(dearerB).add(e).build());
+
+        assertThat(aggregator.snapshot().getCars()).containsExactly(a, c, e, dearerB);
+        assertThat(aggregator.filteredSnapshot()).containsExactly(a, c, dearerB);
+        assertThat(changes.getRemoved()).containsExactly(d);
+        assertThat(changes.getAdded()).singleElement().satisfies(placement -> {
+            assertThat(placement.getCar()).isSameAs(e);
+            assertThat(placement.getNext()).isSameAs(dearerB);
+            assertThat(placement.isKept()).isFalse();
+        });
+        assertThat(changes.getMoved()).singleElement().satisfies(placement -> {
+            assertThat(placement.getCar()).isSameAs(dearerB);
+            assertThat(placement.getNext()).isNull();
+            assertThat(placement.isKept()).isTrue();
+        });
+        assertThat(changes.getFilteredIn()).containsExactly(a, c);
+        assertThat(changes.getFilteredOut()).isEmpty();
+
+        ChangeSet back = aggregator.apply(OfferDelta.builder().reprice(b).build());
+        assertThat(back.getFilteredOut()).containsExactly(c);
+        assertThat(aggregator.filteredSnapshot()).containsExactly(b, a);
+    }
+
+    @Test
+    public void testDeltaIgnoresUnknownAndUnchangedOffers() {
+        CarResult car = new CarResult("A", "HERTZ", "EDMR", 30, FULLFULL);
+        CarResult unknown = new CarResult("Z", "HERTZ", "EDMR", 30, FULLFULL);
+        CarResultAggregator aggregator = new CarResultAggregator();
+        aggregator.accept(List.of(car));
+
+        ChangeSet changes = aggregator.apply(OfferDelta.builder().add(car).remove(unknown).reprice(car).build());
+
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(aggregator.snapshot().getCars()).containsExactly(car);
+    }
+
+    @Test
+    public void testEmptyAggregator() {
+        CarResultAggregator aggregator = new CarResultAggregator();
+
+        assertThat(aggregator.snapshot().getCars()).isEmpty();
+        assertThat(aggregator.filteredSnapshot()).isEmpty();
+        assertThat(aggregator.median(CORPORATE)).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+}
@@ -0,0 +1,43 @@
+package com.cartrawler.assessment.batch;
+
+import com.cartrawler.assessment.car.CarResult;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.cartrawler.assessment.car.AssessmentRunner.process;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static com.cartrawler.assessment.util.CarsUtils.filterFullAboveMedianPrice;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CarResultBatchTest {
+
+    @Test
+    public void testRoundTripsRows() {
+        CarResult car = new CarResult("Golf", "HERTZ", "CDMR", 18.5, FULLEMPTY);
+        CarResult noPolicy = new CarResult(null, "NIZA", null, 9, null);
+        CarResultBatch batch = CarResultBatch.of(List.of(car, noPolicy));
+
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(batch.asList()).containsExactly(car, noPolicy);
+        assertThat(batch.get(0).getRentalCost()).isEqualTo(18.5);
+        assertThat(batch.fuelPolicy(1)).isNull();
+        assertThat(batch.supplierId(0)).isNotEqualTo(batch.supplierId(1));
+    }
+
+    @Test
+    public void testPipelineMatchesObjectPipeline() {
+        List<CarResult> cars = loadAllCars();
+        CarResultBatch batch = CarResultBatch.of(cars);
+        List<CarResult> processed = process(cars);
+
+        int[] rows = BatchPipeline.process(batch);
+
+        assertThat(batch.view(rows)).containsExactlyElementsOf(processed);
+        assertThat(batch.view(rows)).extracting(CarResult::getRentalCost)
+                .containsExactlyElementsOf(processed.stream().map(CarResult::getRentalCost).toList());
+        assertThat(batch.view(BatchPipeline.filterFullAboveMedianPrice(batch, rows)))
+                .containsExactlyElementsOf(filterFullAboveMedianPrice(processed));
+    }
+}
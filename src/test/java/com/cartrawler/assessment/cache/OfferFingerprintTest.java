@@ -0,0 +1,48 @@
+package com.cartrawler.assessment.cache;
+
+import com.cartrawler.assessment.car.CarResult;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OfferFingerprintTest {
+
+    @Test
+    public void testEqualContentEqualFingerprint() {
+        assertThat(OfferFingerprint.of(loadAllCars())).isEqualTo(OfferFingerprint.of(new ArrayList<>(loadAllCars())));
+    }
+
+    @Test
+    public void testOrderSensitive() {
+        List<CarResult> swapped = new ArrayList<>(loadAllCars());
+        Collections.swap(swapped, 0, 1);
+
+        assertThat(OfferFingerprint.of(swapped)).isNotEqualTo(OfferFingerprint.of(loadAllCars()));
+    }
+
+    @Test
+    public void testEveryFieldCounts() {
+        CarResult car = new CarResult("Polo", "NIZA", "EDMR", 12.81, FULLEMPTY);
+        Set<OfferFingerprint> fingerprints = new HashSet<>();
+        fingerprints.add(OfferFingerprint.of(List.of(car)));
+        fingerprints.add(OfferFingerprint.of(List.of(new CarResult("Polo", "NIZA", "EDMR", 12.82, FULLEMPTY))));
+        fingerprints.add(OfferFingerprint.of(List.of(new CarResult("Polo", "NIZA", "EDMR", 12.81, FULLFULL))));
+        fingerprints.add(OfferFingerprint.of(List.of(new CarResult("Polo", "NIZA", "EDMN", 12.81, FULLEMPTY))));
+        // moving characters between adjacent strings, or null versus empty, must not alias
+        fingerprints.add(OfferFingerprint.of(List.of(new CarResult("Pol", "oNIZA", "EDMR", 12.81, FULLEMPTY))));
+        fingerprints.add(OfferFingerprint.of(List.of(new CarResult("", "NIZA", "EDMR", 12.81, FULLEMPTY))));
+        fingerprints.add(OfferFingerprint.of(List.of(new CarResult(null, "NIZA", "EDMR", 12.81, FULLEMPTY))));
+        fingerprints.add(OfferFingerprint.of(List.of(car, car)));
+
+        assertThat(fingerprints).hasSize(8);
+    }
+}
@@ -0,0 +1,118 @@
+package com.cartrawler.assessment.cache;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResultCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void testHitReturnsSameResult() {
+        ResultCache cache = ResultCache.builder().ticker(now::get).build();
+        List<CarResult> cars = loadAllCars();
+
+        CachedResult result = cache.get(cars);
+        SegmentedCars expected = BucketedPipeline.run(cars);
+
+        assertThat(result.getProcessed()).containsExactlyElementsOf(expected.getCars());
+        assertThat(result.getFiltered()).containsExactlyElementsOf(expected.filterFullAboveMedianPrice());
+        assertThat(cache.get(new ArrayList<>(cars))).isSameAs(result);
+        assertThat(cache.stats().getHitCount()).isEqualTo(1);
+        assertThat(cache.stats().getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEntriesExpire() {
+        ResultCache cache = ResultCache.builder().expireAfterWrite(Duration.ofSeconds(10)).ticker(now::get).build();
+        List<CarResult> cars = loadAllCars();
+        CachedResult first = cache.get(cars);
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(cache.getIfPresent(cars)).isNull();
+        assertThat(cache.get(cars)).isNotSameAs(first);
+        assertThat(cache.stats().getExpirationCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFrequentSearchesSurviveAScan() {
+        ResultCache cache = ResultCache.builder().maximumSize(100).ticker(now::get).build();
+        List<List<CarResult>> popular = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            popular.add(search("popular " + i));
+        }
+        for (int round = 0; round < 5; round++) {
+            popular.forEach(cache::get);
+        }
+        // one-off searches interleaved with the popular ones would flush a plain LRU of 100 entries
+        for (int i = 0; i < 20_000; i++) {
+            cache.get(search("one-off " + i));
+            if (i % 2 == 0) {
+                cache.get(popular.get(i / 2 % popular.size()));
+            }
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        assertThat(popular).allSatisfy(search -> assertThat(cache.getIfPresent(search)).isNotNull());
+        assertThat(cache.stats().getEvictionCount()).isPositive();
+    }
+
+    @Test
+    public void testExpiryRacingLoadsKeepsTheBound() throws Exception {
+        ResultCache cache = ResultCache.builder()
+                .maximumSize(20)
+                .expireAfterWrite(Duration.ofNanos(50))
+                .ticker(now::incrementAndGet)
+                .build();
+        List<List<CarResult>> searches = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            searches.add(search("search " + i));
+        }
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Random random = new Random(t);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50_000; i++) {
+                        cache.get(searches.get(random.nextInt(searches.size())));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.stats().getExpirationCount()).isPositive();
+        assertThat(cache.size()).isLessThanOrEqualTo(20);
+    }
+
+    private static List<CarResult> search(String description) {
+        return List.of(new CarResult(description, "NIZA", "EDMR", 10, FULLEMPTY));
+    }
+}
@@ -0,0 +1,46 @@
+package com.cartrawler.assessment.car;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+
+/**
+ * Reproducible random searches for tests that compare a pipeline with a
+ * reference implementation. Prices and descriptions are drawn from small
+ * ranges, so the output has many price ties and duplicate cars; suppliers
+ * cover both segments and SIPP codes every category.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RandomCars {
+
+    private static final String[] SUPPLIERS = {"HERTZ", "SIXT", "NIZA", "CENTAURO"};
+    private static final String[] SIPP_CODES = {"MDMR", "EDMR", "CDMR", "IFAR", "XXXX"};
+
+    /**
+     * {@code size} cars with about {@code size / 2} distinct descriptions.
+     */
+    public static List<CarResult> generate(long seed, int size) {
+        return generate(seed, size, size / 2 + 1);
+    }
+
+    /**
+     * {@code size} cars with up to {@code descriptions} distinct descriptions;
+     * fewer descriptions mean more duplicates.
+     */
+    public static List<CarResult> generate(long seed, int size, int descriptions) {
+        Random random = new Random(seed);
+        List<CarResult> cars = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cars.add(new CarResult("Car " + random.nextInt(descriptions), SUPPLIERS[random.nextInt(SUPPLIERS.length)],
+                    SIPP_CODES[random.nextInt(SIPP_CODES.length)], random.nextInt(50),
+                    random.nextBoolean() ? FULLFULL : FULLEMPTY));
+        }
+        return cars;
+    }
+}
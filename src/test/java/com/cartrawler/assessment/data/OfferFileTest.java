@@ -0,0 +1,127 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.batch.BatchPipeline;
+import com.cartrawler.assessment.batch.CarResultBatch;
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OfferFileTest {
+
+    private Path file;
+
+    @BeforeMethod
+    public void createFile() throws IOException {
+        file = Files.createTempFile("offers", ".ctof");
+    }
+
+    @AfterMethod
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testRoundTripOfBundledDataset() throws IOException {
+        OfferFile offers = OfferFile.open(OfferFileConverter.convertBundledDataset(file));
+        List<CarResult> cars = loadAllCars();
+
+        assertThat(offers.size()).isEqualTo(cars.size());
+        for (int row = 0; row < cars.size(); row++) {
+            CarResult car = offers.get(row);
+            assertThat(car).isEqualTo(cars.get(row));
+            assertThat(car.getRentalCost()).isEqualTo(cars.get(row).getRentalCost());
+        }
+        assertThat(BucketedPipeline.process(offers.asList())).containsExactlyElementsOf(BucketedPipeline.process(cars));
+    }
+
+    @Test
+    public void testBatchMatchesObjectPipeline() throws IOException {
+        OfferFile offers = OfferFile.open(OfferFileConverter.convertBundledDataset(file));
+        CarResultBatch batch = offers.toBatch();
+
+        assertThat(batch.size()).isEqualTo(offers.size());
+        assertThat(batch.view(BatchPipeline.process(batch)))
+                .containsExactlyElementsOf(BucketedPipeline.process(loadAllCars()));
+    }
+
+    @Test
+    public void testNullsAndNonAsciiStrings() throws IOException {
+        List<CarResult> cars = new ArrayList<>();
+        cars.add(new CarResult(null, "Škoda Rent", null, 0.5, null));
+        cars.add(new CarResult("Citroën C3", null, "EDMR", 12.25, FULLFULL));
+        OfferFileWriter.write(file, cars);
+
+        OfferFile offers = OfferFile.open(file);
+
+        assertThat(offers.asList()).containsExactlyElementsOf(cars);
+        assertThat(offers.fuelPolicy(0)).isNull();
+        assertThat(offers.supplierName(0)).isEqualTo("Škoda Rent");
+        assertThat(offers.description(1)).isEqualTo("Citroën C3");
+    }
+
+    @Test
+    public void testRejectsForeignFile() throws IOException {
+        Files.writeString(file, "description,supplier,sipp,cost,fuel\n".repeat(4));
+
+        assertThatThrownBy(() -> OfferFile.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Not an offer file");
+    }
+
+    @Test
+    public void testRejectsTruncatedFiles() throws IOException {
+        byte[] bytes = Files.readAllBytes(OfferFileConverter.convertBundledDataset(file));
+        int dictionaryOffset = (int) ByteBuffer.wrap(bytes).order(OfferFileFormat.ORDER)
+                .getLong(OfferFileFormat.DICTIONARY_OFFSET);
+
+        // within the records
+        Files.write(file, Arrays.copyOf(bytes, OfferFileFormat.HEADER_SIZE + 10));
+        assertThatThrownBy(() -> OfferFile.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Corrupt offer file header");
+
+        // within the first dictionary's count
+        Files.write(file, Arrays.copyOf(bytes, dictionaryOffset + 2));
+        assertThatThrownBy(() -> OfferFile.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Truncated offer file dictionary");
+
+        // within the last dictionary
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> OfferFile.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testRejectsRecordsOutsideTheDictionaries() throws IOException {
+        byte[] bytes = Files.readAllBytes(OfferFileConverter.convertBundledDataset(file));
+        ByteBuffer.wrap(bytes).order(OfferFileFormat.ORDER)
+                .putInt(OfferFileFormat.HEADER_SIZE + OfferFileFormat.DESCRIPTION, 1_000_000)
+                .put(OfferFileFormat.HEADER_SIZE + OfferFileFormat.RECORD_SIZE + OfferFileFormat.FUEL, (byte) 9);
+        Files.write(file, bytes);
+
+        OfferFile offers = OfferFile.open(file);
+
+        assertThatThrownBy(() -> offers.description(0)).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> offers.fuelPolicy(1)).isInstanceOf(UncheckedIOException.class);
+        assertThat(offers.supplierName(0)).isEqualTo(loadAllCars().get(0).getSupplierName());
+        assertThatThrownBy(offers::toBatch)
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Corrupt offer file record 0");
+    }
+}
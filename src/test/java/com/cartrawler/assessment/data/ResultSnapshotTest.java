@@ -0,0 +1,161 @@
+package com.cartrawler.assessment.data;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.enums.Category;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CORPORATE;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.NON_CORPORATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResultSnapshotTest {
+
+    private Path file;
+
+    @BeforeMethod
+    public void createFile() throws IOException {
+        file = Files.createTempFile("results", ".ctrs");
+    }
+
+    @AfterMethod
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testRoundTripOfProcessedAndFilteredResults() throws IOException {
+        SegmentedCars result = BucketedPipeline.run(loadAllCars());
+        ResultSnapshotWriter.write(file, result);
+
+        ResultSnapshot snapshot = ResultSnapshot.open(file);
+
+        assertThat(snapshot.size()).isEqualTo(result.getCars().size());
+        assertThat(snapshot.corporateCount()).isEqualTo(result.getCorporateCount());
+        assertThat(snapshot.processed()).containsExactlyElementsOf(result.getCars());
+        assertThat(snapshot.filtered()).containsExactlyElementsOf(result.filterFullAboveMedianPrice());
+        for (int row = 0; row < snapshot.size(); row++) {
+            assertThat(snapshot.processed().get(row).getRentalCost()).isEqualTo(result.getCars().get(row).getRentalCost());
+        }
+    }
+
+    @Test
+    public void testSlicesDecodeOnTheirOwn() throws IOException {
+        SegmentedCars result = BucketedPipeline.run(loadAllCars());
+        ResultSnapshotWriter.write(file, result);
+        ResultSnapshot snapshot = ResultSnapshot.open(file);
+
+        List<CarResult> concatenated = new ArrayList<>();
+        List<CarResult> filtered = new ArrayList<>();
+        for (int segment : new int[]{CORPORATE, NON_CORPORATE}) {
+            for (Category category : Category.values()) {
+                concatenated.addAll(snapshot.slice(segment, category));
+                filtered.addAll(snapshot.filteredSlice(segment, category));
+            }
+        }
+
+        assertThat(concatenated).containsExactlyElementsOf(result.getCars());
+        assertThat(filtered).containsExactlyElementsOf(result.filterFullAboveMedianPrice());
+    }
+
+    @Test
+    public void testExactCostsAndNullFields() throws IOException {
+        List<CarResult> processed = List.of(
+                new CarResult(null, "NIZA", "EDMR", -0.0, null),
+                new CarResult("Citroën C3", "NIZA", "EDMR", 0.0, FULLFULL),
+                new CarResult("Fiat 500", "NIZA", "EDMR", 12.81, FULLEMPTY),
+                new CarResult("VW Golf", "NIZA", "EDMR", 1e300, FULLFULL));
+        ResultSnapshotWriter.write(file, processed, 0, processed.subList(0, 3));
+
+        ResultSnapshot snapshot = ResultSnapshot.open(file);
+
+        assertThat(snapshot.processed()).containsExactlyElementsOf(processed);
+        assertThat(snapshot.processed()).extracting(CarResult::getRentalCost).containsExactly(-0.0, 0.0, 12.81, 1e300);
+        assertThat(snapshot.filtered()).containsExactlyElementsOf(processed.subList(0, 3));
+        assertThat(snapshot.processed().get(0).getFuelPolicy()).isNull();
+    }
+
+    @Test
+    public void testRejectsForeignAndNewerFiles() throws IOException {
+        ResultSnapshotWriter.write(file, BucketedPipeline.run(loadAllCars()));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[4] = 2;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> ResultSnapshot.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Unsupported result snapshot version 2");
+
+        OfferFileConverter.convertBundledDataset(file);
+
+        assertThatThrownBy(() -> ResultSnapshot.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Not a result snapshot");
+    }
+
+    @Test
+    public void testRejectsTruncatedFiles() throws IOException {
+        ResultSnapshotWriter.write(file, BucketedPipeline.run(loadAllCars()));
+        byte[] bytes = Files.readAllBytes(file);
+        int dictionaryOffset = (int) ByteBuffer.wrap(bytes).order(ResultSnapshotFormat.ORDER)
+                .getLong(ResultSnapshotFormat.DICTIONARY_OFFSET);
+
+        // within the bucket table
+        Files.write(file, Arrays.copyOf(bytes, ResultSnapshotFormat.HEADER_SIZE + 10));
+        assertThatThrownBy(() -> ResultSnapshot.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Truncated result snapshot");
+
+        // within the first dictionary's count
+        Files.write(file, Arrays.copyOf(bytes, dictionaryOffset + 2));
+        assertThatThrownBy(() -> ResultSnapshot.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Truncated result snapshot dictionary");
+
+        // within the last dictionary
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> ResultSnapshot.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testCorruptRecordsFailDecoding() throws IOException {
+        ResultSnapshotWriter.write(file, BucketedPipeline.run(loadAllCars()));
+        byte[] bytes = Files.readAllBytes(file);
+        int recordSection = ResultSnapshotFormat.HEADER_SIZE
+                + (BucketedPipeline.BUCKETS + 1) * ResultSnapshotFormat.BUCKET_ENTRY_SIZE;
+        // an unterminated varint where the first record starts
+        Arrays.fill(bytes, recordSection, recordSection + 12, (byte) 0xFF);
+        Files.write(file, bytes);
+
+        ResultSnapshot snapshot = ResultSnapshot.open(file);
+
+        assertThatThrownBy(snapshot::decodeAll)
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Corrupt result snapshot bucket");
+    }
+
+    @Test
+    public void testRejectsUngroupedInput() {
+        CarResult corporate = new CarResult("A", "HERTZ", "EDMR", 10, FULLFULL);
+        CarResult nonCorporate = new CarResult("B", "NIZA", "EDMR", 10, FULLFULL);
+
+        assertThatThrownBy(() -> ResultSnapshotWriter.write(file, List.of(nonCorporate, corporate), 1, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(file.resolveSibling(file.getFileName() + ".tmp")).doesNotExist();
+    }
+}
@@ -0,0 +1,96 @@
+package com.cartrawler.assessment.dedup;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.car.RandomCars;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.dedup.Deduplicator.removeDuplicates;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrentDedupIndexTest {
+
+    @Test
+    public void testConcurrentInsertsMatchSequentialDedup() throws Exception {
+        // few distinct cars: most inserts race on an existing key
+        List<CarResult> cars = RandomCars.generate(5, 50_000, 600);
+        Random random = new Random(5);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < cars.size(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, random);
+
+        int threads = 8;
+        ConcurrentDedupIndex index = new ConcurrentDedupIndex(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> fetchers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<Integer> share = order.subList(order.size() * t / threads, order.size() * (t + 1) / threads);
+                fetchers.add(executor.submit(() -> {
+                    start.await();
+                    for (int position : share) {
+                        index.insert(cars.get(position), position);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> fetcher : fetchers) {
+                fetcher.get();
+            }
+        }
+
+        List<CarResult> expected = removeDuplicates(cars);
+        List<CarResult> survivors = index.survivors();
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(survivors).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(survivors.get(i)).isSameAs(expected.get(i));
+        }
+    }
+
+    @Test
+    public void testLowestSequenceWins() {
+        CarResult late = new CarResult("Polo", "NIZA", "EDMR", 30, FULLFULL);
+        CarResult early = new CarResult("Polo", "NIZA", "EDMR", 10, FULLFULL);
+        CarResult tie = new CarResult("Polo", "NIZA", "EDMR", 20, FULLFULL);
+        CarResult other = new CarResult("Polo", "NIZA", "EDMR", 40, null);
+        ConcurrentDedupIndex index = new ConcurrentDedupIndex(1);
+
+        assertThat(index.insert(late, 7)).isTrue();
+        assertThat(index.insert(other, -1)).isTrue();
+        assertThat(index.insert(early, 3)).isTrue();
+        assertThat(index.insert(tie, 3)).isFalse();
+        assertThat(index.insert(late, 7)).isFalse();
+
+        List<CarResult> survivors = index.survivors();
+        assertThat(survivors).hasSize(2);
+        assertThat(survivors.get(0)).isSameAs(other);
+        assertThat(survivors.get(1)).isSameAs(early);
+    }
+
+    @Test
+    public void testInsertAllAndStripeCount() {
+        ConcurrentDedupIndex index = new ConcurrentDedupIndex(3);
+        CarResult car = new CarResult("Golf", "SIXT", "CDMR", 25, FULLEMPTY);
+
+        assertThat(index.insertAll(List.of(car, car, car), 100)).isEqualTo(1);
+        assertThat(index.insertAll(List.of(car), 50)).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(new ConcurrentDedupIndex().survivors()).isEmpty();
+        assertThatThrownBy(() -> new ConcurrentDedupIndex(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
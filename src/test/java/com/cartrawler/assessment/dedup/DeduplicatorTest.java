@@ -0,0 +1,53 @@
+package com.cartrawler.assessment.dedup;
+
+import com.cartrawler.assessment.car.CarResult;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static com.cartrawler.assessment.dedup.Deduplicator.removeDuplicates;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeduplicatorTest {
+
+    @Test
+    public void testMatchesLinkedHashSet() {
+        List<CarResult> cars = loadAllCars();
+
+        assertThat(removeDuplicates(cars)).containsExactlyElementsOf(new ArrayList<>(new LinkedHashSet<>(cars)));
+    }
+
+    @Test
+    public void testKeepsFirstOccurrenceAndHandlesNulls() {
+        CarResult first = new CarResult(null, "NIZA", null, 10, null);
+        CarResult duplicate = new CarResult(null, "NIZA", null, 20, null);
+        CarResult otherFuel = new CarResult(null, "NIZA", null, 30, FULLFULL);
+
+        assertThat(removeDuplicates(List.of(first, duplicate, otherFuel))).containsExactly(first, otherFuel);
+    }
+
+    @Test
+    public void testHashCollisionsAreNotDuplicates() {
+        // "Aa" and "BB" share String.hashCode
+        CarResult aa = new CarResult("Aa", "SIXT", "MDMR", 10, FULLEMPTY);
+        CarResult bb = new CarResult("BB", "SIXT", "MDMR", 10, FULLEMPTY);
+
+        assertThat(Deduplicator.key(aa)).isEqualTo(Deduplicator.key(bb));
+        assertThat(removeDuplicates(List.of(aa, bb, aa))).containsExactly(aa, bb);
+    }
+
+    @Test
+    public void testReusableAcrossCalls() {
+        Deduplicator deduplicator = new Deduplicator();
+        CarResult car = new CarResult("A", "SIXT", "MDMR", 10, FULLEMPTY);
+
+        assertThat(deduplicator.dedup(List.of(car, car, car))).isEqualTo(1);
+        assertThat(deduplicator.dedup(List.of(car))).isEqualTo(1);
+        assertThat(deduplicator.survives(0)).isTrue();
+    }
+}
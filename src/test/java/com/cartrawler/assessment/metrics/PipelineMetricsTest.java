@@ -0,0 +1,93 @@
+package com.cartrawler.assessment.metrics;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PipelineMetricsTest {
+
+    @AfterMethod
+    public void disable() {
+        PipelineMetrics.disable();
+    }
+
+    @Test
+    public void testDisabledRunsAreNotRecorded() {
+        assertThat(PipelineMetrics.isEnabled()).isFalse();
+        PipelineRun run = PipelineMetrics.start(PipelineOperation.PROCESS);
+
+        run.stage(Stage.DEDUP);
+        run.finish(1, 1);
+
+        assertThat(run).isSameAs(PipelineRun.DISABLED);
+        assertThat(run.isEnabled()).isFalse();
+        assertThat(run.getStageNanos(Stage.DEDUP)).isZero();
+    }
+
+    @Test
+    public void testRunsRecordTheirStages() {
+        List<PipelineRun> runs = new ArrayList<>();
+        PipelineMetrics.install(runs::add);
+        List<CarResult> cars = loadAllCars();
+
+        SegmentedCars processed = BucketedPipeline.run(cars);
+        List<CarResult> filtered = processed.filterFullAboveMedianPrice();
+
+        assertThat(runs).extracting(PipelineRun::getOperation)
+                .containsExactly(PipelineOperation.PROCESS, PipelineOperation.FILTER);
+        PipelineRun process = runs.get(0);
+        assertThat(process.getInputSize()).isEqualTo(cars.size());
+        assertThat(process.getOutputSize()).isEqualTo(processed.getCars().size());
+        long stages = 0;
+        for (Stage stage : PipelineOperation.PROCESS.stages()) {
+            assertThat(process.getStageNanos(stage)).isNotNegative();
+            stages += process.getStageNanos(stage);
+        }
+        assertThat(process.getStageNanos(Stage.MEDIAN)).isZero();
+        assertThat(process.getTotalNanos()).isPositive().isGreaterThanOrEqualTo(stages);
+        assertThat(process.getAllocatedBytes()).isPositive();
+
+        PipelineRun filter = runs.get(1);
+        assertThat(filter.getInputSize()).isEqualTo(processed.getCars().size());
+        assertThat(filter.getOutputSize()).isEqualTo(filtered.size());
+        assertThat(filter.getStageNanos(Stage.MEDIAN)).isNotNegative();
+        assertThat(filter.getStageNanos(Stage.FILTER)).isNotNegative();
+        assertThat(filter.getStageNanos(Stage.SORT)).isZero();
+    }
+
+    @Test
+    public void testMicrometerRecorderPublishesStageTimers() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics.install(new MicrometerPipelineRecorder(registry));
+
+        BucketedPipeline.run(loadAllCars()).filterFullAboveMedianPrice();
+        BucketedPipeline.run(loadAllCars());
+
+        Timer sort = registry.get(MicrometerPipelineRecorder.STAGE_TIMER)
+                .tags("operation", "process", "stage", "sort")
+                .timer();
+        assertThat(sort.count()).isEqualTo(2);
+        assertThat(registry.get(MicrometerPipelineRecorder.STAGE_TIMER)
+                .tags("operation", "filter", "stage", "median")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(registry.find(MicrometerPipelineRecorder.STAGE_TIMER)
+                .tags("operation", "filter", "stage", "sort")
+                .timer()).isNull();
+        assertThat(registry.get(MicrometerPipelineRecorder.RUN_TIMER).tags("operation", "process").timer().count())
+                .isEqualTo(2);
+        assertThat(registry.get(MicrometerPipelineRecorder.ALLOCATION_SUMMARY).tags("operation", "process")
+                .summary()
+                .totalAmount()).isPositive();
+    }
+}
@@ -0,0 +1,28 @@
+package com.cartrawler.assessment.metrics;
+
+import com.cartrawler.assessment.cache.ResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.Test;
+
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResultCacheMetricsTest {
+
+    @Test
+    public void testCacheCountersArePublished() {
+        ResultCache cache = ResultCache.builder().build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ResultCacheMetrics(cache).bindTo(registry);
+
+        cache.get(loadAllCars());
+        cache.get(loadAllCars());
+        cache.get(loadAllCars());
+
+        assertThat(registry.get(ResultCacheMetrics.GETS).tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get(ResultCacheMetrics.GETS).tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get(ResultCacheMetrics.EVICTIONS).functionCounter().count()).isZero();
+        assertThat(registry.get(ResultCacheMetrics.EXPIRATIONS).functionCounter().count()).isZero();
+        assertThat(registry.get(ResultCacheMetrics.SIZE).gauge().value()).isEqualTo(1);
+    }
+}
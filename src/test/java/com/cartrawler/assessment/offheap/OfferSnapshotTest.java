@@ -0,0 +1,107 @@
+package com.cartrawler.assessment.offheap;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OfferSnapshotTest {
+
+    @Test
+    public void testCursorReadsBackEveryOffer() {
+        List<CarResult> cars = BucketedPipeline.process(loadAllCars());
+        try (OffHeapArena arena = OffHeapArena.create()) {
+            OfferSnapshot snapshot = arena.store(cars);
+            List<CarResult> read = new ArrayList<>();
+            try (OfferCursor cursor = snapshot.cursor()) {
+                while (cursor.next()) {
+                    CarResult car = cursor.toCarResult();
+                    assertThat(cursor.rentalCost()).isEqualTo(cars.get(cursor.row()).getRentalCost());
+                    assertThat(cursor.category()).isEqualTo(car.getCategory());
+                    assertThat(cursor.bucket()).isEqualTo(BucketedPipeline.bucketOf(car));
+                    assertThat(cursor.appendTo(new StringBuilder())).hasToString(car.toString());
+                    read.add(car);
+                }
+            }
+
+            assertThat(snapshot.size()).isEqualTo(cars.size());
+            assertThat(read).containsExactlyElementsOf(cars);
+            assertThat(arena.allocatedBytes()).isEqualTo((long) cars.size() * OfferSnapshot.RECORD_SIZE);
+        }
+    }
+
+    @Test
+    public void testFilterMatchesHeapFilter() {
+        SegmentedCars segmented = BucketedPipeline.run(loadAllCars());
+        try (OffHeapArena arena = OffHeapArena.create()) {
+            OfferSnapshot snapshot = arena.store(segmented.getCars());
+            List<CarResult> kept = new ArrayList<>();
+            try (OfferCursor cursor = snapshot.cursor(snapshot.filterFullAboveMedianPrice())) {
+                while (cursor.next()) {
+                    kept.add(segmented.getCars().get(cursor.row()));
+                }
+            }
+
+            assertThat(kept).containsExactlyElementsOf(segmented.filterFullAboveMedianPrice());
+        }
+    }
+
+    @Test
+    public void testSeekStartsAPage() {
+        List<CarResult> cars = BucketedPipeline.process(loadAllCars());
+        try (OffHeapArena arena = OffHeapArena.create();
+             OfferCursor cursor = arena.store(cars).cursor()) {
+            cursor.seek(5);
+
+            assertThat(cursor.next()).isTrue();
+            assertThat(cursor.row()).isEqualTo(5);
+            cursor.seek(cars.size());
+            assertThat(cursor.next()).isFalse();
+        }
+    }
+
+    @Test
+    public void testClosingTheArenaWaitsForOpenCursors() {
+        OffHeapArena arena = OffHeapArena.create();
+        OfferSnapshot snapshot = arena.store(List.of(
+                new CarResult("Polo", "HERTZ", "EDMR", 20, FULLFULL),
+                new CarResult("Up", "NIZA", "MDMR", 10, null)));
+        OfferCursor cursor = snapshot.cursor();
+
+        arena.close();
+
+        assertThat(arena.isOpen()).isFalse();
+        assertThat(arena.allocatedBytes()).isPositive();
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.description()).isEqualTo("Polo");
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.fuelPolicy()).isNull();
+        cursor.close();
+        assertThat(arena.allocatedBytes()).isZero();
+        assertThatThrownBy(snapshot::cursor).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(cursor::next).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testFailedStoreFreesItsBuffers() {
+        OffHeapArena arena = OffHeapArena.create();
+        arena.store(List.of(new CarResult("Polo", "HERTZ", "EDMR", 20, FULLFULL)));
+        long stored = arena.allocatedBytes();
+        List<CarResult> broken = Arrays.asList(new CarResult("Up", "NIZA", "MDMR", 10, null), null);
+
+        assertThatThrownBy(() -> arena.store(broken)).isInstanceOf(NullPointerException.class);
+
+        assertThat(arena.allocatedBytes()).isEqualTo(stored);
+        arena.close();
+        assertThat(arena.allocatedBytes()).isZero();
+    }
+}
@@ -0,0 +1,59 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.enums.Category;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CATEGORIES;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.bucketOf;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.process;
+import static com.cartrawler.assessment.util.CarsUtils.filterFullAboveMedianPrice;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BucketedPipelineTest {
+
+    @Test
+    public void testBucketOf() {
+        assertThat(bucketOf(new CarResult("A", "HERTZ", "MDMR", 1, FULLFULL))).isEqualTo(0);
+        assertThat(bucketOf(new CarResult("A", "sixt", "CDMR", 1, FULLFULL))).isEqualTo(2);
+        assertThat(bucketOf(new CarResult("A", "NIZA", "EDMR", 1, FULLFULL))).isEqualTo(CATEGORIES + 1);
+        assertThat(bucketOf(new CarResult("A", null, null, 1, FULLFULL))).isEqualTo(CATEGORIES + 3);
+    }
+
+    @Test
+    public void testMatchesStableSortBySegmentCategoryCost() {
+        List<CarResult> cars = loadAllCars();
+        List<CarResult> expected = new ArrayList<>(new LinkedHashSet<>(cars));
+        expected.sort(Comparator.comparingInt(BucketedPipeline::bucketOf)
+                .thenComparingDouble(CarResult::getRentalCost));
+
+        assertThat(process(cars)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testEqualCostsKeepInputOrder() {
+        CarResult first = new CarResult("A", "AVIS", "EDMR", 20, FULLEMPTY);
+        CarResult second = new CarResult("B", "AVIS", "EDMR", 20, FULLEMPTY);
+        CarResult cheaper = new CarResult("C", "AVIS", "EDMR", 10, FULLEMPTY);
+
+        assertThat(process(List.of(first, second, cheaper, first)))
+                .containsExactly(cheaper, first, second);
+    }
+
+    @Test
+    public void testSegmentedFilterMatchesStandaloneFilter() {
+        SegmentedCars segmented = BucketedPipeline.run(loadAllCars());
+
+        assertThat(segmented.getCorporateCount()).isPositive();
+        assertThat(segmented.filterFullAboveMedianPrice())
+                .containsExactlyElementsOf(filterFullAboveMedianPrice(segmented.getCars()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.car.RandomCars;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelPipelineTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterClass
+    public void shutDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMatchesSequentialIncludingTies() {
+        // many ties and duplicates across chunks
+        List<CarResult> cars = RandomCars.generate(11, 20_000, 2_000);
+
+        List<CarResult> expected = BucketedPipeline.process(cars);
+        List<CarResult> actual = ParallelPipeline.process(cars, pool, 64);
+
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).isSameAs(expected.get(i));
+        }
+    }
+
+    @Test
+    public void testLargeBucketIsMergeSortedStably() {
+        List<CarResult> cars = new ArrayList<>();
+        for (CarResult car : RandomCars.generate(13, 6 * ParallelPipeline.SORT_THRESHOLD, 20_000)) {
+            // one non-corporate economy bucket holds most of the cars
+            cars.add(new CarResult(car.getDescription(), "NIZA", "EDMR", car.getRentalCost(), car.getFuelPolicy()));
+        }
+
+        List<CarResult> expected = BucketedPipeline.process(cars);
+        List<CarResult> actual = ParallelPipeline.process(cars, pool, 64);
+
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).isSameAs(expected.get(i));
+        }
+    }
+
+    @Test
+    public void testSmallInputsRunSequentially() {
+        List<CarResult> cars = loadAllCars();
+
+        assertThat(ParallelPipeline.process(cars, pool, ParallelPipeline.DEFAULT_THRESHOLD))
+                .containsExactlyElementsOf(BucketedPipeline.process(cars));
+    }
+}
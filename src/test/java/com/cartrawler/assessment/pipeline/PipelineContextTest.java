@@ -0,0 +1,96 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.car.RandomCars;
+import com.cartrawler.assessment.pricing.PriceFilter;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PipelineContextTest {
+
+    @Test
+    public void testMatchesSortedPipelineAndFilter() {
+        List<CarResult> out = new ArrayList<>();
+        List<CarResult> filtered = new ArrayList<>();
+        try (PipelineContext context = PipelineContext.acquire()) {
+            for (int seed = 0; seed < 20; seed++) {
+                List<CarResult> cars = RandomCars.generate(seed, 50 + seed * 97);
+
+                int corporateCount = context.process(cars, out);
+                context.filterFullAboveMedianPrice(out, corporateCount, filtered);
+
+                assertThat(out).containsExactlyElementsOf(SortedPipeline.process(cars, SortSpec.DEFAULT));
+                assertThat(filtered).containsExactlyElementsOf(PriceFilter.DEFAULT.apply(out));
+            }
+        }
+    }
+
+    @Test
+    public void testReusedAcrossShrinkingInputs() {
+        CarResult corpLow = new CarResult("A", "SIXT", "MDMR", 10, FULLFULL);
+        CarResult corpHigh = new CarResult("B", "SIXT", "MDMR", 40, FULLFULL);
+        CarResult nonCorp = new CarResult("C", "NIZA", "EDMR", 30, FULLFULL);
+        List<CarResult> out = new ArrayList<>();
+        try (PipelineContext context = PipelineContext.acquire()) {
+            context.process(loadAllCars(), out);
+
+            assertThat(context.process(List.of(nonCorp, corpHigh, corpLow, corpHigh), out)).isEqualTo(2);
+            assertThat(out).containsExactly(corpLow, corpHigh, nonCorp);
+            assertThat(context.process(List.of(), out)).isZero();
+            assertThat(out).isEmpty();
+        }
+    }
+
+    @Test
+    public void testClosingTwicePoolsTheContextOnce() {
+        PipelineContext closed = PipelineContext.acquire();
+        closed.close();
+        closed.close();
+
+        Set<PipelineContext> acquired = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<PipelineContext> contexts = new ArrayList<>();
+        for (int i = 0; i < 2 * Runtime.getRuntime().availableProcessors() + 2; i++) {
+            contexts.add(PipelineContext.acquire());
+        }
+        acquired.addAll(contexts);
+        contexts.forEach(PipelineContext::close);
+
+        assertThat(acquired).hasSameSizeAs(contexts);
+    }
+
+    @Test
+    public void testWarmContextAllocatesNothing() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            throw new SkipException("Thread allocation accounting is not supported by this JVM");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        List<CarResult> cars = RandomCars.generate(3, 5_000);
+        List<CarResult> out = new ArrayList<>();
+        List<CarResult> filtered = new ArrayList<>();
+        try (PipelineContext context = PipelineContext.acquire()) {
+            for (int i = 0; i < 3; i++) {
+                context.filterFullAboveMedianPrice(out, context.process(cars, out), filtered);
+            }
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 100; i++) {
+                context.filterFullAboveMedianPrice(out, context.process(cars, out), filtered);
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            assertThat(allocated).isZero();
+        }
+    }
+}
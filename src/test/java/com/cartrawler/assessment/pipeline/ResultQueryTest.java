@@ -0,0 +1,77 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResultQueryTest {
+
+    @Test
+    public void testPagesMatchProcessedOrder() {
+        List<CarResult> cars = loadAllCars();
+        List<CarResult> processed = BucketedPipeline.process(cars);
+        ResultQuery query = ResultQuery.of(cars);
+
+        assertThat(query.size()).isEqualTo(processed.size());
+        for (int page = 0; page * 7 < processed.size(); page++) {
+            int to = Math.min(processed.size(), (page + 1) * 7);
+            assertThat(query.page(page, 7)).containsExactlyElementsOf(processed.subList(page * 7, to));
+        }
+        assertThat(query.page(processed.size(), 7)).isEmpty();
+    }
+
+    @Test
+    public void testTopKPerBucket() {
+        List<CarResult> cars = loadAllCars();
+        List<CarResult> processed = BucketedPipeline.process(cars);
+        ResultQuery query = ResultQuery.of(cars);
+
+        List<List<CarResult>> topK = query.topK(2);
+        int offset = 0;
+        for (int bucket = 0; bucket < BucketedPipeline.BUCKETS; bucket++) {
+            List<CarResult> top = topK.get(bucket);
+            assertThat(top).hasSize(Math.min(2, query.bucketSize(bucket)));
+            assertThat(top).containsExactlyElementsOf(processed.subList(offset, offset + top.size()));
+            offset += query.bucketSize(bucket);
+        }
+    }
+
+    @Test
+    public void testCursorContinuesWithoutGaps() {
+        List<CarResult> cars = loadAllCars();
+        ResultQuery.Cursor cursor = ResultQuery.of(cars).cursor();
+        List<CarResult> all = new ArrayList<>();
+        while (cursor.hasNext()) {
+            all.addAll(cursor.next(5));
+        }
+
+        assertThat(all).containsExactlyElementsOf(BucketedPipeline.process(cars));
+        assertThat(cursor.next(5)).isEmpty();
+    }
+
+    @Test
+    public void testTiesKeepInputOrder() {
+        CarResult first = new CarResult("A", "AVIS", "EDMR", 20, FULLEMPTY);
+        CarResult second = new CarResult("B", "AVIS", "EDMR", 20, FULLEMPTY);
+        CarResult cheaper = new CarResult("C", "AVIS", "EDMR", 10, FULLEMPTY);
+        ResultQuery query = ResultQuery.of(List.of(first, second, cheaper, first));
+
+        assertThat(query.page(0, 2)).containsExactly(cheaper, first);
+        assertThat(query.page(1, 2)).containsExactly(second);
+    }
+
+    @Test
+    public void testInvalidPage() {
+        ResultQuery query = ResultQuery.of(loadAllCars());
+
+        assertThatThrownBy(() -> query.page(0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> query.topK(0, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
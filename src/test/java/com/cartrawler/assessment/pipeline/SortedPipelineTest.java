@@ -0,0 +1,85 @@
+package com.cartrawler.assessment.pipeline;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.sipp.SippDecoder;
+import com.cartrawler.assessment.sipp.Transmission;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static com.cartrawler.assessment.pipeline.SortField.CATEGORY;
+import static com.cartrawler.assessment.pipeline.SortField.FUEL_POLICY;
+import static com.cartrawler.assessment.pipeline.SortField.RENTAL_COST;
+import static com.cartrawler.assessment.pipeline.SortField.SEGMENT;
+import static com.cartrawler.assessment.pipeline.SortField.TRANSMISSION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SortedPipelineTest {
+
+    @Test
+    public void testDefaultSpecMatchesBucketedPipeline() {
+        List<CarResult> cars = loadAllCars();
+
+        assertThat(SortedPipeline.process(cars, SortSpec.DEFAULT))
+                .containsExactlyElementsOf(BucketedPipeline.process(cars));
+    }
+
+    @Test
+    public void testCustomSpecMatchesComparatorChain() {
+        List<CarResult> cars = loadAllCars();
+        SortSpec spec = SortSpec.by(TRANSMISSION).then(CATEGORY).thenDescending(RENTAL_COST);
+        List<CarResult> expected = new ArrayList<>(new LinkedHashSet<>(cars));
+        expected.sort(Comparator.<CarResult, Transmission>comparing(
+                        car -> SippDecoder.transmission(car.getSippAttributes()),
+                        Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(CarResult::getCategory)
+                .thenComparing(Comparator.comparingDouble(CarResult::getRentalCost).reversed()));
+
+        assertThat(SortedPipeline.process(cars, spec)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testCostOrderMatchesDoubleCompare() {
+        double[] costs = {Double.NaN, 3, -0.0, Double.NEGATIVE_INFINITY, 0.0, -2.5, Double.POSITIVE_INFINITY, 3};
+        List<CarResult> cars = new ArrayList<>();
+        for (int i = 0; i < costs.length; i++) {
+            cars.add(new CarResult("Car " + i, "NIZA", "EDMR", costs[i], FULLEMPTY));
+        }
+
+        assertThat(SortedPipeline.process(cars, SortSpec.by(RENTAL_COST)))
+                .extracting(CarResult::getDescription)
+                .containsExactly("Car 3", "Car 5", "Car 2", "Car 4", "Car 1", "Car 7", "Car 6", "Car 0");
+    }
+
+    @Test
+    public void testUnknownValuesSortLastAndTiesKeepInputOrder() {
+        CarResult noPolicy = new CarResult("A", "AVIS", "EDMR", 10, null);
+        CarResult fullEmpty = new CarResult("B", "AVIS", "EDMR", 30, FULLEMPTY);
+        CarResult fullFull = new CarResult("C", "AVIS", "EDMR", 20, FULLFULL);
+        CarResult sameFullFull = new CarResult("D", "AVIS", "EDMR", 20, FULLFULL);
+
+        assertThat(SortedPipeline.process(List.of(noPolicy, fullEmpty, fullFull, sameFullFull, noPolicy),
+                SortSpec.by(FUEL_POLICY)))
+                .containsExactly(fullFull, sameFullFull, fullEmpty, noPolicy);
+    }
+
+    @Test
+    public void testParse() {
+        SortSpec spec = SortSpec.parse(" Segment, rental_cost DESC ,fuel_policy asc");
+
+        assertThat(spec.fields()).containsExactly(SEGMENT, RENTAL_COST, FUEL_POLICY);
+        assertThat(spec.isDescending(1)).isTrue();
+        assertThat(spec.toString()).isEqualTo("segment asc, rental_cost desc, fuel_policy asc");
+        assertThat(SortSpec.DEFAULT.bits()).isEqualTo(1 + 2 + 64);
+        assertThatThrownBy(() -> SortSpec.parse("price")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SortSpec.parse("segment sideways")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SortSpec.by(CATEGORY).then(CATEGORY)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.cartrawler.assessment.pricing;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.util.QuickSelect;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class GroupStatisticsTest {
+
+    @Test
+    public void testPercentilesInterpolate() {
+        List<CarResult> cars = List.of(
+                new CarResult("A", "SIXT", "MDMR", 40, FULLFULL),
+                new CarResult("B", "SIXT", "MDMR", 10, FULLFULL),
+                new CarResult("C", "SIXT", "MDMR", 30, FULLFULL),
+                new CarResult("D", "SIXT", "MDMR", 20, FULLFULL),
+                new CarResult("E", "NIZA", "EDMR", 99, FULLFULL));
+        List<Statistic> statistics = List.of(
+                Statistic.median(GroupBy.SEGMENT),
+                Statistic.percentile(75, GroupBy.SEGMENT),
+                Statistic.percentile(100, GroupBy.SEGMENT, GroupBy.SUPPLIER),
+                Statistic.median());
+
+        GroupStatistics result = GroupStatistics.compute(cars, statistics);
+
+        assertThat(result.value(0, 0)).isEqualTo(25d);
+        assertThat(result.value(1, 0)).isEqualTo(32.5d);
+        assertThat(result.value(2, 1)).isEqualTo(40d);
+        assertThat(result.value(0, 4)).isEqualTo(99d);
+        assertThat(result.value(3, 4)).isEqualTo(30d);
+        assertThat(result.groupCount(3)).isEqualTo(1);
+    }
+
+    @Test
+    public void testSketchesApproximateLargeGroups() {
+        List<CarResult> cars = loadAllCars();
+        double[] sorted = cars.stream().mapToDouble(CarResult::getRentalCost).sorted().toArray();
+        List<Statistic> median = List.of(Statistic.median());
+
+        double exact = GroupStatistics.compute(cars, median).value(0, 0);
+        double estimate = GroupStatistics.compute(cars, median, 1, 0.01).value(0, 0);
+
+        assertThat(exact).isEqualTo(QuickSelect.median(sorted, sorted.length));
+        assertThat(estimate).isCloseTo(exact, within(exact * 0.02));
+    }
+
+    @Test
+    public void testSelectAllMatchesSort() {
+        Random random = new Random(11);
+        for (int n = 1; n < 300; n++) {
+            double[] values = new double[n + 4];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(n / 3 + 1);
+            }
+            int[] ranks = {2, 2 + n / 3, 2 + n / 2, 2 + n / 2, n + 1};
+            double[] expected = Arrays.copyOfRange(values, 2, n + 2);
+            Arrays.sort(expected);
+
+            QuickSelect.selectAll(values, 2, n + 2, ranks);
+
+            for (int rank : ranks) {
+                assertThat(values[rank]).isEqualTo(expected[rank - 2]);
+            }
+        }
+    }
+}
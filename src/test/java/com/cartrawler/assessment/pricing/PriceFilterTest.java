@@ -0,0 +1,83 @@
+package com.cartrawler.assessment.pricing;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PriceFilterTest {
+
+    @Test
+    public void testDefaultMatchesBucketedPipeline() {
+        List<CarResult> processed = BucketedPipeline.process(loadAllCars());
+
+        assertThat(PriceFilter.DEFAULT.apply(processed))
+                .containsExactlyElementsOf(BucketedPipeline.run(processed).filterFullAboveMedianPrice());
+    }
+
+    @Test
+    public void testPercentilePerCategoryMatchesSortedPrices() {
+        List<CarResult> cars = BucketedPipeline.process(loadAllCars());
+        PriceRule rule = PriceRule.parse("FULLFULL above p75 per category");
+
+        List<CarResult> expected = new ArrayList<>();
+        for (CarResult car : cars) {
+            double[] prices = cars.stream()
+                    .filter(other -> other.getCategory() == car.getCategory())
+                    .mapToDouble(CarResult::getRentalCost)
+                    .sorted()
+                    .toArray();
+            if (car.getFuelPolicy() != FULLFULL || car.getRentalCost() <= percentile(prices, 75)) {
+                expected.add(car);
+            }
+        }
+
+        assertThat(PriceFilter.of(rule).apply(cars)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testRulesCombine() {
+        CarResult cheap = new CarResult("A", "NIZA", "EDMR", 10, FULLEMPTY);
+        CarResult mid = new CarResult("B", "NIZA", "EDMR", 20, FULLFULL);
+        CarResult dear = new CarResult("C", "NIZA", "EDMR", 30, FULLEMPTY);
+        PriceFilter filter = PriceFilter.of(
+                PriceRule.dropAbove(FULLFULL, Statistic.percentile(0)),
+                PriceRule.dropAbove(null, Statistic.percentile(75, GroupBy.SUPPLIER)));
+
+        // p0 is 10 so B goes; p75 of {10, 20, 30} is 25 so C goes
+        assertThat(filter.apply(List.of(cheap, mid, dear))).containsExactly(cheap);
+        assertThat(filter.apply(List.of())).isEmpty();
+    }
+
+    @Test
+    public void testParseAndToString() {
+        PriceRule rule = PriceRule.parse("  any ABOVE p99.5 per supplier+Segment ");
+
+        assertThat(rule.getFuelPolicy()).isNull();
+        assertThat(rule.getThreshold()).isEqualTo(Statistic.percentile(99.5, GroupBy.SEGMENT, GroupBy.SUPPLIER));
+        assertThat(rule.toString()).isEqualTo("any above p99.5 per segment+supplier");
+        assertThat(PriceRule.parse("FULLFULL above median per segment"))
+                .isEqualTo(PriceRule.FULL_FULL_ABOVE_SEGMENT_MEDIAN);
+        assertThat(PriceRule.parse(rule.toString())).isEqualTo(rule);
+        assertThatThrownBy(() -> PriceRule.parse("FULLFULL below median")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceRule.parse("FULLFULL above p101")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceRule.parse("FULLFULL above mean")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceRule.parse("FULLFULL above median per colour"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+        double rank = (sorted.length - 1) * percentile / 100;
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+}
@@ -0,0 +1,147 @@
+package com.cartrawler.assessment.service;
+
+import com.cartrawler.assessment.cache.CachedResult;
+import com.cartrawler.assessment.cache.ResultCache;
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.source.JsonLinesCarResultSource;
+import com.cartrawler.assessment.view.MemorySink;
+import com.cartrawler.assessment.view.OfferRenderer;
+import com.cartrawler.assessment.view.OutputFormat;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchServerTest {
+
+    private SearchServer server;
+    private HttpClient client;
+
+    @BeforeClass
+    public void start() throws IOException {
+        server = new SearchServer(new AssessmentService(ResultCache.builder().build()),
+                new InetSocketAddress("localhost", 0), 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterClass
+    public void stop() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testCsvSearchReturnsOrderedJsonLines() throws Exception {
+        StringBuilder csv = new StringBuilder("description,supplierName,sippCode,rentalCost,fuelPolicy\n");
+        for (CarResult car : loadAllCars()) {
+            csv.append(car.getDescription()).append(',').append(car.getSupplierName()).append(',')
+                    .append(car.getSippCode()).append(',').append(car.getRentalCost()).append(',')
+                    .append(car.getFuelPolicy()).append('\n');
+        }
+
+        HttpResponse<String> response = post("", "text/csv", csv.toString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(parse(response.body())).containsExactlyElementsOf(BucketedPipeline.process(loadAllCars()));
+    }
+
+    @Test
+    public void testFilteredJsonLinesSearch() throws Exception {
+        MemorySink json = new MemorySink();
+        try (OfferRenderer renderer = new OfferRenderer(json, OutputFormat.JSON_LINES)) {
+            renderer.render(loadAllCars());
+        }
+
+        HttpResponse<String> response = post("?filtered=true", "application/x-ndjson", json.toString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(parse(response.body()))
+                .containsExactlyElementsOf(BucketedPipeline.run(loadAllCars()).filterFullAboveMedianPrice());
+    }
+
+    @Test
+    public void testOnlyTheFilteredParameterSelectsFilteredResults() throws Exception {
+        MemorySink json = new MemorySink();
+        try (OfferRenderer renderer = new OfferRenderer(json, OutputFormat.JSON_LINES)) {
+            renderer.render(loadAllCars());
+        }
+
+        HttpResponse<String> unfiltered = post("?unfiltered=true", "application/x-ndjson", json.toString());
+        HttpResponse<String> filtered = post("?page=1&filtered=true", "application/x-ndjson", json.toString());
+
+        assertThat(parse(unfiltered.body())).containsExactlyElementsOf(BucketedPipeline.process(loadAllCars()));
+        assertThat(parse(filtered.body()))
+                .containsExactlyElementsOf(BucketedPipeline.run(loadAllCars()).filterFullAboveMedianPrice());
+    }
+
+    @Test
+    public void testMalformedInputIsRejected() throws Exception {
+        HttpResponse<String> response = post("", "application/x-ndjson", "{\"description\":\"Polo\"}\n");
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("missing rentalCost");
+    }
+
+    @Test
+    public void testFailedSearchReturnsServerError() throws Exception {
+        AssessmentService failing = new AssessmentService(ResultCache.builder().build()) {
+            @Override
+            public CachedResult search(List<CarResult> cars) {
+                throw new IllegalStateException("Pipeline failure");
+            }
+        };
+        try (SearchServer failingServer = new SearchServer(failing, new InetSocketAddress("localhost", 0), 0)) {
+            failingServer.start();
+            URI uri = URI.create("http://localhost:" + failingServer.address().getPort() + SearchServer.SEARCH_PATH);
+
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString("")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(500);
+            assertThat(response.body()).isEqualTo("Search failed\n");
+        }
+    }
+
+    @Test
+    public void testOnlyPostIsAllowed() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(405);
+    }
+
+    private HttpResponse<String> post(String query, String contentType, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(query))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String query) {
+        return URI.create("http://localhost:" + server.address().getPort() + SearchServer.SEARCH_PATH + query);
+    }
+
+    private static List<CarResult> parse(String jsonLines) throws IOException {
+        List<CarResult> cars = new ArrayList<>();
+        try (JsonLinesCarResultSource source = new JsonLinesCarResultSource(new StringReader(jsonLines))) {
+            source.forEachBatch(100, cars::addAll);
+        }
+        return cars;
+    }
+}
@@ -0,0 +1,138 @@
+package com.cartrawler.assessment.shard;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.car.RandomCars;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import com.cartrawler.assessment.pipeline.SegmentedCars;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static com.cartrawler.assessment.pipeline.BucketedPipeline.CORPORATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardedPipelineTest {
+
+    @Test
+    public void testLocalShardsMatchSequentialPipeline() throws IOException {
+        for (int shards = 1; shards <= 5; shards++) {
+            try (ShardedPipeline pipeline = ShardedPipeline.local(shards)) {
+                for (int seed = 0; seed < 5; seed++) {
+                    List<CarResult> cars = RandomCars.generate(seed, 100 + seed * 997);
+
+                    assertMatchesSequential(pipeline.run(cars), cars);
+                }
+                assertMatchesSequential(pipeline.run(loadAllCars()), loadAllCars());
+            }
+        }
+    }
+
+    @Test
+    public void testSocketWorkersMatchSequentialPipeline() throws IOException {
+        List<ShardServer> servers = new ArrayList<>();
+        List<ShardWorker> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                ShardServer server = ShardServer.start(0);
+                servers.add(server);
+                workers.add(ShardWorker.connect(server.address()));
+            }
+            try (ShardedPipeline pipeline = new ShardedPipeline(workers)) {
+                // one connection per worker carries several searches
+                for (int seed = 0; seed < 3; seed++) {
+                    List<CarResult> cars = RandomCars.generate(seed, 5_000);
+
+                    assertMatchesSequential(pipeline.run(cars), cars);
+                }
+            }
+        } finally {
+            servers.forEach(ShardServer::close);
+        }
+    }
+
+    @Test
+    public void testWorkerReconnectsAfterAFailedRequest() throws IOException {
+        List<CarResult> cars = RandomCars.generate(1, 500);
+        List<CarResult> oversized = new ArrayList<>(cars);
+        oversized.add(new CarResult("x".repeat(ShardProtocol.MAX_STRING_BYTES + 1), "HERTZ", "EDMR", 10, FULLFULL));
+
+        try (ShardServer server = ShardServer.start(0);
+             ShardWorker worker = ShardWorker.connect(server.address())) {
+            // fails with part of the request already written
+            assertThatThrownBy(() -> worker.process(oversized, 0.01)).isInstanceOf(IOException.class);
+
+            assertThat(worker.process(cars, 0.01).getRows())
+                    .containsExactly(LocalShardWorker.compute(cars, 0.01).getRows());
+        }
+    }
+
+    @Test
+    public void testWorkerTimesOutOnASilentServer() throws IOException {
+        List<CarResult> cars = RandomCars.generate(1, 500);
+
+        // the backlog completes the connection but nothing ever answers
+        try (ServerSocket silent = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+             ShardWorker worker = ShardWorker.connect((InetSocketAddress) silent.getLocalSocketAddress(),
+                     Duration.ofSeconds(5), Duration.ofMillis(200))) {
+            assertThatThrownBy(() -> worker.process(cars, 0.01)).isInstanceOf(SocketTimeoutException.class);
+            // the timed-out connection was dropped, so this request opens a new one
+            assertThatThrownBy(() -> worker.process(cars, 0.01)).isInstanceOf(SocketTimeoutException.class);
+        }
+    }
+
+    @Test
+    public void testOversizedFramesAreRejected() {
+        DataInputStream empty = new DataInputStream(new ByteArrayInputStream(new byte[0]));
+        // a new string of Integer.MAX_VALUE bytes
+        DataInputStream longString = new DataInputStream(new ByteArrayInputStream(
+                new byte[]{0, 0, 0, 0, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF}));
+
+        assertThatThrownBy(() -> ShardProtocol.readCars(empty, ShardProtocol.MAX_CARS + 1))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ShardProtocol.readCars(longString, 1))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("string length");
+    }
+
+    @Test
+    public void testDuplicatesShareAShard() {
+        CarResult car = new CarResult("A", "HERTZ", "EDMR", 30, FULLFULL);
+        CarResult repriced = new CarResult("A", "HERTZ", "EDMR", 10, FULLFULL);
+
+        for (int shards = 1; shards <= 16; shards++) {
+            assertThat(ShardedPipeline.shardOf(repriced, shards))
+                    .isEqualTo(ShardedPipeline.shardOf(car, shards))
+                    .isBetween(0, shards - 1);
+        }
+    }
+
+    @Test
+    public void testEmptySearch() throws IOException {
+        try (ShardedPipeline pipeline = ShardedPipeline.local(2)) {
+            ShardedResult result = pipeline.run(List.of());
+
+            assertThat(result.getCars()).isEmpty();
+            assertThat(result.getFiltered()).isEmpty();
+            assertThat(result.median(CORPORATE)).isEqualTo(Double.POSITIVE_INFINITY);
+        }
+    }
+
+    private static void assertMatchesSequential(ShardedResult result, List<CarResult> cars) {
+        SegmentedCars expected = BucketedPipeline.run(cars);
+        assertThat(result.getCars()).containsExactlyElementsOf(expected.getCars());
+        assertThat(result.getCorporateCount()).isEqualTo(expected.getCorporateCount());
+        assertThat(result.getFiltered()).containsExactlyElementsOf(expected.filterFullAboveMedianPrice());
+    }
+}
@@ -0,0 +1,67 @@
+package com.cartrawler.assessment.sipp;
+
+import com.cartrawler.assessment.car.CarResult;
+import org.testng.annotations.Test;
+
+import static com.cartrawler.assessment.enums.Category.COMPACT;
+import static com.cartrawler.assessment.enums.Category.ECONOMY;
+import static com.cartrawler.assessment.enums.Category.MINI;
+import static com.cartrawler.assessment.enums.Category.OTHER;
+import static com.cartrawler.assessment.sipp.SippDecoder.airConditioned;
+import static com.cartrawler.assessment.sipp.SippDecoder.category;
+import static com.cartrawler.assessment.sipp.SippDecoder.decode;
+import static com.cartrawler.assessment.sipp.SippDecoder.drive;
+import static com.cartrawler.assessment.sipp.SippDecoder.fuel;
+import static com.cartrawler.assessment.sipp.SippDecoder.transmission;
+import static com.cartrawler.assessment.sipp.SippDecoder.vehicleType;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SippDecoderTest {
+
+    @Test
+    public void testDecodesAllPositions() {
+        int suv = decode("IFAD");
+        assertThat(category(suv)).isEqualTo(OTHER);
+        assertThat(vehicleType(suv)).isEqualTo(VehicleType.SUV);
+        assertThat(transmission(suv)).isEqualTo(Transmission.AUTOMATIC);
+        assertThat(drive(suv)).isEqualTo(Drive.UNSPECIFIED);
+        assertThat(fuel(suv)).isEqualTo(Fuel.DIESEL);
+        assertThat(airConditioned(suv)).isTrue();
+
+        int mini = decode("mbnq");
+        assertThat(category(mini)).isEqualTo(MINI);
+        assertThat(vehicleType(mini)).isEqualTo(VehicleType.TWO_THREE_DOOR);
+        assertThat(transmission(mini)).isEqualTo(Transmission.MANUAL);
+        assertThat(drive(mini)).isEqualTo(Drive.FOUR_WHEEL);
+        assertThat(fuel(mini)).isEqualTo(Fuel.DIESEL);
+        assertThat(airConditioned(mini)).isFalse();
+    }
+
+    @Test
+    public void testCategoryMatchesFirstLetter() {
+        assertThat(category(decode("EDMR"))).isEqualTo(ECONOMY);
+        assertThat(category(decode("cdmr"))).isEqualTo(COMPACT);
+        assertThat(category(decode(" MDMR"))).isEqualTo(OTHER);
+        assertThat(category(decode(""))).isEqualTo(OTHER);
+        assertThat(category(decode(null))).isEqualTo(OTHER);
+    }
+
+    @Test
+    public void testUnknownAndMissingPositions() {
+        int partial = decode("E?");
+
+        assertThat(category(partial)).isEqualTo(ECONOMY);
+        assertThat(vehicleType(partial)).isNull();
+        assertThat(transmission(partial)).isNull();
+        assertThat(fuel(partial)).isNull();
+        assertThat(airConditioned(partial)).isFalse();
+    }
+
+    @Test
+    public void testDecodedOnceOnCarResult() {
+        CarResult car = new CarResult("Golf", "HERTZ", "CDMR", 10, CarResult.FuelPolicy.FULLFULL);
+
+        assertThat(car.getCategory()).isEqualTo(COMPACT);
+        assertThat(car.getSippAttributes()).isEqualTo(decode("CDMR"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.cartrawler.assessment.source;
+
+import com.cartrawler.assessment.aggregate.CarResultAggregator;
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.pipeline.BucketedPipeline;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CarResultSourceTest {
+
+    @Test
+    public void testCsvWithQuotesAndNulls() throws IOException {
+        String csv = """
+                description,supplierName,sippCode,rentalCost,fuelPolicy
+                Volkswagen Polo,NIZA,EDMR,12.81,FULLEMPTY
+                "Citroën ""C3"", 5 door",HERTZ,,9.5,FULLFULL\r
+                
+                ,"",MDMR,1e1,
+                """;
+
+        List<CarResult> cars = readAll(new CsvCarResultSource(new StringReader(csv), true), 2);
+
+        assertThat(cars).containsExactly(
+                new CarResult("Volkswagen Polo", "NIZA", "EDMR", 12.81, FULLEMPTY),
+                new CarResult("Citroën \"C3\", 5 door", "HERTZ", null, 9.5, FULLFULL),
+                new CarResult(null, "", "MDMR", 10, null));
+        assertThat(cars.get(0).getRentalCost()).isEqualTo(12.81);
+    }
+
+    @Test
+    public void testJsonLinesInAnyOrderWithUnknownProperties() throws IOException {
+        String json = """
+                {"description":"Volkswagen Polo","supplierName":"NIZA","sippCode":"EDMR","rentalCost":12.81,"fuelPolicy":"FULLEMPTY"}
+                { "rating": {"score": [4, "}"]}, "fuelPolicy": null, "rentalCost": 9.5, "description": "Citro\\u00ebn \\"C3\\"", "supplierName": "HERTZ" }
+                """;
+
+        assertThat(readAll(new JsonLinesCarResultSource(new StringReader(json)), 10)).containsExactly(
+                new CarResult("Volkswagen Polo", "NIZA", "EDMR", 12.81, FULLEMPTY),
+                new CarResult("Citroën \"C3\"", "HERTZ", null, 9.5, null));
+    }
+
+    @Test
+    public void testMalformedRecordsReportTheLine() {
+        assertThatThrownBy(() -> readAll(new CsvCarResultSource(new StringReader("a,b,c,1,FULLFULL\na,b,c,x,FULLFULL"), false), 10))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Malformed record at line 2: invalid rental cost 'x'");
+        assertThatThrownBy(() -> readAll(new JsonLinesCarResultSource(new StringReader("{\"description\":\"a\"}")), 10))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Malformed record at line 1: missing rentalCost");
+    }
+
+    @Test
+    public void testPublisherFeedsAggregatorInOrder() throws IOException {
+        List<CarResult> cars = loadAllCars();
+        CarResultAggregator aggregator = new CarResultAggregator();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            long read = BatchPublisher.publish(CarResultSource.of(cars), 7, 2, executor, aggregator::accept);
+
+            assertThat(read).isEqualTo(cars.size());
+            assertThat(aggregator.snapshot().getCars()).containsExactlyElementsOf(BucketedPipeline.process(cars));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPublisherRethrowsConsumerFailure() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThatThrownBy(() -> BatchPublisher.publish(CarResultSource.of(loadAllCars()), 5, 2, executor,
+                    batch -> {
+                        throw new IllegalStateException("rejected");
+                    }))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("rejected");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<CarResult> readAll(CarResultSource source, int batchSize) throws IOException {
+        List<CarResult> cars = new ArrayList<>();
+        try (source) {
+            source.forEachBatch(batchSize, cars::addAll);
+        }
+        return cars;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cartrawler.assessment.supplier;
+
+import com.cartrawler.assessment.enums.Supplier;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SupplierRegistryTest {
+
+    @Test
+    public void testDefaultsMatchSupplierEnum() {
+        SupplierRegistry registry = SupplierRegistry.defaults();
+
+        Arrays.stream(Supplier.values()).forEach(supplier -> {
+            assertThat(registry.isCorporate(supplier.name())).isTrue();
+            assertThat(registry.isCorporate(supplier.name().toLowerCase())).isTrue();
+        });
+        assertThat(registry.isCorporate("Sixt")).isTrue();
+        assertThat(registry.isCorporate("NIZA")).isFalse();
+        assertThat(registry.isCorporate("SIXTY")).isFalse();
+        assertThat(registry.isCorporate("")).isFalse();
+        assertThat(registry.isCorporate(null)).isFalse();
+    }
+
+    @Test
+    public void testCustomRegistryCanBeInstalled() {
+        SupplierRegistry previous = SupplierRegistry.current();
+        try {
+            SupplierRegistry.install(SupplierRegistry.of(List.of(" goldcar ", "HERTZ")));
+
+            assertThat(Supplier.isCorporate("GoldCar")).isTrue();
+            assertThat(Supplier.isCorporate("hertz")).isTrue();
+            assertThat(Supplier.isCorporate("SIXT")).isFalse();
+        } finally {
+            SupplierRegistry.install(previous);
+        }
+    }
+
+    @Test
+    public void testManyNamesHaveNoCollisions() {
+        List<String> names = IntStream.range(0, 500).mapToObj(i -> "SUPPLIER" + i).toList();
+        SupplierRegistry registry = SupplierRegistry.of(names);
+
+        names.forEach(name -> assertThat(registry.isCorporate(name.toLowerCase())).isTrue());
+        assertThat(registry.isCorporate("SUPPLIER500")).isFalse();
+    }
+
+    @Test
+    public void testNamesWithCollidingPolynomialHashes() {
+        // 'A' * 31 + 'O' == 'B' * 31 + '0'
+        SupplierRegistry registry = SupplierRegistry.of(List.of("XAOX", "XB0X"));
+
+        assertThat(registry.isCorporate("xaox")).isTrue();
+        assertThat(registry.isCorporate("XB0X")).isTrue();
+        assertThat(registry.isCorporate("XC1X")).isFalse();
+    }
+}
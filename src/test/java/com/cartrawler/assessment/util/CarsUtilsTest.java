@@ -3,7 +3,9 @@ package com.cartrawler.assessment.util;
 import com.cartrawler.assessment.car.CarResult;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
 import static com.cartrawler.assessment.enums.Category.COMPACT;
@@ -11,6 +13,7 @@ import static com.cartrawler.assessment.enums.Category.ECONOMY;
 import static com.cartrawler.assessment.enums.Category.MINI;
 import static com.cartrawler.assessment.enums.Category.OTHER;
 import static com.cartrawler.assessment.util.CarsUtils.categoryOf;
+import static com.cartrawler.assessment.util.CarsUtils.filterFullAboveApproximateMedianPrice;
 import static com.cartrawler.assessment.util.CarsUtils.filterFullAboveMedianPrice;
 import static com.cartrawler.assessment.util.CarsUtils.median;
 import static com.cartrawler.assessment.util.CarsUtils.removeDuplicates;
@@ -44,6 +47,39 @@ public class CarsUtilsTest {
         assertThat(median(List.of(1d, 4d, 2d, 3d))).isEqualTo(2.5d);
     }
 
+    @Test
+    public void testPrimitiveMedianOddAndEven() {
+        assertThat(median(new double[]{5d, 1d, 3d}, 3)).isEqualTo(3d);
+        assertThat(median(new double[]{4d, 1d, 3d, 2d}, 4)).isEqualTo(2.5d);
+        assertThat(median(new double[]{7d, 7d, 7d, 1d, 99d}, 4)).isEqualTo(7d);
+    }
+
+    @Test
+    public void testPrimitiveMedianMatchesSortedMedian() {
+        Random random = new Random(7);
+        for (int n = 1; n < 500; n++) {
+            double[] values = new double[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextInt(n / 4 + 1) + random.nextInt(100) / 100d;
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            double expected = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+
+            assertThat(median(values, n)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testFilterFullAboveApproximateMedianPrice_byGroup() {
+        CarResult corpLow = new CarResult("A", "SIXT", "MDMR", 10, FULLFULL);
+        CarResult corpHigh = new CarResult("B", "SIXT", "MDMR", 40, FULLFULL);
+        CarResult nonCorp = new CarResult("C", "NIZA", "EDMR", 30, FULLFULL);
+
+        assertThat(filterFullAboveApproximateMedianPrice(List.of(corpLow, corpHigh, nonCorp), 0.01))
+                .containsExactly(corpLow, nonCorp);
+    }
+
     @Test
     public void testFilterFullAboveMedianPrice_byGroup() {
         CarResult corpLow = new CarResult("A", "SIXT", "MDMR", 10, FULLFULL);
@@ -74,4 +110,17 @@ public class CarsUtilsTest {
         assertThat(filterFullAboveMedianPrice(List.of(n1, n2)))
                 .containsExactly(n1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFilterFullAboveMedianPrice_presegmented() {
+        CarResult corpLow = new CarResult("A", "SIXT", "MDMR", 10, FULLFULL);
+        CarResult corpHigh = new CarResult("B", "SIXT", "MDMR", 40, FULLFULL);
+        CarResult nonCorp = new CarResult("C", "NIZA", "EDMR", 30, FULLFULL);
+
+        assertThat(filterFullAboveMedianPrice(List.of(corpLow, corpHigh, nonCorp), 2))
+                .containsExactly(corpLow, nonCorp);
+        // empty corporate segment: its median is +Infinity and nothing is removed from it
+        assertThat(filterFullAboveMedianPrice(List.of(corpLow, corpHigh), 0))
+                .containsExactly(corpLow);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cartrawler.assessment.util;
+
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DoubleFormatterTest {
+
+    @Test
+    public void testMatchesDoubleToString() {
+        Random random = new Random(9);
+        for (int i = 0; i < 200_000; i++) {
+            double value = switch (i % 4) {
+                case 0 -> random.nextInt(10_000_000) / 100.0;
+                case 1 -> (random.nextInt(2_000_000) - 1_000_000) / Math.pow(10, random.nextInt(9));
+                case 2 -> random.nextDouble() * 1_000;
+                default -> Double.longBitsToDouble(random.nextLong());
+            };
+            assertThat(format(value)).isEqualTo(Double.toString(value));
+        }
+    }
+
+    @Test
+    public void testEdgeValues() {
+        double[] values = {0.0, -0.0, 1e-3, 9.99e-4, 1e7, 9_999_999.99, 0.1 + 0.2, 100, -12.81,
+                Double.NaN, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE};
+        for (double value : values) {
+            assertThat(format(value)).isEqualTo(Double.toString(value));
+        }
+    }
+
+    @Test
+    public void testWritesAtOffset() {
+        byte[] out = "cost=????????".getBytes(StandardCharsets.US_ASCII);
+
+        int end = DoubleFormatter.format(12.8, out, 5);
+
+        assertThat(end).isEqualTo(9);
+        assertThat(new String(out, 0, end, StandardCharsets.US_ASCII)).isEqualTo("cost=12.8");
+    }
+
+    private static String format(double value) {
+        byte[] out = new byte[DoubleFormatter.MAX_LENGTH];
+        return new String(out, 0, DoubleFormatter.format(value, out, 0), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,46 @@
+package com.cartrawler.assessment.util;
+
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DoubleParserTest {
+
+    @Test
+    public void testMatchesParseDouble() {
+        Random random = new Random(9);
+        for (int i = 0; i < 100_000; i++) {
+            double value = random.nextBoolean()
+                    ? random.nextInt(1_000_000) / 100.0
+                    : Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            assertThat(parse(Double.toString(value))).isEqualTo(value);
+        }
+        for (String text : new String[]{"0", "-0", "1.", ".5", "+3", "1e5", "1E-3", "12.810", "007"}) {
+            assertThat(parse(text)).isEqualTo(Double.parseDouble(text));
+        }
+    }
+
+    @Test
+    public void testParsesRange() {
+        char[] chars = "cost=12.81;".toCharArray();
+
+        assertThat(DoubleParser.parse(chars, 5, 10)).isEqualTo(12.81);
+    }
+
+    @Test
+    public void testRejectsInvalid() {
+        for (String text : new String[]{"", "-", "1e", "abc", "1.2.3"}) {
+            assertThatThrownBy(() -> parse(text)).isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    private static double parse(String text) {
+        return DoubleParser.parse(text.toCharArray(), 0, text.length());
+    }
+}
@@ -0,0 +1,90 @@
+package com.cartrawler.assessment.util;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void testQuantilesWithinRelativeAccuracy() {
+        Random random = new Random(3);
+        double[] values = new double[100_000];
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 5 + random.nextDouble() * 500;
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.1, 0.5, 0.75, 0.99}) {
+            double exact = values[(int) (q * (values.length - 1))];
+            assertThat(sketch.quantile(q)).isCloseTo(exact, within(exact * 0.01));
+        }
+    }
+
+    @Test
+    public void testMedianOfEvenCountAveragesMiddleRanks() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        sketch.add(10);
+        sketch.add(10);
+        sketch.add(1000);
+        sketch.add(1000);
+
+        assertThat(sketch.median()).isCloseTo(505, within(505 * 0.01));
+    }
+
+    @Test
+    public void testMergeEqualsSingleSketch() {
+        QuantileSketch all = new QuantileSketch(0.02);
+        QuantileSketch low = new QuantileSketch(0.02);
+        QuantileSketch high = new QuantileSketch(0.02);
+        for (int i = 1; i <= 1000; i++) {
+            all.add(i);
+            (i <= 500 ? low : high).add(i);
+        }
+        low.merge(high);
+
+        assertThat(low.count()).isEqualTo(1000);
+        assertThat(low.median()).isEqualTo(all.median());
+    }
+
+    @Test
+    public void testSerializedSketchMerges() throws IOException {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        QuantileSketch other = new QuantileSketch(0.01);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add(i % 7 == 0 ? 0 : i);
+            other.add(i + 0.5);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(bytes));
+
+        QuantileSketch copy = QuantileSketch.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(copy.count()).isEqualTo(sketch.count());
+        assertThat(copy.quantile(0.1)).isEqualTo(sketch.quantile(0.1));
+        assertThat(copy.median()).isEqualTo(sketch.median());
+        copy.merge(other);
+        sketch.merge(other);
+        assertThat(copy.quantile(0.9)).isEqualTo(sketch.quantile(0.9));
+    }
+
+    @Test
+    public void testEmptyAndMismatchedSketches() {
+        assertThatThrownBy(() -> new QuantileSketch(0.01).median())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new QuantileSketch(0.01).merge(new QuantileSketch(0.02)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.cartrawler.assessment.util;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RadixSortTest {
+
+    @Test
+    public void testMatchesStableUnsignedSort() {
+        Random random = new Random(42);
+        for (int length : new int[]{0, 1, 10, 63, 64, 1_000, 50_000}) {
+            long[] high = new long[length];
+            long[] low = new long[length];
+            int[] rows = new int[length];
+            for (int i = 0; i < length; i++) {
+                // few distinct high words and repeated keys exercise skipped digits and ties
+                high[i] = random.nextInt(3) == 0 ? -1L : random.nextInt(4);
+                low[i] = i > 0 && random.nextInt(5) == 0 ? low[i - 1] : random.nextLong();
+                rows[i] = i;
+            }
+            long[] originalHigh = high.clone();
+            long[] originalLow = low.clone();
+            Integer[] expected = new Integer[length];
+            Arrays.setAll(expected, i -> i);
+            Arrays.sort(expected, (a, b) -> {
+                int compare = Long.compareUnsigned(originalHigh[a], originalHigh[b]);
+                return compare != 0 ? compare : Long.compareUnsigned(originalLow[a], originalLow[b]);
+            });
+
+            RadixSort.sort(high, low, rows);
+
+            assertThat(rows).containsExactly(Arrays.stream(expected).mapToInt(Integer::intValue).toArray());
+            for (int i = 0; i < length; i++) {
+                assertThat(high[i]).isEqualTo(originalHigh[rows[i]]);
+                assertThat(low[i]).isEqualTo(originalLow[rows[i]]);
+            }
+        }
+    }
+
+    @Test
+    public void testConstantKeysKeepRowOrder() {
+        int[] rows = {4, 3, 2, 1, 0};
+
+        RadixSort.sort(new long[5], new long[5], rows);
+
+        assertThat(rows).containsExactly(4, 3, 2, 1, 0);
+    }
+}
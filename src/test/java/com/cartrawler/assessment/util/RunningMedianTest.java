@@ -0,0 +1,47 @@
+package com.cartrawler.assessment.util;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RunningMedianTest {
+
+    @Test
+    public void testEmptyMedianIsInfinite() {
+        assertThat(new RunningMedian().median()).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void testMatchesQuickSelectUnderAddsAndRemoves() {
+        Random random = new Random(5);
+        RunningMedian running = new RunningMedian();
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            if (!values.isEmpty() && random.nextInt(3) == 0) {
+                double removed = values.remove(random.nextInt(values.size()));
+                assertThat(running.remove(removed)).isTrue();
+            } else {
+                double value = random.nextInt(100);
+                values.add(value);
+                running.add(value);
+            }
+            assertThat(running.size()).isEqualTo(values.size());
+            if (!values.isEmpty()) {
+                assertThat(running.median()).isEqualTo(CarsUtils.median(values));
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveMissingValue() {
+        RunningMedian running = new RunningMedian();
+        running.add(1);
+
+        assertThat(running.remove(2)).isFalse();
+        assertThat(running.median()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.cartrawler.assessment.view;
+
+import com.cartrawler.assessment.car.CarResult;
+import com.cartrawler.assessment.source.CarResultSource;
+import com.cartrawler.assessment.source.CsvCarResultSource;
+import com.cartrawler.assessment.source.JsonLinesCarResultSource;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLEMPTY;
+import static com.cartrawler.assessment.car.CarResult.FuelPolicy.FULLFULL;
+import static com.cartrawler.assessment.data.CarDataProvider.loadAllCars;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OfferRendererTest {
+
+    private static final List<CarResult> UNUSUAL = List.of(
+            new CarResult("Café, \"big\" € 🚗\t\u0001", "SIXT", "", 1.5, null),
+            new CarResult("", null, "EDMR", -0.0, FULLFULL),
+            new CarResult(null, "NIZA", "MDMR", 1e-9, FULLEMPTY));
+
+    @Test
+    public void testTextMatchesToString() throws IOException {
+        List<CarResult> cars = new ArrayList<>(loadAllCars());
+        cars.addAll(UNUSUAL);
+        StringBuilder expected = new StringBuilder();
+        for (CarResult car : cars) {
+            expected.append(car).append('\n');
+        }
+
+        // a tiny buffer forces a drain in the middle of fields
+        assertThat(render(cars, OutputFormat.TEXT, 64)).isEqualTo(expected.toString());
+        assertThat(render(cars, OutputFormat.TEXT, OfferRenderer.DEFAULT_BUFFER_SIZE)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    public void testCsvRoundTrip() throws IOException {
+        List<CarResult> cars = new ArrayList<>(loadAllCars());
+        cars.addAll(UNUSUAL);
+        List<CarResult> parsed = new ArrayList<>();
+        try (CarResultSource source = new CsvCarResultSource(new StringReader(render(cars, OutputFormat.CSV, 64)), true)) {
+            source.forEachBatch(100, parsed::addAll);
+        }
+
+        assertSameFields(parsed, cars);
+    }
+
+    @Test
+    public void testJsonLinesRoundTrip() throws IOException {
+        List<CarResult> cars = new ArrayList<>(loadAllCars());
+        cars.addAll(UNUSUAL);
+        String json = render(cars, OutputFormat.JSON_LINES, 64);
+        List<CarResult> parsed = new ArrayList<>();
+        try (CarResultSource source = new JsonLinesCarResultSource(new StringReader(json))) {
+            source.forEachBatch(100, parsed::addAll);
+        }
+
+        assertThat(json).contains("\"description\":\"Café, \\\"big\\\" € 🚗\\t\\u0001\"", "\"supplierName\":null");
+        assertSameFields(parsed, cars);
+    }
+
+    @Test
+    public void testFileSink() throws IOException {
+        Path file = Files.createTempFile("offers", ".jsonl");
+        try {
+            try (OfferRenderer renderer = new OfferRenderer(RenderSink.file(file), OutputFormat.JSON_LINES)) {
+                renderer.render(loadAllCars());
+            }
+
+            assertThat(Files.readString(file)).isEqualTo(render(loadAllCars(), OutputFormat.JSON_LINES, 64));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testDisplayPrintsLists() {
+        List<CarResult> cars = loadAllCars();
+        StringBuilder expected = new StringBuilder();
+        for (CarResult car : cars) {
+            expected.append(car).append('\n');
+        }
+        PrintStream console = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            new Display().render(cars);
+        } finally {
+            System.setOut(console);
+        }
+
+        assertThat(captured.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+    }
+
+    private static String render(List<CarResult> cars, OutputFormat format, int bufferSize) throws IOException {
+        MemorySink sink = new MemorySink(16);
+        try (OfferRenderer renderer = new OfferRenderer(sink, format, bufferSize)) {
+            renderer.render(cars);
+        }
+        return sink.toString();
+    }
+
+    private static void assertSameFields(List<CarResult> actual, List<CarResult> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).toString()).isEqualTo(expected.get(i).toString());
+        }
+    }
+}